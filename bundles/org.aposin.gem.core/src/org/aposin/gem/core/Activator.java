@@ -18,6 +18,7 @@ package org.aposin.gem.core;
 import java.net.URI;
 import java.net.URISyntaxException;
 
+import org.aposin.gem.core.utils.ExecutorUtils;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 import org.slf4j.Logger;
@@ -43,6 +44,7 @@ public class Activator implements BundleActivator {
 
     @Override
     public void stop(final BundleContext context) throws Exception {
+        ExecutorUtils.shutdownAll();
         BUNDLE_CONTEXT = null;
         LOGGER = null;
     }
@@ -24,6 +24,7 @@ import org.aposin.gem.core.api.model.IEnvironment;
 import org.aposin.gem.core.api.model.IProject;
 import org.aposin.gem.core.api.model.IRepository;
 import org.aposin.gem.core.api.service.IServiceContainer;
+import org.aposin.gem.core.api.workflow.IWorkflowJournal;
 import org.aposin.gem.core.exception.GemException;
 
 /**
@@ -99,6 +100,15 @@ public interface IConfiguration extends IConfigurable {
      */
     public Path getGemTempDirectory();
 
+    /**
+     * Gets the journal with the progress of the launched workflows.
+     * </br>
+     * The journal is stored on the {@link #getResourcesDirectory()}.
+     * 
+     * @return workflow journal.
+     */
+    public IWorkflowJournal getWorkflowJournal();
+
     /**
      * Gets the collection of repositories defined in the configuration.
      * 
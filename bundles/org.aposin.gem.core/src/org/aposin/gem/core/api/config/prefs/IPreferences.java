@@ -16,6 +16,7 @@
 package org.aposin.gem.core.api.config.prefs;
 
 import java.nio.file.Path;
+import java.time.Duration;
 
 import org.aposin.gem.core.exception.GemException;
 
@@ -24,6 +25,28 @@ import org.aposin.gem.core.exception.GemException;
  */
 public interface IPreferences {
 
+    /**
+     * Categories of commands with different timeouts.
+     */
+    public enum TimeoutCategory {
+        /**
+         * Read-only local commands (e.g., status or current branch).
+         */
+        QUERY,
+        /**
+         * Network commands (e.g., fetch, pull or push).
+         */
+        FETCH,
+        /**
+         * Clone of a repository.
+         */
+        CLONE,
+        /**
+         * Local commands modifying the repository (e.g., merge, checkout or worktrees).
+         */
+        MERGE;
+    }
+
     /**
      * Gets the path where this preferences are persisted.
      * 
@@ -52,6 +75,138 @@ public interface IPreferences {
      */
     public void setGitBinary(final Path binary);
 
+    /**
+     * Gets the maximum number of bytes of the std-error retained by a command
+     * to build its error message.
+     * </br>
+     * Only the tail of the output is kept.
+     * 
+     * @return maximum number of bytes.
+     */
+    public int getErrorTailBytes();
+
+    /**
+     * Gets the maximum number of lines shown per command on the UI consoles.
+     * 
+     * @return maximum number of lines.
+     */
+    public int getConsoleMaxLines();
+
+    /**
+     * Checks if the full output of the commands should be written
+     * compressed to the GEM temp directory.
+     * 
+     * @return {@code true} if the transcript should be written; {@code false} otherwise.
+     */
+    public boolean isTranscriptEnabled();
+
+    /**
+     * Checks if the git commands supporting it should run with {@code --progress}
+     * to report their progress.
+     * 
+     * @return {@code true} if the progress should be reported; {@code false} otherwise.
+     */
+    public boolean isGitProgressEnabled();
 
+    /**
+     * Gets the maximum number of attempts for network-bound commands
+     * failing with a transient error.
+     * 
+     * @return maximum number of attempts (1 means no retry).
+     */
+    public int getRetryMaxAttempts();
+
+    /**
+     * Gets the delay before the first retry of a network-bound command.
+     * </br>
+     * The delay is doubled on each following attempt.
+     * 
+     * @return initial delay.
+     */
+    public Duration getRetryInitialDelay();
+
+    /**
+     * Gets the maximum delay between retries of a network-bound command.
+     * 
+     * @return maximum delay.
+     */
+    public Duration getRetryMaxDelay();
+
+    /**
+     * Gets the maximum duration for commands of the category.
+     * 
+     * @param category category of the command.
+     * @return timeout; {@link Duration#ZERO} if disabled.
+     */
+    public Duration getCommandTimeout(final TimeoutCategory category);
+
+    /**
+     * Gets the maximum time for a running process without any output
+     * before being reported as hung.
+     * 
+     * @return timeout; {@link Duration#ZERO} if disabled.
+     */
+    public Duration getNoOutputTimeout();
+
+    /**
+     * Checks if processes without output for {@link #getNoOutputTimeout()}
+     * should be killed instead of only reported.
+     * 
+     * @return {@code true} if they should be killed; {@code false} otherwise.
+     */
+    public boolean isKillOnNoOutput();
+
+    /**
+     * Gets the age after which the cached feature-branches of the providers
+     * are refreshed in the background.
+     * 
+     * @return time-to-live; {@link Duration#ZERO} if the cache is disabled.
+     */
+    public Duration getFeatureBranchesCacheTtl();
+
+    /**
+     * Gets the maximum time to configure a feature-branch provider.
+     * 
+     * @return timeout; {@link Duration#ZERO} if disabled.
+     */
+    public Duration getProviderConfigTimeout();
+
+    /**
+     * Gets the maximum time to retrieve the feature-branches of a provider.
+     * 
+     * @return timeout; {@link Duration#ZERO} if disabled.
+     */
+    public Duration getProviderFetchTimeout();
+
+    /**
+     * Gets the number of consecutive failures of a feature-branch provider
+     * before its requests are suspended.
+     * 
+     * @return number of failures; {@code 0} if requests are never suspended.
+     */
+    public int getProviderFailureThreshold();
+
+    /**
+     * Gets the time before retrying a failing feature-branch provider
+     * (doubled on each consecutive failure).
+     * 
+     * @return initial backoff.
+     */
+    public Duration getProviderInitialBackoff();
+
+    /**
+     * Gets the maximum time before retrying a failing feature-branch provider.
+     * 
+     * @return maximum backoff.
+     */
+    public Duration getProviderMaxBackoff();
+
+    /**
+     * Gets the maximum number of background configurations of a feature-branch
+     * provider which failed to be configured.
+     * 
+     * @return number of retries; {@code 0} if not retried.
+     */
+    public int getProviderConfigRetries();
 
 }
@@ -20,10 +20,15 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.aposin.gem.core.api.config.GemConfigurationException;
 import org.aposin.gem.core.api.config.prefs.IPreferences;
+import org.aposin.gem.core.api.config.prefs.IPreferences.TimeoutCategory;
 import org.aposin.gem.core.api.config.provider.IConfigFileProvider;
+import org.aposin.gem.core.api.workflow.exception.CommandTimeoutException;
 import org.aposin.gem.core.exception.GemException;
 import org.aposin.gem.core.exception.GemFatalException;
 import org.aposin.gem.core.impl.internal.util.GitConstants;
@@ -149,6 +154,7 @@ public class GitConfigFileProvider implements IConfigFileProvider {
             try {
                 // check first the remote
                 final String configRemote = executeCommand(gitRepoLocation, // on the repo
+                        prefs.getCommandTimeout(TimeoutCategory.QUERY), //
                         prefs.getGitBinary().toString(), "config", "--get", "remote.origin.url");
                 if (!gitUrl.equals(configRemote)) {
                     throw new GemFatalException(
@@ -174,6 +180,7 @@ public class GitConfigFileProvider implements IConfigFileProvider {
                     return;
                 }
                 executeCommand(gitRepoLocation, // on the repo
+                        prefs.getCommandTimeout(TimeoutCategory.MERGE), //
                         prefs.getGitBinary().toString(), "checkout", gitBranch);
                 LOGGER.warn("Config-branch {} was checked out", gitBranch);
             }
@@ -185,6 +192,7 @@ public class GitConfigFileProvider implements IConfigFileProvider {
     private void pullConfigRepo(final IPreferences prefs) {
         try {
             executeCommand(gitRepoLocation, // on the repo
+                    prefs.getCommandTimeout(TimeoutCategory.FETCH), //
                     prefs.getGitBinary().toString(), "pull", "origin", gitBranch);
         } catch (final IOException e) {
             if (!configHook.proceedIfPullFails(gitBranch)) {
@@ -194,7 +202,8 @@ public class GitConfigFileProvider implements IConfigFileProvider {
             } else {
                 LOGGER.warn("Error pulling branch ignored: reverting pull", e);
                 try {
-                    executeCommand(gitRepoLocation, prefs.getGitBinary().toString(), "merge", "--abort");
+                    executeCommand(gitRepoLocation, prefs.getCommandTimeout(TimeoutCategory.MERGE), //
+                            prefs.getGitBinary().toString(), "merge", "--abort");
                 } catch (final IOException e2) {
                     LOGGER.warn("Error reverting pull", e2);
                 }
@@ -206,6 +215,7 @@ public class GitConfigFileProvider implements IConfigFileProvider {
     private void cloneConfigRepo(final IPreferences prefs) {
         try {
             executeCommand(null, // doesn't matter the folder
+                    prefs.getCommandTimeout(TimeoutCategory.CLONE), //
                     prefs.getGitBinary().toString(), "clone", "-b", gitBranch, //
                     gitUrl, //
                     gitRepoLocation.toAbsolutePath().toString());
@@ -218,13 +228,15 @@ public class GitConfigFileProvider implements IConfigFileProvider {
         try {
             // then check if the current branch is the same
             return executeCommand(gitRepoLocation, //
+                    prefs.getCommandTimeout(TimeoutCategory.QUERY), //
                     prefs.getGitBinary().toString(), "branch", "--show-current");
         } catch (final IOException e) {
             throw new GemFatalException("Cannot check git-configuration branch!", e);
         }
     }
 
-    private String executeCommand(final Path dir, final String... args) throws IOException {
+    private String executeCommand(final Path dir, final Duration timeout, final String... args)
+            throws IOException {
         final ByteArrayOutputStream errorStream = new ByteArrayOutputStream();
         try {
             final ProcessExecutor executor = new ProcessExecutor()//
@@ -235,10 +247,18 @@ public class GitConfigFileProvider implements IConfigFileProvider {
                     .redirectErrorAlsoTo(errorStream) //
                     .readOutput(true) // always read output in case of error
                     .command(args);
+            if (!timeout.isZero()) {
+                // the process is destroyed if it does not finish in time
+                executor.timeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
             final ProcessResult result = executor.execute();
             return result.getOutput().getString().trim();
         } catch (final IOException e) {
             throw e;
+        } catch (final TimeoutException e) {
+            throw new IOException(new CommandTimeoutException(MessageFormat.format(
+                    "''{0}'' timed out after {1}\n{2}", String.join(" ", args), timeout,
+                    errorStream), timeout, e));
         } catch (final InvalidResultException e) {
             throw new IOException(new GemException(errorStream.toString(), e));
         } catch (final Exception e) {
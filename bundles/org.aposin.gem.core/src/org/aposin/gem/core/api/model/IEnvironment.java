@@ -18,14 +18,13 @@ package org.aposin.gem.core.api.model;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.aposin.gem.core.api.INamedObject;
 import org.aposin.gem.core.api.config.IConfigurable;
 import org.aposin.gem.core.api.config.IConfiguration;
 import org.aposin.gem.core.api.launcher.ILauncher;
 import org.aposin.gem.core.api.service.launcher.IEnvironmentLauncherProvider;
+import org.aposin.gem.core.api.service.launcher.LauncherRegistry;
 import org.aposin.gem.core.api.workflow.IEnvironmentWorkflow;
 
 /**
@@ -190,34 +189,30 @@ public interface IEnvironment extends INamedObject, IConfigurable {
      * {@link IEnvironmentLauncherProvider#getLaunchers(IEnvironment)},
      * which should always being returned.
      * Additional launchers could be configured at the environment level.
+     * </br>
+     * Launchers are cached on the {@link LauncherRegistry} of the service container.
      * 
      * @return launchers; empty list if none.
      */
     public default List<ILauncher> getLaunchers() {
-        return getConfiguration().getServiceContainer()//
-                .getEnvironmentLauncherProviders().stream() //
-                .flatMap(provider -> provider.getLaunchers(this).stream()) //
-                .collect(Collectors.toList());
+        return getConfiguration().getServiceContainer().getLauncherRegistry().getLaunchers(this);
     }
     
     /**
      * Gets the launchers for the repositories in the environment.
      * </br>
      * Default implementation gets the launchers from the registered
-     * {@link IEnvironmentLauncherProvider#getRepositoryLaunchers(IRepository)},
+     * {@link IEnvironmentLauncherProvider#getRepositoryLaunchers(IEnvironment, IRepository)},
      * which should always being returned.
      * Additional launchers could be configured at the environment level.
+     * </br>
+     * Launchers are cached on the {@link LauncherRegistry} of the service container.
      * 
      * @return launchers; empty list if none.
      */
     public default List<ILauncher> getRepositoryLaunchers(final IRepository repository) {
-        return getConfiguration().getServiceContainer()//
-                .getEnvironmentLauncherProviders().stream() //
-                .flatMap(provider -> { //
-                    final List<ILauncher> launchers = provider.getRepositoryLaunchers(this).get(repository); //
-                    return launchers != null ? launchers.stream() : Stream.empty();
-                }) //
-                .collect(Collectors.toList());
+        return getConfiguration().getServiceContainer().getLauncherRegistry()
+                .getRepositoryLaunchers(this, repository);
     }
 
 }
@@ -17,6 +17,7 @@ package org.aposin.gem.core.api.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.aposin.gem.core.api.IRefreshable;
 import org.aposin.gem.core.api.model.IEnvironment;
@@ -43,6 +44,27 @@ public interface IFeatureBranchProvider extends IGemService, IRefreshable {
      */
     public List<IFeatureBranch> getFeatureBranches(final IEnvironment environment);
 
+    /**
+     * Gets the feature-branches for the environment asynchronously.
+     * </br>
+     * Default implementation runs {@link #getFeatureBranches(IEnvironment)} on the calling thread
+     * and returns a completed future. Callers are responsible for running it off the UI thread.
+     * Implementors relying on non-blocking clients might use a more efficient implementation.
+     * 
+     * @param environment the environment to get the branches for.
+     * @return future completed with the feature-branches for the environment (as in
+     *         {@link #getFeatureBranches(IEnvironment)}) or exceptionally if they cannot be
+     *         retrieved.
+     */
+    public default CompletableFuture<List<IFeatureBranch>> getFeatureBranchesAsync(
+            final IEnvironment environment) {
+        try {
+            return CompletableFuture.completedFuture(getFeatureBranches(environment));
+        } catch (final RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Gets the default feature-branch for the environment.
      * </br>
@@ -66,9 +88,8 @@ public interface IFeatureBranchProvider extends IGemService, IRefreshable {
      * Gets a matching feature-branch.
      * </br>
      * Matching feature-branches are provider dependent.
-     * Default implementation tries to find a feature-branch named
-     * ({@link IFeatureBranch#getName()}) in the same way as the whole set of
-     * {@link #getFeatureBraches(IEnvironment)}
+     * Default implementation finds the feature-branch with the same name
+     * ({@link IFeatureBranch#getName()}) with {@link #findByName(IEnvironment, String)}.
      * 
      * @param environment the environment to get the branch for.
      * @param featureBranch feature-branch to match; if {@code null} no matching branch.
@@ -79,8 +100,42 @@ public interface IFeatureBranchProvider extends IGemService, IRefreshable {
         if (featureBranch == null) {
             return Optional.empty();
         }
+        return findByName(environment, featureBranch.getName());
+    }
+
+    /**
+     * Finds a feature-branch by name ({@link IFeatureBranch#getName()}).
+     * </br>
+     * Default implementation returns the first one on {@link #getFeatureBranches(IEnvironment)}.
+     * Implementors keeping the feature-branches might use a more efficient implementation
+     * (e.g., an index).
+     * 
+     * @param environment the environment to get the branch for.
+     * @param name name of the feature-branch.
+     * @return optional feature-branch; {@link Optional#empty()} if not found.
+     */
+    public default Optional<IFeatureBranch> findByName(final IEnvironment environment,
+            final String name) {
+        return getFeatureBranches(environment).stream() //
+                .filter(fb -> fb.getName().equals(name)) //
+                .findFirst();
+    }
+
+    /**
+     * Finds a feature-branch by ID ({@link IFeatureBranch#getId()}).
+     * </br>
+     * Default implementation returns the first one on {@link #getFeatureBranches(IEnvironment)}.
+     * Implementors keeping the feature-branches might use a more efficient implementation
+     * (e.g., an index).
+     * 
+     * @param environment the environment to get the branch for.
+     * @param id ID of the feature-branch.
+     * @return optional feature-branch; {@link Optional#empty()} if not found.
+     */
+    public default Optional<IFeatureBranch> findById(final IEnvironment environment,
+            final String id) {
         return getFeatureBranches(environment).stream() //
-                .filter(wb -> wb.getName().equals(featureBranch.getName())) //
+                .filter(fb -> fb.getId().equals(id)) //
                 .findFirst();
     }
 
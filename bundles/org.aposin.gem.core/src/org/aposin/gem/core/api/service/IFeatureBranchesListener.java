@@ -0,0 +1,46 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.api.service;
+
+import org.aposin.gem.core.api.model.IEnvironment;
+
+/**
+ * Listener for feature-branches updated in the background.
+ * </br>
+ * Feature-branches might be cached by the {@link IServiceContainer}; once the cached ones
+ * are refreshed and differ from the previous, the listeners are notified.
+ * </br>
+ * Listeners are also notified when a provider which failed to be configured becomes
+ * available (configured in the background).
+ * 
+ * @see IServiceContainer#addFeatureBranchesListener(IFeatureBranchesListener)
+ */
+@FunctionalInterface
+public interface IFeatureBranchesListener {
+
+    /**
+     * Notifies that the feature-branches of the provider changed for the environment.
+     * </br>
+     * Might be called from any thread.
+     * 
+     * @param provider provider with updated feature-branches.
+     * @param environment environment for the feature-branches; {@code null} if the provider
+     *        became available (the list of providers changed).
+     */
+    public void featureBranchesUpdated(final IFeatureBranchProvider provider,
+            final IEnvironment environment);
+
+}
@@ -23,6 +23,7 @@ import org.aposin.gem.core.api.config.GemConfigurationException;
 import org.aposin.gem.core.api.config.IConfigurable;
 import org.aposin.gem.core.api.service.launcher.IEnvironmentLauncherProvider;
 import org.aposin.gem.core.api.service.launcher.IFeatureBranchLauncherProvider;
+import org.aposin.gem.core.api.service.launcher.LauncherRegistry;
 import org.aposin.gem.core.exception.GemException;
 import org.aposin.gem.core.impl.service.DefaultGemSorter;
 
@@ -89,6 +90,18 @@ public interface IServiceContainer extends IRefreshable, IConfigurable {
         return getGemServices(IFeatureBranchLauncherProvider.class);
     }
 
+    /**
+     * Gets the registry resolving the launchers from the launcher providers.
+     * </br>
+     * Default implementation returns a new registry on each call (no caching);
+     * implementations should keep a single instance and clear it on {@link #refresh()}.
+     * 
+     * @return launcher registry.
+     */
+    public default LauncherRegistry getLauncherRegistry() {
+        return new LauncherRegistry(this);
+    }
+
     /**
      * Gets the service from a corresponding class and its ID.
      * 
@@ -120,4 +133,25 @@ public interface IServiceContainer extends IRefreshable, IConfigurable {
      */
     public <T extends IGemService> Map<IGemService, GemConfigurationException> getMisconfiguredServices(final Class<T> type);
 
+    /**
+     * Adds a listener for feature-branches updated in the background.
+     * </br>
+     * Default implementation does not cache the feature-branches,
+     * so there are no updates to notify (NO-OP).
+     * 
+     * @param listener listener to add.
+     */
+    public default void addFeatureBranchesListener(final IFeatureBranchesListener listener) {
+        // NO-OP
+    }
+
+    /**
+     * Removes a listener added with {@link #addFeatureBranchesListener(IFeatureBranchesListener)}.
+     * 
+     * @param listener listener to remove.
+     */
+    public default void removeFeatureBranchesListener(final IFeatureBranchesListener listener) {
+        // NO-OP
+    }
+
 }
@@ -15,6 +15,7 @@
  */
 package org.aposin.gem.core.api.service.launcher;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.aposin.gem.core.api.launcher.ILauncher;
@@ -44,5 +45,21 @@ public interface IEnvironmentLauncherProvider extends IGemService {
      * @return launchers for the repositories on the environment; empty if none.
      */
     public Map<IRepository, List<ILauncher>> getRepositoryLaunchers(final IEnvironment environment);
+
+    /**
+     * Gets the launchers for a single repository of the environment.
+     * </br>
+     * Default implementation gets the entry from {@link #getRepositoryLaunchers(IEnvironment)};
+     * providers are encouraged to override it to avoid creating the launchers for every repository.
+     * 
+     * @param environment
+     * @param repository
+     * @return launchers for the repository on the environment; empty if none.
+     */
+    public default List<ILauncher> getRepositoryLaunchers(final IEnvironment environment,
+            final IRepository repository) {
+        final List<ILauncher> launchers = getRepositoryLaunchers(environment).get(repository);
+        return launchers == null ? Collections.emptyList() : launchers;
+    }
     
 }
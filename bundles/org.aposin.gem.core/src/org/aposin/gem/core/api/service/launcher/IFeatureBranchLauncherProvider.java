@@ -15,6 +15,7 @@
  */
 package org.aposin.gem.core.api.service.launcher;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.aposin.gem.core.api.launcher.ILauncher;
@@ -46,5 +47,21 @@ public interface IFeatureBranchLauncherProvider extends IGemService {
      * @return launchers for the repositories on the featureBranch; empty map if none.
      */
     public Map<IRepository, List<ILauncher>> getRepositoryLaunchers(final IFeatureBranch featureBranch);
+
+    /**
+     * Gets the launchers for a single repository of the featureBranch.
+     * </br>
+     * Default implementation gets the entry from {@link #getRepositoryLaunchers(IFeatureBranch)};
+     * providers are encouraged to override it to avoid creating the launchers for every repository.
+     * 
+     * @param featureBranch
+     * @param repository
+     * @return launchers for the repository on the featureBranch; empty if none.
+     */
+    public default List<ILauncher> getRepositoryLaunchers(final IFeatureBranch featureBranch,
+            final IRepository repository) {
+        final List<ILauncher> launchers = getRepositoryLaunchers(featureBranch).get(repository);
+        return launchers == null ? Collections.emptyList() : launchers;
+    }
     
 }
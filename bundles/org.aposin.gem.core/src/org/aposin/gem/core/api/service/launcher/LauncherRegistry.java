@@ -0,0 +1,192 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.api.service.launcher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.aposin.gem.core.api.launcher.ILauncher;
+import org.aposin.gem.core.api.model.IEnvironment;
+import org.aposin.gem.core.api.model.IRepository;
+import org.aposin.gem.core.api.service.IServiceContainer;
+import org.aposin.gem.core.api.workflow.IFeatureBranch;
+
+/**
+ * Registry resolving the launchers of the providers on a {@link IServiceContainer}.
+ * </br>
+ * Launchers are resolved once per scope (environment or feature-branch) and cached:
+ * <ul>
+ * <li>The whole registry is cleared when the service container is refreshed
+ * (e.g., on configuration refresh).</li>
+ * <li>Feature-branches are cached by instance: once a provider returns a new feature-branch,
+ * the launchers are resolved again. Only the last used ones are kept.</li>
+ * </ul>
+ * Repository launchers are resolved per repository with the incremental
+ * {@link IEnvironmentLauncherProvider#getRepositoryLaunchers(IEnvironment, IRepository)} and
+ * {@link IFeatureBranchLauncherProvider#getRepositoryLaunchers(IFeatureBranch, IRepository)}.
+ */
+public final class LauncherRegistry {
+
+    private static final int MAX_CACHED_FEATURE_BRANCHES = 32;
+
+    private final IServiceContainer serviceContainer;
+
+    private final Map<IEnvironment, ScopeLaunchers> environmentLaunchers = new ConcurrentHashMap<>();
+    // access-ordered to remove the least recently used feature-branch
+    private final Map<IFeatureBranch, ScopeLaunchers> featureBranchLaunchers =
+            Collections.synchronizedMap(new LinkedHashMap<>(MAX_CACHED_FEATURE_BRANCHES, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<IFeatureBranch, ScopeLaunchers> eldest) {
+                    return size() > MAX_CACHED_FEATURE_BRANCHES;
+                }
+            });
+
+    /**
+     * Constructor.
+     * 
+     * @param serviceContainer container to get the providers from.
+     */
+    public LauncherRegistry(final IServiceContainer serviceContainer) {
+        this.serviceContainer = serviceContainer;
+    }
+
+    /**
+     * Gets the launchers for the environment.
+     * 
+     * @param environment
+     * @return unmodifiable list of launchers; empty if none.
+     */
+    public List<ILauncher> getLaunchers(final IEnvironment environment) {
+        return getScope(environmentLaunchers, environment).getLaunchers(() -> resolve(
+                serviceContainer.getEnvironmentLauncherProviders(), p -> p.getLaunchers(environment)));
+    }
+
+    /**
+     * Gets the launchers for a repository on the environment.
+     * 
+     * @param environment
+     * @param repository
+     * @return unmodifiable list of launchers; empty if none.
+     */
+    public List<ILauncher> getRepositoryLaunchers(final IEnvironment environment, final IRepository repository) {
+        return getScope(environmentLaunchers, environment).getRepositoryLaunchers(repository, r -> resolve(
+                serviceContainer.getEnvironmentLauncherProviders(), p -> p.getRepositoryLaunchers(environment, r)));
+    }
+
+    /**
+     * Gets the launchers for the feature-branch.
+     * 
+     * @param featureBranch
+     * @return unmodifiable list of launchers; empty if none.
+     */
+    public List<ILauncher> getLaunchers(final IFeatureBranch featureBranch) {
+        return getScope(featureBranchLaunchers, featureBranch).getLaunchers(() -> resolve(
+                serviceContainer.getFeatureBranchLauncherProviders(), p -> p.getLaunchers(featureBranch)));
+    }
+
+    /**
+     * Gets the launchers for a repository on the feature-branch.
+     * 
+     * @param featureBranch
+     * @param repository
+     * @return unmodifiable list of launchers; empty if none.
+     */
+    public List<ILauncher> getRepositoryLaunchers(final IFeatureBranch featureBranch, final IRepository repository) {
+        return getScope(featureBranchLaunchers, featureBranch).getRepositoryLaunchers(repository, r -> resolve(
+                serviceContainer.getFeatureBranchLauncherProviders(), p -> p.getRepositoryLaunchers(featureBranch, r)));
+    }
+
+    /**
+     * Invalidates the launchers cached for a scope.
+     * 
+     * @param scope environment or feature-branch.
+     */
+    public void invalidate(final Object scope) {
+        environmentLaunchers.remove(scope);
+        featureBranchLaunchers.remove(scope);
+    }
+
+    /**
+     * Clears all the cached launchers.
+     */
+    public void clear() {
+        environmentLaunchers.clear();
+        featureBranchLaunchers.clear();
+    }
+
+    private static <T> ScopeLaunchers getScope(final Map<T, ScopeLaunchers> cache, final T scope) {
+        ScopeLaunchers launchers = cache.get(scope);
+        // scopes are compared by instance, as equal objects might provide different launchers
+        if (launchers == null || launchers.scope != scope) {
+            launchers = new ScopeLaunchers(scope);
+            cache.put(scope, launchers);
+        }
+        return launchers;
+    }
+
+    private static <P> List<ILauncher> resolve(final Collection<P> providers,
+            final Function<P, List<ILauncher>> getter) {
+        final List<ILauncher> launchers = new ArrayList<>();
+        for (final P provider : providers) {
+            final List<ILauncher> providerLaunchers = getter.apply(provider);
+            if (providerLaunchers != null) {
+                launchers.addAll(providerLaunchers);
+            }
+        }
+        return Collections.unmodifiableList(launchers);
+    }
+
+    private static final class ScopeLaunchers {
+
+        private final Object scope;
+        private volatile List<ILauncher> launchers;
+        private final Map<IRepository, List<ILauncher>> repositoryLaunchers = new ConcurrentHashMap<>();
+
+        private ScopeLaunchers(final Object scope) {
+            this.scope = scope;
+        }
+
+        private List<ILauncher> getLaunchers(final Supplier<List<ILauncher>> resolver) {
+            List<ILauncher> result = launchers;
+            if (result == null) {
+                result = resolver.get();
+                launchers = result;
+            }
+            return result;
+        }
+
+        private List<ILauncher> getRepositoryLaunchers(final IRepository repository,
+                final Function<IRepository, List<ILauncher>> resolver) {
+            // not using computeIfAbsent, as providers might request other launchers
+            List<ILauncher> result = repositoryLaunchers.get(repository);
+            if (result == null) {
+                result = resolver.apply(repository);
+                repositoryLaunchers.put(repository, result);
+            }
+            return result;
+        }
+    }
+
+}
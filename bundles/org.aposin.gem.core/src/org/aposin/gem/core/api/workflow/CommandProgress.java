@@ -0,0 +1,184 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.api.workflow;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Progress reported by a running {@link ICommand}.
+ * </br>
+ * The progress is structured in phases (e.g., the ones reported by git with {@code --progress}),
+ * each of them with a weight to compute the progress of the whole command.
+ */
+public final class CommandProgress {
+
+    /**
+     * Known phases of a command, in order of execution.
+     */
+    public enum Phase {
+        RECEIVING_OBJECTS(70, "Receiving objects"), //
+        RESOLVING_DELTAS(20, "Resolving deltas"), //
+        UPDATING_FILES(10, "Updating files", "Checking out files");
+
+        private static final int TOTAL_WEIGHT =
+                Arrays.stream(values()).mapToInt(Phase::getWeight).sum();
+
+        private final int weight;
+        private final String[] labels;
+
+        private Phase(final int weight, final String... labels) {
+            this.weight = weight;
+            this.labels = labels;
+        }
+
+        /**
+         * Gets the weight of the phase on the whole command.
+         * 
+         * @return weight.
+         */
+        public int getWeight() {
+            return weight;
+        }
+
+        /**
+         * Gets the user-friendly label of the phase.
+         * 
+         * @return label.
+         */
+        public String getLabel() {
+            return labels[0];
+        }
+
+        /**
+         * Gets the phase by one of its labels (as reported by git).
+         * 
+         * @param label label.
+         * @return phase; empty if the label is unknown.
+         */
+        public static Optional<Phase> fromLabel(final String label) {
+            return Arrays.stream(values()) //
+                    .filter(p -> Arrays.asList(p.labels).contains(label)) //
+                    .findFirst();
+        }
+    }
+
+    private final ICommand command;
+    private final Phase phase;
+    private final long completed;
+    private final long total;
+    private final long timestamp;
+
+    /**
+     * Default constructor.
+     * 
+     * @param command command reporting the progress.
+     * @param phase current phase.
+     * @param completed completed units on the phase.
+     * @param total total units on the phase.
+     */
+    public CommandProgress(final ICommand command, final Phase phase, final long completed,
+            final long total) {
+        this.command = command;
+        this.phase = phase;
+        this.completed = completed;
+        this.total = total;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * Gets the command reporting the progress.
+     * </br>
+     * For composed commands, this is the running sub-command.
+     * 
+     * @return command.
+     */
+    public ICommand getCommand() {
+        return command;
+    }
+
+    /**
+     * Gets the current phase.
+     * 
+     * @return phase.
+     */
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Gets the completed units on the current phase.
+     * 
+     * @return completed units.
+     */
+    public long getCompleted() {
+        return completed;
+    }
+
+    /**
+     * Gets the total units on the current phase.
+     * 
+     * @return total units.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the time when the progress was reported.
+     * 
+     * @return milliseconds since epoch.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the fraction completed on the current phase.
+     * 
+     * @return fraction between 0 and 1.
+     */
+    public double getPhaseFraction() {
+        if (total <= 0) {
+            return 0;
+        }
+        return Math.min(1, (double) completed / total);
+    }
+
+    /**
+     * Gets the fraction completed on the whole command, assuming that
+     * the previous phases are already completed.
+     * 
+     * @return fraction between 0 and 1.
+     */
+    public double getWeightedFraction() {
+        int previous = 0;
+        for (final Phase p : Phase.values()) {
+            if (p == phase) {
+                break;
+            }
+            previous += p.getWeight();
+        }
+        return (previous + phase.getWeight() * getPhaseFraction()) / Phase.TOTAL_WEIGHT;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d/%d (%s)", phase.getLabel(), completed, total,
+                command.getDescription());
+    }
+
+}
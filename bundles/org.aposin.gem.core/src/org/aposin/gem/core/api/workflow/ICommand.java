@@ -17,6 +17,7 @@ package org.aposin.gem.core.api.workflow;
 
 import java.io.OutputStream;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import org.aposin.gem.core.api.INamedObject;
 import org.aposin.gem.core.exception.GemException;
@@ -37,6 +38,17 @@ public interface ICommand {
      */
     public void addStdErrStream(final OutputStream stdErr);
 
+    /**
+     * Adds a listener for the progress reported while running (if any).
+     * </br>
+     * Listeners are called from the thread running the command.
+     * </br>
+     * Default implementation does nothing (the command does not report progress).
+     */
+    public default void addProgressListener(final Consumer<CommandProgress> listener) {
+        // NO-OP
+    }
+
     /**
      * Sets if the description should be printed in all {@link OutputStream}
      * registered on the {@link #addStdOutStream(OutputStream)}.
@@ -59,6 +71,16 @@ public interface ICommand {
      */
     public CompletableFuture<IResult> execute() throws GemException;
 
+    /**
+     * Requests the cancellation of the command.
+     * </br>
+     * The cancellation is cooperative and applies to the whole command tree
+     * (e.g., composed commands): running processes are killed and chained
+     * commands are not started anymore. The result of a cancelled command is
+     * a failure wrapping a {@link java.util.concurrent.CancellationException}.
+     */
+    public void cancel();
+
     /**
      * Creates a failed result with an error message.
      * 
@@ -17,14 +17,13 @@ package org.aposin.gem.core.api.workflow;
 
 import java.text.MessageFormat;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.aposin.gem.core.api.INamedObject;
 import org.aposin.gem.core.api.launcher.ILauncher;
 import org.aposin.gem.core.api.model.IEnvironment;
 import org.aposin.gem.core.api.model.IRepository;
 import org.aposin.gem.core.api.service.IFeatureBranchProvider;
 import org.aposin.gem.core.api.service.launcher.IFeatureBranchLauncherProvider;
+import org.aposin.gem.core.api.service.launcher.LauncherRegistry;
 
 /**
  * Represents a feature-branch for an environment.
@@ -150,33 +149,30 @@ public interface IFeatureBranch extends INamedObject {
      * Default implementation gets the launchers from the registered
      * {@link IFeatureBranchLauncherProvider#getLaunchers(IFeatureBranch)},
      * which should always being returned.
+     * </br>
+     * Launchers are cached on the {@link LauncherRegistry} of the service container.
      * 
      * @return launchers; empty list if none.
      */
     public default List<ILauncher> getLaunchers() {
-        return getEnvironment().getConfiguration().getServiceContainer()//
-                .getFeatureBranchLauncherProviders().stream() //
-                .flatMap(provider -> provider.getLaunchers(this).stream()) //
-                .collect(Collectors.toList());
+        return getEnvironment().getConfiguration().getServiceContainer().getLauncherRegistry()
+                .getLaunchers(this);
     }
 
     /**
      * Gets the launcher for this feature branch.
      * </br>
      * Default implementation gets the launchers from the registered
-     * {@link IFeatureBranchLauncherProvider#getRepositoryLaunchers(IRepository)},
+     * {@link IFeatureBranchLauncherProvider#getRepositoryLaunchers(IFeatureBranch, IRepository)},
      * which should always being returned.
+     * </br>
+     * Launchers are cached on the {@link LauncherRegistry} of the service container.
      * 
      * @return launchers; empty list if none.
      */
     public default List<ILauncher> getRepositoryLaunchers(final IRepository repository) {
-        return  getEnvironment().getConfiguration().getServiceContainer()//
-                .getFeatureBranchLauncherProviders().stream() //
-                .flatMap(provider -> { //
-                    final List<ILauncher> launchers = provider.getRepositoryLaunchers(this).get(repository); //
-                    return launchers != null ? launchers.stream() : Stream.empty();
-                }) //
-                .collect(Collectors.toList());
+        return getEnvironment().getConfiguration().getServiceContainer().getLauncherRegistry()
+                .getRepositoryLaunchers(this, repository);
     }
     
     /**
@@ -0,0 +1,45 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.api.workflow;
+
+import java.util.Set;
+
+/**
+ * Journal recording the progress of launched workflows.
+ * </br>
+ * Launches which did not finish successfully (e.g., failure on one of the repositories
+ * or application killed) are kept as pending until they are resumed or discarded.
+ */
+public interface IWorkflowJournal {
+
+    /**
+     * Gets the launches which did not finish.
+     * 
+     * @return set of launcher IDs (see {@link org.aposin.gem.core.api.launcher.ILauncher#getId()});
+     *         empty if all launches finished.
+     */
+    public Set<String> getPendingLaunches();
+
+    /**
+     * Discards the recorded progress for a pending launch.
+     * </br>
+     * If the launcher is run again, all its steps would be evaluated.
+     * 
+     * @param launcherId launcher ID.
+     */
+    public void discard(final String launcherId);
+
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.api.workflow.exception;
+
+import java.time.Duration;
+import org.aposin.gem.core.api.workflow.WorkflowException;
+
+/**
+ * Exception for commands which did not finish in time
+ * or stopped producing output (e.g., waiting for credentials).
+ */
+public class CommandTimeoutException extends WorkflowException {
+    private static final long serialVersionUID = 1L;
+
+    private final Duration timeout;
+
+    public CommandTimeoutException(final String msg, final Duration timeout) {
+        super(msg);
+        this.timeout = timeout;
+    }
+
+    public CommandTimeoutException(final String msg, final Duration timeout, final Throwable cause) {
+        super(msg, cause);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Gets the timeout which was exceeded.
+     * 
+     * @return the timeout.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+}
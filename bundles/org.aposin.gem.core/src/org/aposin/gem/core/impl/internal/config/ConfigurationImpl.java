@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -41,13 +42,18 @@ import org.aposin.gem.core.api.model.IRepository;
 import org.aposin.gem.core.api.model.repo.GemRepoHookDescriptor;
 import org.aposin.gem.core.api.service.IServiceContainer;
 import org.aposin.gem.core.api.workflow.ICommand.IResult;
+import org.aposin.gem.core.api.workflow.IWorkflowJournal;
 import org.aposin.gem.core.exception.GemException;
 import org.aposin.gem.core.exception.GemFatalException;
 import org.aposin.gem.core.impl.internal.config.bean.GemCfgBean;
 import org.aposin.gem.core.impl.internal.config.bean.GemCfgBean.RepositoryBean;
 import org.aposin.gem.core.impl.internal.config.prefs.PreferencesImpl;
 import org.aposin.gem.core.impl.internal.model.ProjectImpl;
+import org.aposin.gem.core.impl.internal.model.repo.ModelSnapshot;
 import org.aposin.gem.core.impl.internal.model.repo.RepositoryImpl;
+import org.aposin.gem.core.impl.internal.workflow.WorkflowJournal;
+import org.aposin.gem.core.impl.internal.workflow.WorkflowStateSnapshot;
+import org.aposin.gem.core.utils.ExecutorUtils;
 import org.aposin.gem.core.utils.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +65,9 @@ public final class ConfigurationImpl implements IConfiguration {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ConfigurationImpl.class);
 
+    private static final ExecutorService REPOSITORY_REVALIDATION_EXECUTOR =
+            ExecutorUtils.newDaemonPool("gem-repository-revalidation");
+
     private final HoconFilesManager hoconFileManager;
 
     // reloaded
@@ -69,6 +78,11 @@ public final class ConfigurationImpl implements IConfiguration {
     private List<IProject> projects;
     private Map<String, IRepository> repositoriesById;
 
+    // stored on shutdown (the latest loaded repositories)
+    private volatile ModelSnapshot modelSnapshot;
+    private volatile List<RepositoryImpl> snapshotRepositories;
+    private Thread modelSnapshotHook;
+
     /**
      * Default constructor.
      * 
@@ -83,6 +97,10 @@ public final class ConfigurationImpl implements IConfiguration {
 
     @Override
     public IPreferences getPreferences() {
+        return getPreferencesImpl();
+    }
+
+    private PreferencesImpl getPreferencesImpl() {
         if (prefs == null) {
             prefs = new PreferencesImpl(hoconFileManager);
         }
@@ -109,6 +127,15 @@ public final class ConfigurationImpl implements IConfiguration {
         services.refresh();
     }
 
+    /**
+     * Loads the lazy state shared by the services (preferences and repositories),
+     * so they can be configured concurrently.
+     */
+    /* package */ void loadSharedState() {
+        getPreferencesImpl().load();
+        loadRepositories();
+    }
+
     @Override
     public <T> T getPluginConfiguration(String id, Class<T> configBean) {
         return hoconFileManager.getConfigurationBean(getPreferences(), id, configBean);
@@ -154,6 +181,11 @@ public final class ConfigurationImpl implements IConfiguration {
         return path;
     }
 
+    @Override
+    public IWorkflowJournal getWorkflowJournal() {
+        return WorkflowJournal.forResourcesDirectory(getResourcesDirectory());
+    }
+
     private static final class DeleteTempDirectoryHook implements Runnable {
 
         private final Path tmpPath;
@@ -216,10 +248,12 @@ public final class ConfigurationImpl implements IConfiguration {
     private void loadRepositories() {
         if (repositoriesById == null) {
             repositoriesById = new TreeMap<>();
+            final List<RepositoryImpl> repositories = new ArrayList<>(config.repositories.size());
             final List<CompletableFuture<IResult>> hookInstallers =
                     new ArrayList<>(config.repositories.size());
             for (final RepositoryBean repoInfo : config.repositories) {
                 final RepositoryImpl repo = new RepositoryImpl(this, repoInfo);
+                repositories.add(repo);
                 // if it is cloned, the first time that is instantiated
                 // then install the hooks -> refresh or startup
                 if (repo.isCloned()) {
@@ -240,6 +274,61 @@ public final class ConfigurationImpl implements IConfiguration {
             } catch (final InterruptedException | ExecutionException e) {
                 throw new GemFatalException("Error installing repo-hooks", e);
             }
+            warmStart(repositories);
+        }
+    }
+
+    /**
+     * Seeds the repositories with the model snapshot of the previous session and revalidates
+     * the seeded ones in the background.
+     * </br>
+     * If any of them changed, the workflow states and the cached feature-branches are refreshed.
+     * The snapshot is stored again once revalidated (idle) and on shutdown.
+     */
+    private void warmStart(final List<RepositoryImpl> repositories) {
+        final ModelSnapshot snapshot = ModelSnapshot.forResourcesDirectory(getResourcesDirectory());
+        modelSnapshot = snapshot;
+        snapshotRepositories = repositories;
+        registerModelSnapshotHook();
+        final List<RepositoryImpl> seeded = snapshot.seed(repositories);
+        if (seeded.isEmpty()) {
+            return;
+        }
+        LOGGER.debug("Seeded {} repositories from the model snapshot", seeded.size());
+        final List<CompletableFuture<Boolean>> revalidations = seeded.stream() //
+                .map(repo -> CompletableFuture
+                        .supplyAsync(repo::revalidate, REPOSITORY_REVALIDATION_EXECUTOR) //
+                        .exceptionally(e -> {
+                            LOGGER.warn("Error revalidating repository {}", repo.getId());
+                            LOGGER.debug("Exception", e);
+                            return Boolean.FALSE;
+                        })) //
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(revalidations.toArray(CompletableFuture[]::new)).thenRun(() -> {
+            // ignore if the repositories were reloaded meanwhile (refresh)
+            if (snapshotRepositories != repositories) {
+                return;
+            }
+            if (revalidations.stream().anyMatch(CompletableFuture::join)) {
+                LOGGER.info("Repositories changed since the previous session");
+                WorkflowStateSnapshot.invalidateAll();
+                ((ServiceContainer) services).revalidateFeatureBranches();
+            }
+            snapshot.save(repositories);
+        });
+    }
+
+    private void registerModelSnapshotHook() {
+        if (modelSnapshotHook == null) {
+            modelSnapshotHook = new Thread(() -> {
+                try {
+                    modelSnapshot.save(snapshotRepositories);
+                } catch (final Exception e) {
+                    // catch any exception to avoid failing hook
+                    LOGGER.error("Cannot store the model snapshot", e);
+                }
+            }, "Store-model-snapshot (shutdown)");
+            Runtime.getRuntime().addShutdownHook(modelSnapshotHook);
         }
     }
 
@@ -15,15 +15,27 @@
  */
 package org.aposin.gem.core.impl.internal.config;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.aposin.gem.core.Activator;
@@ -31,11 +43,19 @@ import org.aposin.gem.core.api.IRefreshable;
 import org.aposin.gem.core.api.config.GemConfigurationException;
 import org.aposin.gem.core.api.config.IConfigurable;
 import org.aposin.gem.core.api.config.IConfiguration;
+import org.aposin.gem.core.api.config.prefs.IPreferences;
+import org.aposin.gem.core.api.model.IEnvironment;
 import org.aposin.gem.core.api.service.IFeatureBranchProvider;
+import org.aposin.gem.core.api.service.IFeatureBranchesListener;
 import org.aposin.gem.core.api.service.IGemService;
 import org.aposin.gem.core.api.service.IGemServiceCreator;
 import org.aposin.gem.core.api.service.IServiceContainer;
+import org.aposin.gem.core.api.service.launcher.LauncherRegistry;
+import org.aposin.gem.core.impl.internal.service.CachingFeatureBranchProvider;
+import org.aposin.gem.core.impl.internal.service.CircuitBreaker;
 import org.aposin.gem.core.impl.internal.service.GemGitBranchProvider;
+import org.aposin.gem.core.impl.internal.service.GuardedFeatureBranchProvider;
+import org.aposin.gem.core.utils.ExecutorUtils;
 import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
 import org.slf4j.Logger;
@@ -45,22 +65,47 @@ public class ServiceContainer implements IServiceContainer, IConfigurable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ServiceContainer.class);
 
+    private static final ExecutorService SERVICE_CONFIGURATION_EXECUTOR =
+            ExecutorUtils.newDaemonPool("gem-service-configuration");
+    // background configuration of the feature-branch providers (timeouts and retries):
+    // separated from the services one, which waits for it
+    private static final ExecutorService CONFIGURATION_EXECUTOR =
+            ExecutorUtils.newDaemonPool("gem-provider-configuration");
+
     private final ConfigurationImpl configuration;
 
+    // the services are accessed from worker threads (e.g., feature-branch matching):
+    // the maps per type are published once loaded and replaced (never modified) afterwards
+
     // track all services
-    private final Set<IRefreshable> refreshableServices = new HashSet<>();
+    private final Set<IRefreshable> refreshableServices = ConcurrentHashMap.newKeySet();
     // track services creators (configured or misconfigured)
     @SuppressWarnings("rawtypes")
-    private final Map<Class<? extends IGemService>, List<IGemServiceCreator>> serviceCreators = new HashMap<>();
+    private final Map<Class<? extends IGemService>, List<IGemServiceCreator>> serviceCreators = new ConcurrentHashMap<>();
     @SuppressWarnings("rawtypes")
-    private final Map<Class<? extends IGemService>, Map<? extends IGemServiceCreator, GemConfigurationException>> misconfiguredServiceCreators = new HashMap<>();
+    private final Map<Class<? extends IGemService>, Map<? extends IGemServiceCreator, GemConfigurationException>> misconfiguredServiceCreators = new ConcurrentHashMap<>();
     // track loaded/misconfigured services
     private final Map<Class<? extends IGemService>, Map<String, ? extends IGemService>> loadedServices =
-            new HashMap<>();
+            new ConcurrentHashMap<>();
     private final Map<Class<? extends IGemService>, Map<? extends IGemService, GemConfigurationException>> misconfiguredServices =
-            new HashMap<>();
+            new ConcurrentHashMap<>();
+    // services of a type are loaded once, even if requested concurrently
+    private final Map<Class<? extends IGemService>, Object> loadingLocks = new ConcurrentHashMap<>();
+
+    private volatile List<IFeatureBranchProvider> featureBranchProviders;
+
+    private final LauncherRegistry launcherRegistry = new LauncherRegistry(this);
 
-    private List<IFeatureBranchProvider> featureBranchProviders;
+    // kept on refresh, as the listeners are registered once
+    private final List<IFeatureBranchesListener> featureBranchesListeners = new CopyOnWriteArrayList<>();
+
+    // feature-branch providers configured in the background after a failure
+    // added to the loaded services on the next access
+    private final Queue<IFeatureBranchProvider> recoveredProviders = new ConcurrentLinkedQueue<>();
+    // cached feature-branch providers, to revalidate them when the repositories change
+    private final List<CachingFeatureBranchProvider> cachingProviders = new CopyOnWriteArrayList<>();
+    // incremented on refresh, to ignore background configurations of previous services
+    private final AtomicInteger generation = new AtomicInteger();
 
     /* package */ ServiceContainer(final ConfigurationImpl configuration) {
         this.configuration = configuration;
@@ -110,12 +155,21 @@ public class ServiceContainer implements IServiceContainer, IConfigurable {
 
     @Override
     public Collection<IFeatureBranchProvider> getFeatureBranchProviders() {
-        if (featureBranchProviders == null) {
-            featureBranchProviders = getGemServices(IFeatureBranchProvider.class).stream() //
+        applyRecoveredProviders();
+        List<IFeatureBranchProvider> providers = featureBranchProviders;
+        if (providers == null) {
+            // concurrent callers might sort the same providers
+            providers = getGemServices(IFeatureBranchProvider.class).stream() //
                     .sorted(getGemSorter().getFeatureBranchProviderComparator()) //
                     .collect(Collectors.toUnmodifiableList());
+            featureBranchProviders = providers;
         }
-        return featureBranchProviders;
+        return providers;
+    }
+
+    @Override
+    public LauncherRegistry getLauncherRegistry() {
+        return launcherRegistry;
     }
 
     @Override
@@ -130,7 +184,21 @@ public class ServiceContainer implements IServiceContainer, IConfigurable {
     
     @SuppressWarnings("unchecked")
     private <T extends IGemService> Map<String, T> getGemServicesById(final Class<T> type) {
-        return (Map<String, T>) loadedServices.computeIfAbsent(type, this::loadService);
+        if (type == IFeatureBranchProvider.class) {
+            applyRecoveredProviders();
+        }
+        Map<String, T> services = (Map<String, T>) loadedServices.get(type);
+        if (services == null) {
+            // locked per type, as configuring a service might require services of other types
+            synchronized (loadingLocks.computeIfAbsent(type, t -> new Object())) {
+                services = (Map<String, T>) loadedServices.get(type);
+                if (services == null) {
+                    services = loadService(type);
+                    loadedServices.put(type, services);
+                }
+            }
+        }
+        return services;
     }
 
     @Override
@@ -149,15 +217,17 @@ public class ServiceContainer implements IServiceContainer, IConfigurable {
     @SuppressWarnings({ "rawtypes", "unchecked" })
     private <T extends IGemService> Map<String, T> loadService(final Class<T> type) {
         LOGGER.info("Loading {} service(s)", type.getSimpleName());
+        final long start = System.nanoTime();
         Map<String, T> configuredServices = new TreeMap<>();
         Map<T, GemConfigurationException> misconfigured = new TreeMap<>();
         Map<IGemServiceCreator<? extends IGemService>, GemConfigurationException> misconfiguredCreators = new TreeMap<>();
+        // services are configured concurrently, but tracked in the order they are found
+        final List<T> services = new ArrayList<>();
         try {
             final Collection<ServiceReference<T>> serviceRefs =
                     Activator.getBundleContext().getServiceReferences(type, null);
             for (final ServiceReference<T> s : serviceRefs) {
-                final T service = Activator.getBundleContext().getService(s);
-                configureServiceAndTrack(service, configuredServices, misconfigured);
+                services.add(Activator.getBundleContext().getService(s));
             }
         } catch (final InvalidSyntaxException e) {
             LOGGER.error("Error loading service: " + type, e);
@@ -165,50 +235,274 @@ public class ServiceContainer implements IServiceContainer, IConfigurable {
 
         final List<IGemServiceCreator> creators = serviceCreators.getOrDefault(type,
                 Collections.emptyList());
-        for (final IGemServiceCreator<? extends IGemService> sCreator : creators) {
-            if (configureService(sCreator, misconfiguredCreators)) {
-                for (final IGemService createdService : sCreator.createServices()) {
-                    configureServiceAndTrack((T) createdService, configuredServices, misconfigured);
-                }
+        for (final IGemServiceCreator<? extends IGemService> sCreator : configureServices(
+                (List<IGemServiceCreator<? extends IGemService>>) (List) creators,
+                misconfiguredCreators)) {
+            for (final IGemService createdService : sCreator.createServices()) {
+                services.add((T) createdService);
             }
         }
+        for (final T service : configureServices(services, misconfigured)) {
+            configuredServices.put(service.getId(), service);
+        }
+        LOGGER.info("Loaded {} {} service(s) in {} ms", configuredServices.size(),
+                type.getSimpleName(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
 
         if (configuredServices.isEmpty()) {
             LOGGER.error("No {} service configured", type.getSimpleName());
         }
 
-        misconfiguredServices.put(type, misconfigured);
-        misconfiguredServiceCreators.put(type, misconfiguredCreators);
+        if (type == IFeatureBranchProvider.class) {
+            ((Map<String, IFeatureBranchProvider>) configuredServices)
+                    .replaceAll((id, provider) -> decorateFeatureBranchProvider(provider));
+        }
+
+        misconfiguredServices.put(type, Collections.unmodifiableMap(misconfigured));
+        misconfiguredServiceCreators.put(type, Collections.unmodifiableMap(misconfiguredCreators));
+
+        return Collections.unmodifiableMap(configuredServices);
+    }
+
+    private IFeatureBranchProvider decorateFeatureBranchProvider(final IFeatureBranchProvider provider) {
+        final IPreferences preferences = configuration.getPreferences();
+        final IFeatureBranchProvider guarded = new GuardedFeatureBranchProvider(provider,
+                createCircuitBreaker(provider), preferences.getProviderFetchTimeout());
+        final Duration ttl = preferences.getFeatureBranchesCacheTtl();
+        if (ttl.isZero() || ttl.isNegative()) {
+            LOGGER.debug("Feature-branches cache disabled for {}", provider.getId());
+            return guarded;
+        }
+        final CachingFeatureBranchProvider caching =
+                new CachingFeatureBranchProvider(guarded, ttl, this::notifyFeatureBranchesUpdated);
+        cachingProviders.add(caching);
+        return caching;
+    }
+
+    /**
+     * Refreshes the cached feature-branches in the background (e.g., when the repositories
+     * changed), notifying the listeners only for the ones that differ.
+     * </br>
+     * It does not load the services if they are not loaded yet.
+     */
+    /* package */ void revalidateFeatureBranches() {
+        cachingProviders.forEach(CachingFeatureBranchProvider::revalidateAll);
+    }
+
+    private CircuitBreaker createCircuitBreaker(final IFeatureBranchProvider provider) {
+        final IPreferences preferences = configuration.getPreferences();
+        return new CircuitBreaker(provider.getId(), preferences.getProviderFailureThreshold(),
+                preferences.getProviderInitialBackoff(), preferences.getProviderMaxBackoff());
+    }
+
+    /**
+     * Configures the provider, waiting at most the configuration timeout.
+     * </br>
+     * If the configuration fails or times out, it is retried in the background with backoff;
+     * once configured, the provider is added on the next access to the services.
+     */
+    private void configureFeatureBranchProvider(final IFeatureBranchProvider provider)
+            throws GemConfigurationException {
+        final Duration timeout = configuration.getPreferences().getProviderConfigTimeout();
+        if (timeout.isZero() || timeout.isNegative()) {
+            try {
+                provider.setConfig(getConfiguration());
+            } catch (final GemConfigurationException e) {
+                retryConfiguration(provider, CompletableFuture.failedFuture(e), 1, generation.get());
+                throw e;
+            }
+            return;
+        }
+        final CompletableFuture<Void> configuring = configureAsync(provider, CONFIGURATION_EXECUTOR);
+        try {
+            configuring.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            // keeps configuring in the background
+            retryConfiguration(provider, configuring, 1, generation.get());
+            throw new GemConfigurationException("Configuration timed out after " + timeout, e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GemConfigurationException("Configuration interrupted", e);
+        } catch (final ExecutionException e) {
+            retryConfiguration(provider, configuring, 1, generation.get());
+            if (e.getCause() instanceof GemConfigurationException) {
+                throw (GemConfigurationException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GemConfigurationException("Unexpected error: " + e.getCause(), e.getCause());
+        }
+    }
+
+    private CompletableFuture<Void> configureAsync(final IFeatureBranchProvider provider,
+            final Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                provider.setConfig(getConfiguration());
+            } catch (final GemConfigurationException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private void retryConfiguration(final IFeatureBranchProvider provider,
+            final CompletableFuture<Void> configuring, final int attempt, final int forGeneration) {
+        configuring.whenComplete((ignored, error) -> {
+            if (forGeneration != generation.get()) {
+                // services refreshed meanwhile
+                return;
+            }
+            if (error == null) {
+                LOGGER.info("Service {} configured in the background", provider.getId());
+                recoveredProviders.add(provider);
+                notifyFeatureBranchesUpdated(provider, null);
+                return;
+            }
+            final int maxRetries = configuration.getPreferences().getProviderConfigRetries();
+            if (attempt > maxRetries) {
+                LOGGER.warn("Service {} not configured after {} retries: refresh is required",
+                        provider.getId(), maxRetries);
+                return;
+            }
+            final IPreferences preferences = configuration.getPreferences();
+            final Duration backoff = CircuitBreaker.getBackoff(preferences.getProviderInitialBackoff(),
+                    preferences.getProviderMaxBackoff(), attempt);
+            LOGGER.info("Configuring service {} again in {}", provider.getId(), backoff);
+            retryConfiguration(provider, configureAsync(provider, CompletableFuture.delayedExecutor(
+                    backoff.toMillis(), TimeUnit.MILLISECONDS, CONFIGURATION_EXECUTOR)),
+                    attempt + 1, forGeneration);
+        });
+    }
+
+    /**
+     * Adds the providers configured in the background to the loaded services.
+     * </br>
+     * Synchronized to apply them on a single thread: the loaded and misconfigured providers
+     * are replaced by updated copies, so concurrent readers keep a consistent view.
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized void applyRecoveredProviders() {
+        IFeatureBranchProvider provider;
+        while ((provider = recoveredProviders.poll()) != null) {
+            final Map<String, IFeatureBranchProvider> providers = (Map<String, IFeatureBranchProvider>) //
+                    loadedServices.get(IFeatureBranchProvider.class);
+            // not loaded if the services were refreshed meanwhile
+            if (providers != null) {
+                final Map<IGemService, GemConfigurationException> misconfigured =
+                        new TreeMap<>(misconfiguredServices.get(IFeatureBranchProvider.class));
+                misconfigured.remove(provider);
+                final Map<String, IFeatureBranchProvider> recovered = new TreeMap<>(providers);
+                recovered.put(provider.getId(), decorateFeatureBranchProvider(provider));
+                misconfiguredServices.put(IFeatureBranchProvider.class,
+                        Collections.unmodifiableMap(misconfigured));
+                loadedServices.put(IFeatureBranchProvider.class, Collections.unmodifiableMap(recovered));
+                featureBranchProviders = null;
+                launcherRegistry.clear();
+            }
+        }
+    }
+
+    private void notifyFeatureBranchesUpdated(final IFeatureBranchProvider provider,
+            final IEnvironment environment) {
+        for (final IFeatureBranchesListener listener : featureBranchesListeners) {
+            try {
+                listener.featureBranchesUpdated(provider, environment);
+            } catch (final RuntimeException e) {
+                LOGGER.error("Error notifying updated feature-branches", e);
+            }
+        }
+    }
+
+    @Override
+    public void addFeatureBranchesListener(final IFeatureBranchesListener listener) {
+        featureBranchesListeners.add(listener);
+    }
 
-        return configuredServices;
+    @Override
+    public void removeFeatureBranchesListener(final IFeatureBranchesListener listener) {
+        featureBranchesListeners.remove(listener);
     }
 
-    private <T extends IGemService> void configureServiceAndTrack(T service, Map<String, T> configured,
-                                                                  final Map<T, GemConfigurationException> misconfigured) {
-        if (configureService(service, misconfigured)) {
-            configured.put(service.getId(), service);
+    /**
+     * Configures the services concurrently (on a bounded pool).
+     * </br>
+     * Services are tracked on the calling thread, in the order of the list.
+     * 
+     * @return configured services, in the order of the list.
+     */
+    private <T extends IGemService> List<T> configureServices(final List<T> services,
+                                                              final Map<T, GemConfigurationException> misconfigured) {
+        if (services.isEmpty()) {
+            return services;
+        }
+        // lazy state shared by the services should be loaded before configuring them
+        configuration.loadSharedState();
+        final List<CompletableFuture<GemConfigurationException>> results = new ArrayList<>(services.size());
+        for (final T service : services) {
+            LOGGER.info("Found service: {}", service.getId());
+            if (service instanceof IRefreshable) {
+                refreshableServices.add((IRefreshable) service);
+            }
+            results.add(CompletableFuture.supplyAsync(() -> configureService(service),
+                    SERVICE_CONFIGURATION_EXECUTOR));
+        }
+
+        final List<T> configured = new ArrayList<>(services.size());
+        for (int i = 0; i < services.size(); i++) {
+            final T service = services.get(i);
+            final GemConfigurationException error = joinConfiguration(results.get(i));
+            if (error == null) {
+                configured.add(service);
+            } else {
+                misconfigured.put(service, error);
+                LOGGER.error("Miss-configured service {}: ignored", service.getId());
+                LOGGER.debug("Exception", error);
+            }
         }
+        return configured;
     }
 
-    private <T extends IGemService> boolean configureService(T service,
-                                                             final Map<T, GemConfigurationException> misconfigured) {
-        LOGGER.info("Found service: {}", service.getId());
-        if (service instanceof IRefreshable) {
-            refreshableServices.add((IRefreshable) service);
+    private static GemConfigurationException joinConfiguration(
+            final CompletableFuture<GemConfigurationException> result) {
+        try {
+            return result.join();
+        } catch (final CompletionException e) {
+            // unexpected errors are propagated as if configured on the calling thread
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
+    }
+
+    /**
+     * Configures the service.
+     * 
+     * @return the configuration error; {@code null} if configured.
+     */
+    private GemConfigurationException configureService(final IGemService service) {
+        final long start = System.nanoTime();
         try {
-            service.setConfig(getConfiguration());
+            if (service instanceof IFeatureBranchProvider) {
+                configureFeatureBranchProvider((IFeatureBranchProvider) service);
+            } else {
+                service.setConfig(getConfiguration());
+            }
+            return null;
         } catch (final GemConfigurationException e) {
-            misconfigured.put(service, e);
-            LOGGER.error("Miss-configured service {}: ignored", service.getId());
-            LOGGER.debug("Exception", e);
-            return false;
+            return e;
+        } finally {
+            LOGGER.info("Service {} configuration took {} ms", service.getId(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         }
-        return true;
     }
 
     @Override
-    public void refresh() {
+    public synchronized void refresh() {
+        // ignore the providers configured in the background for the previous services
+        generation.incrementAndGet();
+        recoveredProviders.clear();
+        cachingProviders.clear();
         // refresh the services that are refreshable
         refreshableServices.forEach(IRefreshable::refresh);
         // reload the service creators
@@ -219,5 +513,6 @@ public class ServiceContainer implements IServiceContainer, IConfigurable {
         misconfiguredServices.clear();
         misconfiguredServiceCreators.clear();
         featureBranchProviders = null;
+        launcherRegistry.clear();
     }
 }
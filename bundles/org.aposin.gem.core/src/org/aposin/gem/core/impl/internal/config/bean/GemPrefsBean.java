@@ -15,6 +15,7 @@
  */
 package org.aposin.gem.core.impl.internal.config.bean;
 
+import java.time.Duration;
 import com.typesafe.config.Optional;
 
 /**
@@ -24,6 +25,16 @@ import com.typesafe.config.Optional;
 public final class GemPrefsBean {
 
     public Binaries binaries;
+    @Optional
+    public Output output = new Output();
+    @Optional
+    public Retry retry = new Retry();
+    @Optional
+    public Timeout timeout = new Timeout();
+    @Optional
+    public Cache cache = new Cache();
+    @Optional
+    public Providers providers = new Providers();
 
     public Binaries getBinaries() {
         return binaries;
@@ -33,6 +44,46 @@ public final class GemPrefsBean {
         this.binaries = binaries;
     }
 
+    public Output getOutput() {
+        return output;
+    }
+
+    public void setOutput(Output output) {
+        this.output = output;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public void setRetry(Retry retry) {
+        this.retry = retry;
+    }
+
+    public Timeout getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Timeout timeout) {
+        this.timeout = timeout;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    public Providers getProviders() {
+        return providers;
+    }
+
+    public void setProviders(Providers providers) {
+        this.providers = providers;
+    }
+
     public static class Binaries {
 
         @Optional
@@ -52,8 +103,261 @@ public final class GemPrefsBean {
         }
     }
 
+    public static class Output {
+
+        @Optional
+        public int errortailbytes = 64 * 1024;
+        @Optional
+        public int consolemaxlines = 5000;
+        @Optional
+        public boolean transcript = false;
+        @Optional
+        public boolean gitprogress = true;
+
+        public int getErrortailbytes() {
+            return errortailbytes;
+        }
+
+        public void setErrortailbytes(int errortailbytes) {
+            this.errortailbytes = errortailbytes;
+        }
+
+        public int getConsolemaxlines() {
+            return consolemaxlines;
+        }
+
+        public void setConsolemaxlines(int consolemaxlines) {
+            this.consolemaxlines = consolemaxlines;
+        }
+
+        public boolean getTranscript() {
+            return transcript;
+        }
+
+        public void setTranscript(boolean transcript) {
+            this.transcript = transcript;
+        }
+
+        public boolean getGitprogress() {
+            return gitprogress;
+        }
+
+        public void setGitprogress(boolean gitprogress) {
+            this.gitprogress = gitprogress;
+        }
+
+        @Override
+        public String toString() {
+            return "Output [errortailbytes=" + errortailbytes + ", consolemaxlines="
+                    + consolemaxlines + ", transcript=" + transcript + ", gitprogress="
+                    + gitprogress + "]";
+        }
+    }
+
+    public static class Retry {
+
+        @Optional
+        public int maxattempts = 3;
+        @Optional
+        public Duration initialdelay = Duration.ofSeconds(2);
+        @Optional
+        public Duration maxdelay = Duration.ofSeconds(30);
+
+        public int getMaxattempts() {
+            return maxattempts;
+        }
+
+        public void setMaxattempts(int maxattempts) {
+            this.maxattempts = maxattempts;
+        }
+
+        public Duration getInitialdelay() {
+            return initialdelay;
+        }
+
+        public void setInitialdelay(Duration initialdelay) {
+            this.initialdelay = initialdelay;
+        }
+
+        public Duration getMaxdelay() {
+            return maxdelay;
+        }
+
+        public void setMaxdelay(Duration maxdelay) {
+            this.maxdelay = maxdelay;
+        }
+
+        @Override
+        public String toString() {
+            return "Retry [maxattempts=" + maxattempts + ", initialdelay=" + initialdelay
+                    + ", maxdelay=" + maxdelay + "]";
+        }
+    }
+
+    public static class Timeout {
+
+        @Optional
+        public Duration query = Duration.ofMinutes(2);
+        @Optional
+        public Duration fetch = Duration.ofMinutes(30);
+        @Optional
+        public Duration clone = Duration.ofHours(2);
+        @Optional
+        public Duration merge = Duration.ofMinutes(30);
+        @Optional
+        public Duration nooutput = Duration.ofMinutes(5);
+        @Optional
+        public boolean killnooutput = false;
+
+        public Duration getQuery() {
+            return query;
+        }
+
+        public void setQuery(Duration query) {
+            this.query = query;
+        }
+
+        public Duration getFetch() {
+            return fetch;
+        }
+
+        public void setFetch(Duration fetch) {
+            this.fetch = fetch;
+        }
+
+        public Duration getClone() {
+            return clone;
+        }
+
+        public void setClone(Duration clone) {
+            this.clone = clone;
+        }
+
+        public Duration getMerge() {
+            return merge;
+        }
+
+        public void setMerge(Duration merge) {
+            this.merge = merge;
+        }
+
+        public Duration getNooutput() {
+            return nooutput;
+        }
+
+        public void setNooutput(Duration nooutput) {
+            this.nooutput = nooutput;
+        }
+
+        public boolean getKillnooutput() {
+            return killnooutput;
+        }
+
+        public void setKillnooutput(boolean killnooutput) {
+            this.killnooutput = killnooutput;
+        }
+
+        @Override
+        public String toString() {
+            return "Timeout [query=" + query + ", fetch=" + fetch + ", clone=" + clone + ", merge="
+                    + merge + ", nooutput=" + nooutput + ", killnooutput=" + killnooutput + "]";
+        }
+    }
+
+    public static class Cache {
+
+        @Optional
+        public Duration featurebranches = Duration.ofMinutes(5);
+
+        public Duration getFeaturebranches() {
+            return featurebranches;
+        }
+
+        public void setFeaturebranches(Duration featurebranches) {
+            this.featurebranches = featurebranches;
+        }
+
+        @Override
+        public String toString() {
+            return "Cache [featurebranches=" + featurebranches + "]";
+        }
+    }
+
+    public static class Providers {
+
+        @Optional
+        public Duration configtimeout = Duration.ofSeconds(20);
+        @Optional
+        public Duration fetchtimeout = Duration.ofMinutes(1);
+        @Optional
+        public int failurethreshold = 3;
+        @Optional
+        public Duration initialbackoff = Duration.ofSeconds(10);
+        @Optional
+        public Duration maxbackoff = Duration.ofMinutes(5);
+        @Optional
+        public int configretries = 5;
+
+        public Duration getConfigtimeout() {
+            return configtimeout;
+        }
+
+        public void setConfigtimeout(Duration configtimeout) {
+            this.configtimeout = configtimeout;
+        }
+
+        public Duration getFetchtimeout() {
+            return fetchtimeout;
+        }
+
+        public void setFetchtimeout(Duration fetchtimeout) {
+            this.fetchtimeout = fetchtimeout;
+        }
+
+        public int getFailurethreshold() {
+            return failurethreshold;
+        }
+
+        public void setFailurethreshold(int failurethreshold) {
+            this.failurethreshold = failurethreshold;
+        }
+
+        public Duration getInitialbackoff() {
+            return initialbackoff;
+        }
+
+        public void setInitialbackoff(Duration initialbackoff) {
+            this.initialbackoff = initialbackoff;
+        }
+
+        public Duration getMaxbackoff() {
+            return maxbackoff;
+        }
+
+        public void setMaxbackoff(Duration maxbackoff) {
+            this.maxbackoff = maxbackoff;
+        }
+
+        public int getConfigretries() {
+            return configretries;
+        }
+
+        public void setConfigretries(int configretries) {
+            this.configretries = configretries;
+        }
+
+        @Override
+        public String toString() {
+            return "Providers [configtimeout=" + configtimeout + ", fetchtimeout=" + fetchtimeout
+                    + ", failurethreshold=" + failurethreshold + ", initialbackoff="
+                    + initialbackoff + ", maxbackoff=" + maxbackoff + ", configretries="
+                    + configretries + "]";
+        }
+    }
+
     @Override
     public String toString() {
-        return "GemPrefsBean [binaries=" + binaries + "]";
+        return "GemPrefsBean [binaries=" + binaries + ", output=" + output + ", retry=" + retry
+                + ", timeout=" + timeout + ", cache=" + cache + ", providers=" + providers + "]";
     }
 }
@@ -17,6 +17,7 @@ package org.aposin.gem.core.impl.internal.config.prefs;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 
 import org.aposin.gem.core.api.IRefreshable;
 import org.aposin.gem.core.api.config.ConfigConstants;
@@ -64,6 +65,102 @@ public class PreferencesImpl implements IPreferences, IRefreshable {
         getPrefsBean().binaries.git = binary.toAbsolutePath().toString();
     }
 
+    @Override
+    public int getErrorTailBytes() {
+        return getPrefsBean().output.errortailbytes;
+    }
+
+    @Override
+    public int getConsoleMaxLines() {
+        return getPrefsBean().output.consolemaxlines;
+    }
+
+    @Override
+    public boolean isTranscriptEnabled() {
+        return getPrefsBean().output.transcript;
+    }
+
+    @Override
+    public boolean isGitProgressEnabled() {
+        return getPrefsBean().output.gitprogress;
+    }
+
+    @Override
+    public int getRetryMaxAttempts() {
+        return getPrefsBean().retry.maxattempts;
+    }
+
+    @Override
+    public Duration getRetryInitialDelay() {
+        return getPrefsBean().retry.initialdelay;
+    }
+
+    @Override
+    public Duration getRetryMaxDelay() {
+        return getPrefsBean().retry.maxdelay;
+    }
+
+    @Override
+    public Duration getCommandTimeout(final TimeoutCategory category) {
+        switch (category) {
+            case QUERY:
+                return getPrefsBean().timeout.query;
+            case FETCH:
+                return getPrefsBean().timeout.fetch;
+            case CLONE:
+                return getPrefsBean().timeout.clone;
+            case MERGE:
+                return getPrefsBean().timeout.merge;
+            default:
+                throw new IllegalArgumentException("Unknown category: " + category);
+        }
+    }
+
+    @Override
+    public Duration getNoOutputTimeout() {
+        return getPrefsBean().timeout.nooutput;
+    }
+
+    @Override
+    public boolean isKillOnNoOutput() {
+        return getPrefsBean().timeout.killnooutput;
+    }
+
+    @Override
+    public Duration getFeatureBranchesCacheTtl() {
+        return getPrefsBean().cache.featurebranches;
+    }
+
+    @Override
+    public Duration getProviderConfigTimeout() {
+        return getPrefsBean().providers.configtimeout;
+    }
+
+    @Override
+    public Duration getProviderFetchTimeout() {
+        return getPrefsBean().providers.fetchtimeout;
+    }
+
+    @Override
+    public int getProviderFailureThreshold() {
+        return getPrefsBean().providers.failurethreshold;
+    }
+
+    @Override
+    public Duration getProviderInitialBackoff() {
+        return getPrefsBean().providers.initialbackoff;
+    }
+
+    @Override
+    public Duration getProviderMaxBackoff() {
+        return getPrefsBean().providers.maxbackoff;
+    }
+
+    @Override
+    public int getProviderConfigRetries() {
+        return getPrefsBean().providers.configretries;
+    }
+
     @Override
     public Path getPreferencesPath() {
         return hoconFileManager.getConfigFileProvider().getPrefFile();
@@ -74,6 +171,14 @@ public class PreferencesImpl implements IPreferences, IRefreshable {
         hoconFileManager.persistPrefs();
     }
 
+    /**
+     * Loads the preferences if they are not loaded yet (e.g., before they are accessed
+     * concurrently).
+     */
+    public void load() {
+        getPrefsBean();
+    }
+
     private GemPrefsBean getPrefsBean() {
         if (prefsBean == null) {
             prefsBean = hoconFileManager.getPreferenceBean(ConfigConstants.GEM_PREFERENCES_ID, GemPrefsBean.class);
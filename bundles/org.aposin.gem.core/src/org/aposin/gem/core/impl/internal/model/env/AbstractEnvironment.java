@@ -17,6 +17,7 @@ package org.aposin.gem.core.impl.internal.model.env;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.aposin.gem.core.api.config.IConfiguration;
@@ -24,12 +25,18 @@ import org.aposin.gem.core.api.model.IEnvironment;
 import org.aposin.gem.core.api.model.IProject;
 import org.aposin.gem.core.api.model.IRepository;
 import org.aposin.gem.core.api.model.IWorktreeDefinition;
+import org.aposin.gem.core.impl.internal.workflow.WorkflowStateSnapshot;
 
 abstract class AbstractEnvironment implements IEnvironment {
 
     private final IConfiguration config;
     private final IProject project;
 
+    // memoized values (environments are re-created when the configuration is refreshed)
+    private volatile Path worktreesBaseLocation;
+    // worktrees are re-created by the repositories when refreshed: kept for a state generation
+    private volatile GenerationWorktrees worktrees;
+
     /**
      * 
      * @param config
@@ -57,8 +64,37 @@ abstract class AbstractEnvironment implements IEnvironment {
         return project;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final Path getWorktreesBaseLocation() {
+        if (worktreesBaseLocation == null) {
+            worktreesBaseLocation = IEnvironment.super.getWorktreesBaseLocation();
+        }
+        return worktreesBaseLocation;
+    }
+
+    /**
+     * {@inheritDoc}
+     * </br>
+     * The returned list is unmodifiable and shared until the state of the repositories
+     * changes (see {@link WorkflowStateSnapshot#getGeneration()}).
+     */
     @Override
     public final List<IWorktreeDefinition> getEnvironmentWorktrees() {
+        // read the generation before, to be outdated if it changes while computing
+        final long generation = WorkflowStateSnapshot.getGeneration();
+        GenerationWorktrees current = worktrees;
+        if (current == null || current.generation != generation) {
+            // list and generation published together
+            current = new GenerationWorktrees(generation, computeEnvironmentWorktrees());
+            worktrees = current;
+        }
+        return current.worktrees;
+    }
+
+    private List<IWorktreeDefinition> computeEnvironmentWorktrees() {
         final List<IRepository> repositories = getRepositories();
         final List<IWorktreeDefinition> worktrees = new ArrayList<>(repositories.size());
         for (final IRepository repo : repositories) {
@@ -67,7 +103,19 @@ abstract class AbstractEnvironment implements IEnvironment {
                     this::getGemInternalBranchName); // work-tree is in the internal branch
             worktrees.add(worktree);
         }
-        return worktrees;
+        return Collections.unmodifiableList(worktrees);
+    }
+
+    private static final class GenerationWorktrees {
+
+        private final long generation;
+        private final List<IWorktreeDefinition> worktrees;
+
+        private GenerationWorktrees(final long generation,
+                final List<IWorktreeDefinition> worktrees) {
+            this.generation = generation;
+            this.worktrees = worktrees;
+        }
     }
 
 }
@@ -15,10 +15,11 @@
  */
 package org.aposin.gem.core.impl.internal.model.env;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.aposin.gem.core.api.config.IConfiguration;
 import org.aposin.gem.core.api.model.IEnvironment;
@@ -37,6 +38,10 @@ public final class EnvironmentImpl extends AbstractEnvironment {
 
     private IEnvironmentWorkflow workflow;
 
+    // resolved once from the bean (the environment is re-created on configuration refresh)
+    private volatile Map<IRepository, String> branchByRepository;
+    private volatile List<IRepository> repositories;
+
     /**
      * 
      * @param config
@@ -67,24 +72,33 @@ public final class EnvironmentImpl extends AbstractEnvironment {
 
     /**
      * {@inheritDoc}
+     * </br>
+     * The returned list is unmodifiable.
      */
     @Override
     public List<IRepository> getRepositories() {
-        return environment.branches.keySet().stream() //
-                .map(getConfiguration()::getRepository)//
-                .collect(Collectors.toList());
+        if (repositories == null) {
+            repositories = Collections.unmodifiableList(new ArrayList<>(getEnvironmentBranchByRepository().keySet()));
+        }
+        return repositories;
     }
 
     /**
      * {@inheritDoc}
+     * </br>
+     * The returned map is unmodifiable.
      */
     @Override
     public Map<IRepository, String> getEnvironmentBranchByRepository() {
-        final Map<IRepository, String> repoInfo = new HashMap<>(environment.branches.size());
-        for (final Map.Entry<String, Object> branchDef : environment.branches.entrySet()) {
-            repoInfo.put(getConfiguration().getRepository(branchDef.getKey()), (String) branchDef.getValue());
+        if (branchByRepository == null) {
+            // linked to keep the order of the configuration
+            final Map<IRepository, String> repoInfo = new LinkedHashMap<>(environment.branches.size());
+            for (final Map.Entry<String, Object> branchDef : environment.branches.entrySet()) {
+                repoInfo.put(getConfiguration().getRepository(branchDef.getKey()), (String) branchDef.getValue());
+            }
+            branchByRepository = Collections.unmodifiableMap(repoInfo);
         }
-        return repoInfo;
+        return branchByRepository;
     }
 
     /**
@@ -15,7 +15,6 @@
  */
 package org.aposin.gem.core.impl.internal.model.env;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -41,7 +40,7 @@ public class ObsoleteKnownEnvironment extends AbstractEnvironment {
         super(config, project);
         this.projectInternalBranchPrefix = projectInternalBranchPrefix;
         this.gemInternalBranchName = gemInternalBranchName;
-        this.repos = new ArrayList<>(repos);
+        this.repos = List.copyOf(repos);
     }
 
     @Override
@@ -23,10 +23,15 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.aposin.gem.core.Activator;
+import org.aposin.gem.core.api.INamedObject;
+import org.aposin.gem.core.api.config.prefs.IPreferences;
+import org.aposin.gem.core.api.config.prefs.IPreferences.TimeoutCategory;
 import org.aposin.gem.core.api.model.ILocalRepositoryDef;
 import org.aposin.gem.core.api.model.IRepository;
 import org.aposin.gem.core.api.model.RepositoryException;
@@ -38,11 +43,15 @@ import org.aposin.gem.core.api.workflow.IRepositoryCommandBuilder;
 import org.aposin.gem.core.api.workflow.exception.MergeConflictException;
 import org.aposin.gem.core.impl.internal.util.CProcessExecutor;
 import org.aposin.gem.core.impl.internal.util.GitConstants;
+import org.aposin.gem.core.impl.internal.workflow.WorkflowStateSnapshot;
 import org.aposin.gem.core.impl.internal.workflow.command.CallableCommand;
 import org.aposin.gem.core.impl.internal.workflow.command.CallableCommand.CallableResult;
+import org.aposin.gem.core.impl.internal.workflow.command.GitProgressOutputStream;
 import org.aposin.gem.core.impl.internal.workflow.command.NoOpCommand;
 import org.aposin.gem.core.impl.internal.workflow.command.ProcessCommand;
 import org.aposin.gem.core.impl.internal.workflow.command.ResultBuilder;
+import org.aposin.gem.core.impl.internal.workflow.command.RetryCommand;
+import org.aposin.gem.core.impl.internal.workflow.command.RetryPolicy;
 import org.aposin.gem.core.utils.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,9 +73,14 @@ public abstract class AbstractGitRepository
     private static final String MERGE_COMMAND = "merge";
     
     private static final String PRUNE_FLAG = "--prune";
+    private static final String PROGRESS_FLAG = "--progress";
+
+    private static final GitNetworkErrorClassifier NETWORK_ERROR_CLASSIFIER =
+            new GitNetworkErrorClassifier();
 
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
-    private String branch = null;
+    // volatile as it is read/invalidated from background threads
+    private volatile String branch = null;
 
     /**
      * Checks if a git-command could be made
@@ -217,6 +231,7 @@ public abstract class AbstractGitRepository
     public final void refresh() {
         branch = null;
         refreshBranches();
+        WorkflowStateSnapshot.invalidateAll();
     }
 
     ///////////////////////////////////////
@@ -232,6 +247,7 @@ public abstract class AbstractGitRepository
                         gitBinaryString(), "clone", //
                         getRepository().getUrl(), // <remote>
                         getRepository().getDestinationLocation().toString()); // <location>
+        withProgress(executor);
         // add listener to refresh after cloning
         executor.addListener(new ProcessListener() {
             @Override
@@ -241,7 +257,7 @@ public abstract class AbstractGitRepository
         });
 
         // the command-scope is the repository
-        return new ProcessCommand(getRepository(), executor);
+        return withRetry(newProcessCommand(getRepository(), TimeoutCategory.CLONE, executor));
     }
 
     @Override
@@ -336,7 +352,7 @@ public abstract class AbstractGitRepository
         });
 
         // the command-scope is the repository
-        return new ProcessCommand(getRepository(), executor);
+        return newProcessCommand(getRepository(), TimeoutCategory.MERGE, executor);
     }
 
     @Override
@@ -354,7 +370,7 @@ public abstract class AbstractGitRepository
             }
         });
 
-        return new ProcessCommand(getRepository(), executor);
+        return newProcessCommand(getRepository(), TimeoutCategory.MERGE, executor);
     }
 
     /**
@@ -382,17 +398,19 @@ public abstract class AbstractGitRepository
             checkoutCommand.command(gitBinaryString(), CHECKOUT_COMMAND, //
                     "-b", targetBranch, baseBranch);
         }
+        withProgress(checkoutCommand);
         // command-scope is the repo/worktree where this is called
-        return new ProcessCommand(this, checkoutCommand);
+        return newProcessCommand(this, TimeoutCategory.MERGE, checkoutCommand);
     }
 
     @Override
     public final ICommand buildPullCommand() {
         // always use fast-forward (--ff) for merging if possible
         // and also default message (--no-edit) to avoid promt
-        return withMergeConflictsException(
-                new ProcessCommand(this, newProcessExecutorOn(getDestinationLocation())//
-                        .command(gitBinaryString(), "pull", PRUNE_FLAG, "--no-edit", "--ff")));
+        return withRetry(withMergeConflictsException(
+                newProcessCommand(this, TimeoutCategory.FETCH,
+                        withProgress(newProcessExecutorOn(getDestinationLocation())//
+                                .command(gitBinaryString(), "pull", PRUNE_FLAG, "--no-edit", "--ff")))));
     }
 
     @Override
@@ -400,7 +418,7 @@ public abstract class AbstractGitRepository
         // always use fast-forward (--ff) for merging if possible
         // and also default message (--no-edit) to avoid promt
         return withMergeConflictsException(
-                new ProcessCommand(this, newProcessExecutorOn(getDestinationLocation())//
+                newProcessCommand(this, TimeoutCategory.MERGE, newProcessExecutorOn(getDestinationLocation())//
                         .command(gitBinaryString(), MERGE_COMMAND, "--no-edit", "--ff", branch)));
     }
 
@@ -411,7 +429,7 @@ public abstract class AbstractGitRepository
 
         // the "-c core.editor=true" configuration is important to avoid
         // editor prompting for message (same as "--no-edit" for "merge --continue"
-        return withMergeConflictsException(new ProcessCommand(this,
+        return withMergeConflictsException(newProcessCommand(this, TimeoutCategory.MERGE,
                 newProcessExecutorOn(getDestinationLocation()) //
                         .command(gitBinaryString(), "-c", "core.editor=true", MERGE_COMMAND,
                                 "--continue")));
@@ -432,7 +450,7 @@ public abstract class AbstractGitRepository
     @Override
     public ICommand buildAbortMergeCommand() {
         // this is only in case of failure
-        return new ProcessCommand(this, newProcessExecutorOn(getDestinationLocation())
+        return newProcessCommand(this, TimeoutCategory.MERGE, newProcessExecutorOn(getDestinationLocation())
                 .command(gitBinaryString(), MERGE_COMMAND, "--abort"));
     }
 
@@ -448,6 +466,7 @@ public abstract class AbstractGitRepository
                     targetBranch + ":" + targetBranch);
 
         }
+        withProgress(executor);
 
         executor.addListener(new ProcessListener() {
             @Override
@@ -457,7 +476,7 @@ public abstract class AbstractGitRepository
         });
 
         // command-scope is the repo/worktree where this is called
-        return new ProcessCommand(this, executor);
+        return withRetry(newProcessCommand(this, TimeoutCategory.FETCH, executor));
     }
 
     /**
@@ -470,7 +489,7 @@ public abstract class AbstractGitRepository
                 GitConstants.ORIGIN, PRUNE_FLAG, // prune to keep a clean and sane number of branches
                 // + symbol indicates update the refs and do not fail on non-fast-forwar
                 "+refs/heads/" + branchPattern + ":" + "refs/remotes/origin/" + branchPattern);
-
+        withProgress(executor);
 
         executor.addListener(new ProcessListener() {
             @Override
@@ -480,7 +499,7 @@ public abstract class AbstractGitRepository
             }
         });
 
-        return new ProcessCommand(this, executor);
+        return withRetry(newProcessCommand(this, TimeoutCategory.FETCH, executor));
     }
 
     /**
@@ -500,7 +519,7 @@ public abstract class AbstractGitRepository
         } else {
             executor = getPushSettingUpstreamExecutor(currentBranch);
         }
-        return new ProcessCommand(this, executor);
+        return withRetry(newProcessCommand(this, TimeoutCategory.FETCH, executor));
     }
 
     private ProcessExecutor getPushSettingUpstreamExecutor(final String branch) {
@@ -531,7 +550,7 @@ public abstract class AbstractGitRepository
                 removeBranch(GitConstants.ORIGIN + "/" + branchName);
             }
         });
-        return new ProcessCommand(this, executor);
+        return newProcessCommand(this, TimeoutCategory.MERGE, executor);
     }
 
     @Override
@@ -544,7 +563,7 @@ public abstract class AbstractGitRepository
         executor.exitValueAny();
         // use checkout instead of restore, as restore is experimental
         executor.command(gitBinaryString(), CHECKOUT_COMMAND, "--", ".");
-        return new ProcessCommand(this, executor);
+        return newProcessCommand(this, TimeoutCategory.MERGE, executor);
     }
     
     private ICommand buildCleanUntracked() {
@@ -553,7 +572,7 @@ public abstract class AbstractGitRepository
         // git clean --force -d to delete untracked files (recursively with -d)
         // not using -x, as ignored files shouldn't be removed
         executor.command(gitBinaryString(), "clean", "--force", "-d");
-        return new ProcessCommand(this, executor);
+        return newProcessCommand(this, TimeoutCategory.MERGE, executor);
     }
     
     //////////////////////////
@@ -602,6 +621,12 @@ public abstract class AbstractGitRepository
                 .readOutput(readOutput) //
                 .exitValues(exitValues) //
                 .command(cmd);
+        final Duration timeout = getConfiguration().getPreferences()
+                .getCommandTimeout(TimeoutCategory.QUERY);
+        if (!timeout.isZero()) {
+            // the process is destroyed if it does not finish in time
+            exec.timeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
         if (listener != null) {
             exec.addListener(listener);
         }
@@ -638,4 +663,64 @@ public abstract class AbstractGitRepository
         return newDefaultProcessExecutor().directory(path.toFile());
     }
 
+    /**
+     * Utility method to add the {@code --progress} flag after the git sub-command
+     * if enabled on the preferences.
+     * </br>
+     * Should be called after setting the command on the executor.
+     * 
+     * @param executor executor with the git command already set.
+     * @return same executor.
+     */
+    private ProcessExecutor withProgress(final ProcessExecutor executor) {
+        if (getConfiguration().getPreferences().isGitProgressEnabled()) {
+            final List<String> cmd = new ArrayList<>(executor.getCommand());
+            // <git> <sub-command> --progress <args>
+            cmd.add(2, PROGRESS_FLAG);
+            executor.command(cmd);
+            // progress is printed on the std-error: do not log each update as an error,
+            // but keep logging the rest of the lines (e.g., "fatal: ...") as errors
+            executor.redirectError(new GitProgressOutputStream(
+                    (phase, completed, total) -> logger.trace("{}: {}/{}", phase.getLabel(),
+                            completed, total),
+                    logger::error));
+        }
+        return executor;
+    }
+
+    /**
+     * Utility method to create a {@link ProcessCommand} configured with the preferences
+     * (e.g., output retention).
+     * 
+     * @param commandScope scope for the command.
+     * @param category category for the command timeout.
+     * @param executor executor created with {@link #newDefaultProcessExecutor()}.
+     * @return new command.
+     */
+    private ProcessCommand newProcessCommand(final INamedObject commandScope,
+            final TimeoutCategory category, final ProcessExecutor executor) {
+        return new ProcessCommand(commandScope, executor, getConfiguration(), category);
+    }
+
+    /**
+     * Utility method to wrap a network-bound command to be retried on transient
+     * network errors, with the limits and backoff configured on the preferences.
+     * 
+     * @param cmd command to retry.
+     * @return the same command if retries are disabled; the retry command otherwise.
+     */
+    private ICommand withRetry(final ProcessCommand cmd) {
+        final IPreferences prefs = getConfiguration().getPreferences();
+        if (prefs.getRetryMaxAttempts() <= 1) {
+            return cmd;
+        }
+        final RetryPolicy policy = new RetryPolicy.Builder() //
+                .maxAttempts(prefs.getRetryMaxAttempts()) //
+                .initialDelay(prefs.getRetryInitialDelay()) //
+                .maxDelay(prefs.getRetryMaxDelay()) //
+                .retryOn(NETWORK_ERROR_CLASSIFIER) //
+                .build();
+        return new RetryCommand(cmd, policy);
+    }
+
 }
@@ -0,0 +1,73 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.model.repo;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import org.aposin.gem.core.api.workflow.ICommand.IResult;
+import org.aposin.gem.core.api.workflow.exception.MergeConflictException;
+import org.zeroturnaround.exec.InvalidExitValueException;
+
+/**
+ * Classifier for failed git commands which could be retried.
+ * </br>
+ * Only transient network errors (e.g., connection reset, DNS lookup or server errors)
+ * are considered retryable; authentication, merge-conflicts or cancellation are not.
+ */
+final class GitNetworkErrorClassifier implements Predicate<IResult> {
+
+    /**
+     * Exit value used by git for fatal errors (including the network ones).
+     */
+    private static final int GIT_FATAL_EXIT_VALUE = 128;
+
+    private static final Pattern TRANSIENT_ERROR_PATTERN = Pattern.compile(String.join("|", //
+            "Could not resolve host", //
+            "Connection timed out", //
+            "Connection reset", //
+            "Connection refused", //
+            "Operation timed out", //
+            "Failed to connect", //
+            "remote end hung up unexpectedly", //
+            "early EOF", //
+            "RPC failed", //
+            "index-pack failed", //
+            "gnutls_handshake", //
+            "returned error: 5\\d\\d", //
+            "ssh: connect to host"), //
+            Pattern.CASE_INSENSITIVE);
+
+    @Override
+    public boolean test(final IResult result) {
+        Integer exitValue = null;
+        for (Throwable t = result.getException(); t != null; t = t.getCause()) {
+            if (t instanceof MergeConflictException || t instanceof CancellationException) {
+                return false;
+            }
+            if (t instanceof InvalidExitValueException) {
+                exitValue = ((InvalidExitValueException) t).getExitValue();
+            }
+        }
+        if (exitValue == null || exitValue != GIT_FATAL_EXIT_VALUE) {
+            return false;
+        }
+        // the error message includes the tail of the std-error
+        final String errorMessage = result.getErrorMessage();
+        return errorMessage != null && TRANSIENT_ERROR_PATTERN.matcher(errorMessage).find();
+    }
+
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.model.repo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Snapshot of the repository model (branches and added worktrees), stored on the resources
+ * directory to warm-start the next session.
+ * </br>
+ * The snapshot is binary: a header with the format version, followed by an entry per
+ * repository with its ID and URL, the branches and the added worktrees (location and branch).
+ * Entries are only seeded if the repository URL did not change; the seeded data is stale
+ * until the repository is {@link RepositoryImpl#revalidate() revalidated}.
+ * </br>
+ * Errors reading or writing the snapshot are logged and never fail the caller.
+ */
+public final class ModelSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModelSnapshot.class);
+
+    private static final String SNAPSHOT_FILE_NAME = ".model.snapshot";
+    private static final int MAGIC = 0x47454D53;
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path snapshotFile;
+
+    private ModelSnapshot(final Path snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Gets the snapshot for the resources directory.
+     * 
+     * @param resourcesDirectory resources directory.
+     * @return the snapshot.
+     */
+    public static ModelSnapshot forResourcesDirectory(final Path resourcesDirectory) {
+        return new ModelSnapshot(resourcesDirectory.toAbsolutePath().resolve(SNAPSHOT_FILE_NAME));
+    }
+
+    /**
+     * Seeds the repositories with the stored snapshot, if any.
+     * 
+     * @param repositories repositories to seed.
+     * @return seeded repositories.
+     */
+    public List<RepositoryImpl> seed(final Collection<RepositoryImpl> repositories) {
+        if (!Files.exists(snapshotFile)) {
+            return List.of();
+        }
+        final Map<String, Entry> entries;
+        try {
+            entries = read();
+        } catch (final IOException e) {
+            LOGGER.warn("Ignoring unreadable model snapshot {}", snapshotFile);
+            LOGGER.debug("Exception", e);
+            return List.of();
+        }
+        final List<RepositoryImpl> seeded = new ArrayList<>(entries.size());
+        for (final RepositoryImpl repository : repositories) {
+            final Entry entry = entries.get(repository.getId());
+            // ignore if the repository changed on the configuration
+            if (entry != null && entry.url.equals(repository.getUrl())) {
+                repository.seed(entry.branches, entry.worktrees);
+                seeded.add(repository);
+            }
+        }
+        return seeded;
+    }
+
+    /**
+     * Stores the loaded data of the repositories, replacing the previous snapshot.
+     * </br>
+     * Repositories without loaded branches nor worktrees are not stored.
+     * 
+     * @param repositories repositories to store.
+     */
+    public synchronized void save(final Collection<RepositoryImpl> repositories) {
+        final List<Entry> entries = new ArrayList<>(repositories.size());
+        for (final RepositoryImpl repository : repositories) {
+            final Set<String> branches = repository.getLoadedBranches();
+            final Map<Path, String> worktrees = repository.getLoadedWorktrees();
+            if (worktrees != null) {
+                // worktrees without known branch are not stored
+                worktrees.values().removeIf(Objects::isNull);
+            }
+            if (branches != null || worktrees != null) {
+                entries.add(new Entry(repository.getId(), repository.getUrl(),
+                        branches == null ? List.of() : branches,
+                        worktrees == null ? Map.of() : worktrees));
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            write(entries);
+            LOGGER.debug("Model snapshot stored for {} repositories", entries.size());
+        } catch (final IOException e) {
+            LOGGER.warn("Error storing the model snapshot {}", snapshotFile);
+            LOGGER.debug("Exception", e);
+        }
+    }
+
+    private Map<String, Entry> read() throws IOException {
+        try (final DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported model snapshot format");
+            }
+            final int size = in.readInt();
+            final Map<String, Entry> entries = new HashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                final String id = in.readUTF();
+                final String url = in.readUTF();
+                final int branchCount = in.readInt();
+                final List<String> branches = new ArrayList<>(branchCount);
+                for (int j = 0; j < branchCount; j++) {
+                    branches.add(in.readUTF());
+                }
+                final int worktreeCount = in.readInt();
+                final Map<Path, String> worktrees = new LinkedHashMap<>(worktreeCount);
+                for (int j = 0; j < worktreeCount; j++) {
+                    worktrees.put(Paths.get(in.readUTF()), in.readUTF());
+                }
+                entries.put(id, new Entry(id, url, branches, worktrees));
+            }
+            return entries;
+        }
+    }
+
+    private void write(final List<Entry> entries) throws IOException {
+        // write to a temp file and replace, to never leave a partial snapshot
+        final Path tmpFile = snapshotFile.resolveSibling(SNAPSHOT_FILE_NAME + ".tmp");
+        Files.createDirectories(snapshotFile.getParent());
+        try (final DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(entries.size());
+            for (final Entry entry : entries) {
+                out.writeUTF(entry.id);
+                out.writeUTF(entry.url);
+                out.writeInt(entry.branches.size());
+                for (final String branch : entry.branches) {
+                    out.writeUTF(branch);
+                }
+                out.writeInt(entry.worktrees.size());
+                for (final Map.Entry<Path, String> worktree : entry.worktrees.entrySet()) {
+                    out.writeUTF(worktree.getKey().toString());
+                    out.writeUTF(worktree.getValue());
+                }
+            }
+        }
+        Files.move(tmpFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static final class Entry {
+
+        private final String id;
+        private final String url;
+        private final Collection<String> branches;
+        private final Map<Path, String> worktrees;
+
+        private Entry(final String id, final String url, final Collection<String> branches,
+                final Map<Path, String> worktrees) {
+            this.id = id;
+            this.url = url;
+            this.branches = branches;
+            this.worktrees = worktrees;
+        }
+    }
+}
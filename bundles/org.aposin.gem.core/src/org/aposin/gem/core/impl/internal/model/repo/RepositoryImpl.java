@@ -21,7 +21,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +50,7 @@ public class RepositoryImpl extends AbstractGitRepository implements IRepository
     private final RepositoryBean repoBean;
 
     // cached data that could be refreshed
+    // guarded by this (git checks run concurrently from background threads)
     private Set<String> branches = null;
     private Set<WorktreeRepoDefImpl> worktrees = null;
     private Map<Path, WorktreeRepoDefImpl> worktreesByPath = new HashMap<>();
@@ -115,30 +118,33 @@ public class RepositoryImpl extends AbstractGitRepository implements IRepository
     public synchronized List<String> getBranches() throws RepositoryException {
         checkRunRequirements();
         if (branches == null) {
-            // git for-each-ref --format='%(refname:short)'
-            // only refs/heads and refs/remotes to avoid tags
-            final ProcessResult output = runGitCommand(true, "for-each-ref",
-                    "--format=%(refname:short)", "refs/heads", "refs/remotes");
-            if (output == null || output.getExitValue() != 0) {
-                logger.warn("Error running for-each-ref process. Not branches fetched by the repo");
-                branches = new TreeSet<>();
-            } else {
-                branches = output.getOutput().getLines().stream()//
-                        // filter out the origin/HEAD
-                        .filter(s -> !s.endsWith(GitConstants.ORIGIN + "/HEAD")) //
-                        .collect(Collectors.toCollection(TreeSet::new));
-            }
+            branches = runBranchList();
         }
         return List.copyOf(branches);
     }
 
+    private Set<String> runBranchList() {
+        // git for-each-ref --format='%(refname:short)'
+        // only refs/heads and refs/remotes to avoid tags
+        final ProcessResult output = runGitCommand(true, "for-each-ref",
+                "--format=%(refname:short)", "refs/heads", "refs/remotes");
+        if (output == null || output.getExitValue() != 0) {
+            logger.warn("Error running for-each-ref process. Not branches fetched by the repo");
+            return new TreeSet<>();
+        }
+        return output.getOutput().getLines().stream()//
+                // filter out the origin/HEAD
+                .filter(s -> !s.endsWith(GitConstants.ORIGIN + "/HEAD")) //
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
     @Override
-    public List<IWorktreeDefinition> getWorktrees() throws RepositoryException {
+    public synchronized List<IWorktreeDefinition> getWorktrees() throws RepositoryException {
         loadWorktrees();
         return List.copyOf(worktreesByPath.values());
     }
 
-    private void loadWorktrees() throws RepositoryException {
+    private synchronized void loadWorktrees() throws RepositoryException {
         checkRunRequirements();
         if (worktrees == null) {
             worktrees = runWorktreeList();
@@ -150,18 +156,20 @@ public class RepositoryImpl extends AbstractGitRepository implements IRepository
     }
 
     /**
-     * Gets the worktrees that are considered added to the repository.
+     * Checks if the worktree is considered added to the repository.
      * 
-     * @return added worktrees set.
+     * @param worktree worktree to check.
+     * @return {@code true} if added; {@code false} otherwise.
      * @throws RepositoryException if there is any error while loading.
      */
-    /* package */ Set<WorktreeRepoDefImpl> getAddedWorktrees() throws RepositoryException {
+    /* package */ synchronized boolean isAddedWorktree(final WorktreeRepoDefImpl worktree)
+            throws RepositoryException {
         loadWorktrees();
-        return worktrees;
+        return worktrees.contains(worktree);
     }
 
     @Override
-    public IWorktreeDefinition getWorktree(final Path worktreePath,
+    public synchronized IWorktreeDefinition getWorktree(final Path worktreePath,
             final Supplier<String> branchSupplier) {
         if (isCloned()) {
             // triggers the worktree loading if need it
@@ -207,8 +215,104 @@ public class RepositoryImpl extends AbstractGitRepository implements IRepository
         return null;
     }
 
+    /**
+     * Gets the branches if already loaded (or seeded).
+     * 
+     * @return copy of the branches; {@code null} if not loaded.
+     */
+    public synchronized Set<String> getLoadedBranches() {
+        return branches == null ? null : new TreeSet<>(branches);
+    }
+
+    /**
+     * Gets the added worktrees if already loaded (or seeded).
+     * 
+     * @return branch by worktree location; {@code null} if not loaded.
+     */
+    public synchronized Map<Path, String> getLoadedWorktrees() {
+        return worktrees == null ? null : toBranchByLocation(worktrees);
+    }
+
+    /**
+     * Seeds the branches and worktrees (e.g., from a previous session) to avoid running
+     * git on the first access.
+     * </br>
+     * Only the data that is not loaded yet is seeded, and only if the repository is cloned.
+     * Seeded data should be {@link #revalidate() revalidated} afterwards.
+     * 
+     * @param seededBranches branches.
+     * @param seededWorktrees branch by added worktree location.
+     */
+    public synchronized void seed(final Collection<String> seededBranches,
+            final Map<Path, String> seededWorktrees) {
+        if (!isCloned()) {
+            return;
+        }
+        if (branches == null) {
+            branches = new TreeSet<>(seededBranches);
+        }
+        if (worktrees == null) {
+            worktrees = new LinkedHashSet<>();
+            seededWorktrees.forEach((location, branch) -> worktrees.add(worktreesByPath
+                    .computeIfAbsent(location, path -> new WorktreeRepoDefImpl(this, path, branch))));
+        }
+    }
+
+    /**
+     * Loads the branches and worktrees from git again, replacing the loaded ones only if
+     * they differ.
+     * </br>
+     * Git runs without holding the repository lock; the loaded data is replaced under it,
+     * as every other access to the branches and worktrees.
+     * 
+     * @return {@code true} if the loaded branches or worktrees changed; {@code false} otherwise.
+     */
+    public boolean revalidate() {
+        if (!isCloned()) {
+            return false;
+        }
+        final Set<String> currentBranches = runBranchList();
+        final Map<Path, String> currentWorktrees = toBranchByLocation(runWorktreeList());
+        return applyRevalidated(currentBranches, currentWorktrees);
+    }
+
+    private synchronized boolean applyRevalidated(final Set<String> currentBranches,
+            final Map<Path, String> currentWorktrees) {
+        boolean changed = false;
+        if (branches != null && !branches.equals(currentBranches)) {
+            branches = currentBranches;
+            changed = true;
+        }
+        if (worktrees != null && !toBranchByLocation(worktrees).equals(currentWorktrees)) {
+            for (final IWorktreeDefinition worktreeDef : worktrees) {
+                if (!currentWorktrees.containsKey(worktreeDef.getDestinationLocation())) {
+                    worktreesByPath.remove(worktreeDef.getDestinationLocation());
+                }
+            }
+            // keep the definitions of the worktrees that are still there
+            final Set<WorktreeRepoDefImpl> revalidated = new LinkedHashSet<>();
+            currentWorktrees.forEach((location, branch) -> {
+                final WorktreeRepoDefImpl worktreeDef = worktreesByPath.computeIfAbsent(location,
+                        path -> new WorktreeRepoDefImpl(this, path, branch));
+                worktreeDef.setBranch(branch);
+                revalidated.add(worktreeDef);
+            });
+            worktrees = revalidated;
+            changed = true;
+        }
+        return changed;
+    }
+
+    private static Map<Path, String> toBranchByLocation(final Set<WorktreeRepoDefImpl> worktrees) {
+        final Map<Path, String> branchByLocation = new LinkedHashMap<>();
+        for (final WorktreeRepoDefImpl worktreeDef : worktrees) {
+            branchByLocation.put(worktreeDef.getDestinationLocation(), worktreeDef.getBranch());
+        }
+        return branchByLocation;
+    }
+
     @Override
-    protected void refreshBranches() {
+    protected synchronized void refreshBranches() {
         logger.debug("Refreshing repository branches and worktrees");
         branches = null;
         // delete the worktree definitions on the repository, but keep the ones not added
@@ -239,7 +343,7 @@ public class RepositoryImpl extends AbstractGitRepository implements IRepository
      * Adds the branch to the list of branches
      */
     @Override
-    protected void addBranch(final String branch) {
+    protected synchronized void addBranch(final String branch) {
         if (branches == null) {
             // trigger branches loaded if they were refreshed
             getBranches();
@@ -251,7 +355,7 @@ public class RepositoryImpl extends AbstractGitRepository implements IRepository
      * Remove the branch from the list of branches.
      */
     @Override
-    protected void removeBranch(final String branch) {
+    protected synchronized void removeBranch(final String branch) {
         if (branches == null) {
             // trigger branches loaded if they were refreshed
             getBranches();
@@ -263,7 +367,7 @@ public class RepositoryImpl extends AbstractGitRepository implements IRepository
      * Adds the worktree to the set of worktres (as added).
      */
     @Override
-    protected void addWorktree(final Path location, final String targetBranch) {
+    protected synchronized void addWorktree(final Path location, final String targetBranch) {
         // compute if not present and add it to the worktrees if initialized
         final WorktreeRepoDefImpl worktreeDefinition = worktreesByPath.computeIfAbsent(location,
                 path -> new WorktreeRepoDefImpl(this, path, targetBranch));
@@ -278,7 +382,7 @@ public class RepositoryImpl extends AbstractGitRepository implements IRepository
      * Adds the worktree to the set of worktres (as added).
      */
     @Override
-    protected void removeWorktree(final Path location) {
+    protected synchronized void removeWorktree(final Path location) {
         final WorktreeRepoDefImpl worktreeDefinition = worktreesByPath.remove(location);
         if (worktreeDefinition != null && worktrees != null) {
             worktrees.remove(worktreeDefinition);
@@ -52,7 +52,7 @@ class WorktreeRepoDefImpl extends AbstractGitRepository implements IWorktreeDefi
 
     @Override
     public boolean isAdded() {
-        return repo.getAddedWorktrees().contains(this);
+        return repo.isAddedWorktree(this);
     }
 
     @Override
@@ -25,6 +25,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -36,11 +39,18 @@ import org.aposin.gem.core.api.model.IRepository;
 import org.aposin.gem.core.api.service.IFeatureBranchProvider;
 import org.aposin.gem.core.api.workflow.IFeatureBranch;
 import org.aposin.gem.core.impl.internal.util.GitConstants;
+import org.aposin.gem.core.utils.ExecutorUtils;
 
 public abstract class AbstractGitBranchProvider implements IFeatureBranchProvider, IConfigurable {
 
+    // listing branches runs a git process per repository on a cold cache
+    private static final ExecutorService BRANCH_LISTING_EXECUTOR =
+            ExecutorUtils.newDaemonPool("gem-branch-listing");
+
     private IConfiguration config;
-    private Map<IRepository, Set<String>> blackListedBranches;
+    private volatile Map<IRepository, Set<String>> blackListedBranches;
+    // flattened for the repositories of each environment
+    private volatile Map<IEnvironment, Set<String>> blackListedBranchesByEnvironment;
 
     @Override
     public String getId() {
@@ -63,12 +73,34 @@ public abstract class AbstractGitBranchProvider implements IFeatureBranchProvide
     public final void refresh() {
         // configure the blacklist of branches (configured in at least one environment)
         final Collection<IRepository> repositories = config.getRepositories();
-        blackListedBranches = new HashMap<>(repositories.size());
-        repositories.forEach(r -> blackListedBranches.put(r, new HashSet<>()));
+        final Map<IRepository, Set<String>> blackList = new HashMap<>(repositories.size());
+        repositories.forEach(r -> blackList.put(r, new HashSet<>()));
         for (final IEnvironment env : config.getEnvironments()) {
             env.getEnvironmentBranchByRepository()
-                    .forEach((repo, envBranch) -> blackListedBranches.get(repo).add(envBranch));
+                    .forEach((repo, envBranch) -> blackList.get(repo).add(envBranch));
+        }
+        final Map<IEnvironment, Set<String>> blackListByEnvironment = new HashMap<>();
+        for (final IEnvironment env : config.getEnvironments()) {
+            blackListByEnvironment.put(env, flattenBlackList(blackList, env));
+        }
+        // only published when complete, as branches might be requested asynchronously
+        blackListedBranches = blackList;
+        blackListedBranchesByEnvironment = blackListByEnvironment;
+    }
+
+    private static Set<String> flattenBlackList(final Map<IRepository, Set<String>> blackList,
+            final IEnvironment environment) {
+        final Set<String> flattened = new HashSet<>();
+        for (final IRepository repo : environment.getRepositories()) {
+            flattened.addAll(blackList.getOrDefault(repo, Set.of()));
         }
+        return flattened;
+    }
+
+    private Set<String> getBlackListedBranches(final IEnvironment environment) {
+        final Set<String> blackList = blackListedBranchesByEnvironment.get(environment);
+        // environments not configured on the last refresh
+        return blackList == null ? flattenBlackList(blackListedBranches, environment) : blackList;
     }
 
     @Override
@@ -92,34 +124,51 @@ public abstract class AbstractGitBranchProvider implements IFeatureBranchProvide
     }
 
     private final List<IFeatureBranch> doGetFeatureBranches(final IEnvironment environment) {
-        final Set<String> branches = new LinkedHashSet<>();
+        // list the branches of the repositories concurrently, but keep them in order
+        final List<CompletableFuture<List<String>>> branchesByRepository = new ArrayList<>();
         for (final IRepository repo : environment.getRepositories()) {
             if (repo.isCloned()) {
-                final List<String> filteredBranches = repo.getBranches().stream()//
-                        .map(AbstractGitBranchProvider::normalizeBranchNames) // normalize names
-                        .filter(name -> keepBranchName(name, environment)) // filter
-                        .collect(Collectors.toList());
-                // add to the branches
-                branches.addAll(filteredBranches);
+                branchesByRepository.add(
+                        CompletableFuture.supplyAsync(repo::getBranches, BRANCH_LISTING_EXECUTOR));
             }
         }
 
+        final Set<String> blackList = getBlackListedBranches(environment);
+        final Set<String> branches = new LinkedHashSet<>();
+        for (final CompletableFuture<List<String>> repoBranches : branchesByRepository) {
+            join(repoBranches).stream()//
+                    .map(AbstractGitBranchProvider::normalizeBranchNames) // normalize names
+                    .filter(name -> keepBranchName(name, environment, blackList)) // filter
+                    .forEach(branches::add);
+        }
+
         return branches.stream() //
                 .map(branch -> new GitFeatureBranch(this, environment, branch))//
                 .collect(Collectors.toList());
     }
 
-    private final boolean keepBranchName(final String branchName, final IEnvironment environment) {
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            // propagate as if run on the calling thread
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private final boolean keepBranchName(final String branchName, final IEnvironment environment,
+            final Set<String> blackList) {
         // 1. it is an internal branch
         if (branchName.startsWith(IEnvironment.INTERNAL_BRANCH_PREFIX)) {
             return false;
         }
 
         // 2. it is in the blacklist of branches for the repositories
-        for (final IRepository repo : environment.getRepositories()) {
-            if (blackListedBranches.get(repo).contains(branchName)) {
-                return false;
-            }
+        if (blackList.contains(branchName)) {
+            return false;
         }
 
         return doKeepBranch(branchName, environment);
@@ -215,10 +264,10 @@ public abstract class AbstractGitBranchProvider implements IFeatureBranchProvide
         }
 
         private final Optional<IFeatureBranch> getFbFromMatchedProvider() {
-            // TODO - cache the matching branch?
+            // cached providers index the matching branches by name
             return provider.getConfiguration().getServiceContainer().getFeatureBranchProviders()
                     .stream()//
-                    .filter(p -> !(p instanceof AbstractGitBranchProvider)) //
+                    .filter(p -> !(CachingFeatureBranchProvider.unwrap(p) instanceof AbstractGitBranchProvider)) //
                     .map(fbp -> fbp.getMatchingFeatureBranch(environment, this).orElse(null))//
                     .filter(Objects::nonNull) //
                     .findFirst();
@@ -0,0 +1,300 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import org.aposin.gem.core.api.config.GemConfigurationException;
+import org.aposin.gem.core.api.config.IConfiguration;
+import org.aposin.gem.core.api.model.IEnvironment;
+import org.aposin.gem.core.api.service.IFeatureBranchProvider;
+import org.aposin.gem.core.api.workflow.IFeatureBranch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorator caching the feature-branches of a provider (stale-while-revalidate).
+ * </br>
+ * The first request for an environment waits for the provider; afterwards, the cached
+ * feature-branches are returned instantly and, once older than the time-to-live, refreshed
+ * in the background. When the refreshed feature-branches differ, the listener is notified.
+ * </br>
+ * {@link #refresh()} drops the cache, so the next request waits for the provider again;
+ * {@link #revalidateAll()} refreshes the cached ones in the background instead.
+ * Default feature-branches are resolved over the cached ones, and feature-branches by name
+ * or ID (including the matching ones) over an index of the cached ones (built once per cached
+ * list, on the first lookup).
+ */
+public final class CachingFeatureBranchProvider implements IFeatureBranchProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingFeatureBranchProvider.class);
+
+    private final IFeatureBranchProvider delegate;
+    private final long ttlNanos;
+    private final BiConsumer<IFeatureBranchProvider, IEnvironment> updateListener;
+
+    private final Map<IEnvironment, CachedFeatureBranches> cache = new ConcurrentHashMap<>();
+    // requests for environments without cached feature-branches (shared by concurrent callers)
+    private final Map<IEnvironment, CompletableFuture<List<IFeatureBranch>>> loading =
+            new ConcurrentHashMap<>();
+    private final Map<IEnvironment, Boolean> revalidating = new ConcurrentHashMap<>();
+    // incremented when the cache is dropped, to not cache the loads started before
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Constructor.
+     * 
+     * @param delegate configured provider to cache.
+     * @param ttl age after which the feature-branches are refreshed in the background.
+     * @param updateListener notified when the refreshed feature-branches differ from the cached.
+     */
+    public CachingFeatureBranchProvider(final IFeatureBranchProvider delegate, final Duration ttl,
+            final BiConsumer<IFeatureBranchProvider, IEnvironment> updateListener) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.ttlNanos = ttl.toNanos();
+        this.updateListener = updateListener;
+    }
+
+    /**
+     * Gets the decorated provider.
+     * 
+     * @return provider.
+     */
+    public IFeatureBranchProvider getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Gets the provider without caching nor guards.
+     * 
+     * @param provider provider (might be cached and/or guarded).
+     * @return the decorated provider if cached or guarded; the provider itself otherwise.
+     */
+    public static IFeatureBranchProvider unwrap(final IFeatureBranchProvider provider) {
+        IFeatureBranchProvider unwrapped = provider;
+        if (unwrapped instanceof CachingFeatureBranchProvider) {
+            unwrapped = ((CachingFeatureBranchProvider) unwrapped).getDelegate();
+        }
+        if (unwrapped instanceof GuardedFeatureBranchProvider) {
+            unwrapped = ((GuardedFeatureBranchProvider) unwrapped).getDelegate();
+        }
+        return unwrapped;
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public String getDisplayName() {
+        return delegate.getDisplayName();
+    }
+
+    @Override
+    public void setConfig(final IConfiguration config) throws GemConfigurationException {
+        // re-configure the delegate and drop the feature-branches of the previous configuration
+        delegate.setConfig(config);
+        dropCache();
+    }
+
+    @Override
+    public void refresh() {
+        dropCache();
+        delegate.refresh();
+    }
+
+    private synchronized void dropCache() {
+        generation.incrementAndGet();
+        cache.clear();
+        // loads in flight complete their callers, but the next requests load again
+        loading.clear();
+    }
+
+    /**
+     * Refreshes all the cached feature-branches in the background, regardless of their age
+     * (e.g., when the underlying data changed). The listener is notified only for the
+     * environments whose feature-branches differ.
+     */
+    public void revalidateAll() {
+        cache.forEach(this::revalidate);
+    }
+
+    @Override
+    public List<IFeatureBranch> getFeatureBranches(final IEnvironment environment) {
+        final CachedFeatureBranches cached = getCached(environment);
+        if (cached != null) {
+            return cached.featureBranches;
+        }
+        return getFeatureBranchesAsync(environment).join();
+    }
+
+    @Override
+    public CompletableFuture<List<IFeatureBranch>> getFeatureBranchesAsync(
+            final IEnvironment environment) {
+        final CachedFeatureBranches cached = getCached(environment);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.featureBranches);
+        }
+        CompletableFuture<List<IFeatureBranch>> future = loading.get(environment);
+        if (future == null) {
+            final CompletableFuture<List<IFeatureBranch>> request = new CompletableFuture<>();
+            future = loading.putIfAbsent(environment, request);
+            if (future == null) {
+                future = request;
+                final long requestGeneration = generation.get();
+                delegate.getFeatureBranchesAsync(environment).whenComplete((featureBranches, error) -> {
+                    // cache before completing, so the callers after completion get the cached ones
+                    final CachedFeatureBranches loaded =
+                            error == null ? new CachedFeatureBranches(featureBranches) : null;
+                    if (loaded != null) {
+                        cacheIfCurrent(environment, loaded, requestGeneration);
+                    }
+                    loading.remove(environment, request);
+                    if (loaded != null) {
+                        request.complete(loaded.featureBranches);
+                    } else {
+                        request.completeExceptionally(error);
+                    }
+                });
+            }
+        }
+        return future;
+    }
+
+    @Override
+    public Optional<IFeatureBranch> findByName(final IEnvironment environment, final String name) {
+        final CachedFeatureBranches cached = getLoaded(environment);
+        if (cached == null) {
+            return IFeatureBranchProvider.super.findByName(environment, name);
+        }
+        return cached.getIndex().findByName(name);
+    }
+
+    @Override
+    public Optional<IFeatureBranch> findById(final IEnvironment environment, final String id) {
+        final CachedFeatureBranches cached = getLoaded(environment);
+        if (cached == null) {
+            return IFeatureBranchProvider.super.findById(environment, id);
+        }
+        return cached.getIndex().findById(id);
+    }
+
+    private synchronized void cacheIfCurrent(final IEnvironment environment,
+            final CachedFeatureBranches loaded, final long requestGeneration) {
+        // ignore if the cache was dropped meanwhile (refresh)
+        if (requestGeneration == generation.get()) {
+            cache.put(environment, loaded);
+        }
+    }
+
+    // null only if the cache was dropped meanwhile (refresh)
+    private CachedFeatureBranches getLoaded(final IEnvironment environment) {
+        final CachedFeatureBranches cached = getCached(environment);
+        if (cached != null) {
+            return cached;
+        }
+        getFeatureBranches(environment);
+        return cache.get(environment);
+    }
+
+    private CachedFeatureBranches getCached(final IEnvironment environment) {
+        final CachedFeatureBranches cached = cache.get(environment);
+        if (cached != null && System.nanoTime() - cached.loadedAt > ttlNanos) {
+            revalidate(environment, cached);
+        }
+        return cached;
+    }
+
+    private void revalidate(final IEnvironment environment, final CachedFeatureBranches stale) {
+        // only one revalidation per environment
+        if (revalidating.putIfAbsent(environment, Boolean.TRUE) != null) {
+            return;
+        }
+        // requested on the provider request executor by the guarded delegate
+        delegate.getFeatureBranchesAsync(environment).whenComplete((featureBranches, error) -> {
+            try {
+                if (error != null) {
+                    // keep serving the stale ones
+                    LOGGER.warn("Error refreshing feature-branches for {} on {}", environment, getId());
+                    LOGGER.debug("Exception", error);
+                } else if (cache.replace(environment, stale, new CachedFeatureBranches(featureBranches))
+                        // ignore if the cache was dropped meanwhile (refresh)
+                        && !featureBranches.equals(stale.featureBranches)) {
+                    LOGGER.debug("Feature-branches updated for {} on {}", environment, getId());
+                    updateListener.accept(this, environment);
+                }
+            } finally {
+                revalidating.remove(environment);
+            }
+        });
+    }
+
+    @Override
+    public int hashCode() {
+        return getId().hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof IFeatureBranchProvider) {
+            return compareTo((IFeatureBranchProvider) obj) == 0;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+    private static final class CachedFeatureBranches {
+
+        private final List<IFeatureBranch> featureBranches;
+        private final long loadedAt = System.nanoTime();
+        // lazy, as most of the providers are never looked up
+        private volatile FeatureBranchIndex index;
+
+        private CachedFeatureBranches(final List<IFeatureBranch> featureBranches) {
+            // shared between callers
+            this.featureBranches = Collections.unmodifiableList(featureBranches);
+        }
+
+        private FeatureBranchIndex getIndex() {
+            FeatureBranchIndex built = index;
+            if (built == null) {
+                // concurrent callers might build the same index
+                built = new FeatureBranchIndex(featureBranches);
+                index = built;
+            }
+            return built;
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.service;
+
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Circuit breaker for the requests to a service.
+ * </br>
+ * After a number of consecutive failures, requests are suspended (open circuit) for a
+ * backoff time, doubled on each further failure up to a maximum. Once the backoff time
+ * elapsed, a single request is allowed to test the service: if it succeeds, the circuit
+ * is closed again.
+ */
+public final class CircuitBreaker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private final String name;
+    private final int failureThreshold;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    // guarded by this
+    private int failures = 0;
+    private long openUntil;
+
+    /**
+     * Constructor.
+     * 
+     * @param name name of the service (for logging).
+     * @param failureThreshold consecutive failures to open the circuit; {@code 0} to never open it.
+     * @param initialBackoff time while the circuit is open after reaching the threshold.
+     * @param maxBackoff maximum time while the circuit is open.
+     */
+    public CircuitBreaker(final String name, final int failureThreshold,
+            final Duration initialBackoff, final Duration maxBackoff) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = Math.max(initialBackoffNanos, maxBackoff.toNanos());
+    }
+
+    /**
+     * Checks if a request is allowed.
+     * </br>
+     * If the circuit is open and the backoff time elapsed, the request is allowed but
+     * the following ones are not until {@link #recordSuccess()} or {@link #recordFailure()}.
+     * 
+     * @return {@code true} if the request is allowed; {@code false} otherwise.
+     */
+    public synchronized boolean isRequestAllowed() {
+        if (!isOpen()) {
+            return true;
+        }
+        final long now = System.nanoTime();
+        if (now - openUntil < 0) {
+            return false;
+        }
+        // half-open: only this request until it is recorded
+        openUntil = now + getBackoffNanos();
+        return true;
+    }
+
+    /**
+     * Records a successful request, closing the circuit.
+     */
+    public synchronized void recordSuccess() {
+        if (isOpen()) {
+            LOGGER.info("{} available again", name);
+        }
+        failures = 0;
+    }
+
+    /**
+     * Records a failed request, opening the circuit if the threshold is reached.
+     */
+    public synchronized void recordFailure() {
+        failures++;
+        if (isOpen()) {
+            final long backoff = getBackoffNanos();
+            openUntil = System.nanoTime() + backoff;
+            LOGGER.warn("{} failed {} times: requests suspended for {}", name, failures,
+                    Duration.ofNanos(backoff));
+        }
+    }
+
+    /**
+     * Closes the circuit, allowing requests again.
+     */
+    public synchronized void reset() {
+        failures = 0;
+    }
+
+    /**
+     * Gets the time to wait before retrying after a failed attempt, doubling the initial
+     * backoff on each further attempt up to the maximum.
+     * 
+     * @param initialBackoff backoff after the first failed attempt.
+     * @param maxBackoff maximum backoff.
+     * @param attempt number of the failed attempt (starting on {@code 1}).
+     * @return backoff time.
+     */
+    public static Duration getBackoff(final Duration initialBackoff, final Duration maxBackoff,
+            final int attempt) {
+        final long initialNanos = initialBackoff.toNanos();
+        return Duration.ofNanos(computeBackoffNanos(initialNanos,
+                Math.max(initialNanos, maxBackoff.toNanos()), attempt));
+    }
+
+    private boolean isOpen() {
+        return failureThreshold > 0 && failures >= failureThreshold;
+    }
+
+    private long getBackoffNanos() {
+        return computeBackoffNanos(initialBackoffNanos, maxBackoffNanos,
+                failures - failureThreshold + 1);
+    }
+
+    private static long computeBackoffNanos(final long initialBackoffNanos,
+            final long maxBackoffNanos, final int attempt) {
+        long backoff = initialBackoffNanos;
+        for (int i = 1; i < attempt && backoff < maxBackoffNanos; i++) {
+            backoff *= 2;
+        }
+        return Math.min(backoff, maxBackoffNanos);
+    }
+
+}
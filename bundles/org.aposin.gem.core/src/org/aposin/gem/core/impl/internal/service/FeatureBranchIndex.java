@@ -0,0 +1,70 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.aposin.gem.core.api.service.IFeatureBranchProvider;
+import org.aposin.gem.core.api.workflow.IFeatureBranch;
+
+/**
+ * Index of feature-branches by name and ID.
+ * </br>
+ * On duplicates the first one wins, as on the default lookups of {@link IFeatureBranchProvider}.
+ */
+/* package */ final class FeatureBranchIndex {
+
+    private final List<IFeatureBranch> featureBranches;
+    private final Map<String, IFeatureBranch> byName;
+    private final Map<String, IFeatureBranch> byId;
+
+    /**
+     * Constructor.
+     * 
+     * @param featureBranches feature-branches to index (should not be modified afterwards).
+     */
+    /* package */ FeatureBranchIndex(final List<IFeatureBranch> featureBranches) {
+        this.featureBranches = featureBranches;
+        final int capacity = featureBranches.size() * 4 / 3 + 1;
+        byName = new HashMap<>(capacity);
+        byId = new HashMap<>(capacity);
+        for (final IFeatureBranch featureBranch : featureBranches) {
+            byName.putIfAbsent(featureBranch.getName(), featureBranch);
+            byId.putIfAbsent(featureBranch.getId(), featureBranch);
+        }
+    }
+
+    /**
+     * Checks if this index was built for the list (same instance).
+     * 
+     * @param featureBranches feature-branches.
+     * @return {@code true} if the list is the indexed one; {@code false} otherwise.
+     */
+    /* package */ boolean isIndexOf(final List<IFeatureBranch> featureBranches) {
+        return this.featureBranches == featureBranches;
+    }
+
+    /* package */ Optional<IFeatureBranch> findByName(final String name) {
+        return Optional.ofNullable(byName.get(name));
+    }
+
+    /* package */ Optional<IFeatureBranch> findById(final String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+}
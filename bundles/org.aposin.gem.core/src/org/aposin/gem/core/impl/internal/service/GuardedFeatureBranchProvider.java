@@ -0,0 +1,194 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.aposin.gem.core.api.config.GemConfigurationException;
+import org.aposin.gem.core.api.config.IConfiguration;
+import org.aposin.gem.core.api.model.IEnvironment;
+import org.aposin.gem.core.api.service.IFeatureBranchProvider;
+import org.aposin.gem.core.api.workflow.IFeatureBranch;
+import org.aposin.gem.core.exception.GemException;
+
+/**
+ * Decorator guarding the requests to a provider with a timeout and a {@link CircuitBreaker}.
+ * </br>
+ * Requests taking longer than the timeout fail (the provider might still complete them in
+ * the background), and while the circuit is open they fail without reaching the provider.
+ * {@link #refresh()} closes the circuit, so the provider is requested again.
+ * </br>
+ * Requests run on the {@link ProviderRequestExecutor}, as the provider might block.
+ * Feature-branches by name or ID (including the matching ones) are found over an index of the
+ * feature-branches, reused while the provider returns the same list (also without cache).
+ */
+public final class GuardedFeatureBranchProvider implements IFeatureBranchProvider {
+
+    private final IFeatureBranchProvider delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final long timeoutMillis;
+    // index of the last feature-branches per environment
+    private final Map<IEnvironment, FeatureBranchIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     * 
+     * @param delegate configured provider to guard.
+     * @param circuitBreaker circuit breaker for the provider.
+     * @param timeout maximum time to retrieve the feature-branches; {@link Duration#ZERO} if disabled.
+     */
+    public GuardedFeatureBranchProvider(final IFeatureBranchProvider delegate,
+            final CircuitBreaker circuitBreaker, final Duration timeout) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.circuitBreaker = Objects.requireNonNull(circuitBreaker);
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Gets the decorated provider.
+     * 
+     * @return provider.
+     */
+    public IFeatureBranchProvider getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public String getDisplayName() {
+        return delegate.getDisplayName();
+    }
+
+    @Override
+    public void setConfig(final IConfiguration config) throws GemConfigurationException {
+        delegate.setConfig(config);
+        circuitBreaker.reset();
+        indexes.clear();
+    }
+
+    @Override
+    public void refresh() {
+        circuitBreaker.reset();
+        indexes.clear();
+        delegate.refresh();
+    }
+
+    @Override
+    public List<IFeatureBranch> getFeatureBranches(final IEnvironment environment) {
+        return await(getFeatureBranchesAsync(environment));
+    }
+
+    @Override
+    public CompletableFuture<List<IFeatureBranch>> getFeatureBranchesAsync(
+            final IEnvironment environment) {
+        // the provider might complete synchronously (default implementation)
+        return guard(() -> CompletableFuture
+                .supplyAsync(() -> delegate.getFeatureBranchesAsync(environment),
+                        ProviderRequestExecutor.getInstance())
+                .thenCompose(Function.identity()));
+    }
+
+    @Override
+    public Optional<IFeatureBranch> findByName(final IEnvironment environment, final String name) {
+        return getIndex(environment).findByName(name);
+    }
+
+    @Override
+    public Optional<IFeatureBranch> findById(final IEnvironment environment, final String id) {
+        return getIndex(environment).findById(id);
+    }
+
+    private FeatureBranchIndex getIndex(final IEnvironment environment) {
+        final List<IFeatureBranch> featureBranches = getFeatureBranches(environment);
+        FeatureBranchIndex index = indexes.get(environment);
+        if (index == null || !index.isIndexOf(featureBranches)) {
+            // concurrent callers might build the same index
+            index = new FeatureBranchIndex(featureBranches);
+            indexes.put(environment, index);
+        }
+        return index;
+    }
+
+    private <T> T await(final CompletableFuture<T> request) {
+        try {
+            return request.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GemException("Interrupted retrieving feature-branches from " + getId(), e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GemException("Error retrieving feature-branches from " + getId(), e.getCause());
+        }
+    }
+
+    private <T> CompletableFuture<T> guard(final Supplier<CompletableFuture<T>> requester) {
+        if (!circuitBreaker.isRequestAllowed()) {
+            return CompletableFuture.failedFuture(new GemException(
+                    "Feature-branches from " + getId() + " suspended after repeated failures"));
+        }
+        // copy, as the provider might share the future
+        CompletableFuture<T> request = requester.get().copy();
+        if (timeoutMillis > 0) {
+            request = request.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        return request.whenComplete((result, error) -> {
+            if (error == null) {
+                circuitBreaker.recordSuccess();
+            } else {
+                circuitBreaker.recordFailure();
+            }
+        });
+    }
+
+    @Override
+    public int hashCode() {
+        return getId().hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof IFeatureBranchProvider) {
+            return compareTo((IFeatureBranchProvider) obj) == 0;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.service;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import org.aposin.gem.core.utils.ExecutorUtils;
+
+/**
+ * Bounded executor for the blocking requests to the feature-branch providers
+ * (e.g., REST calls or git processes).
+ * </br>
+ * Requests are queued once all the threads are busy, instead of running on the common pool
+ * (shared with every parallel stream and sized for CPU-bound work). Idle threads are released.
+ */
+public final class ProviderRequestExecutor {
+
+    private static final int MAX_THREADS = 8;
+
+    private static final ExecutorService EXECUTOR =
+            ExecutorUtils.newDaemonPool("gem-provider-request", MAX_THREADS);
+
+    private ProviderRequestExecutor() {
+        // cannot be instantiated
+    }
+
+    /**
+     * Gets the executor for the provider requests.
+     * 
+     * @return executor.
+     */
+    public static Executor getInstance() {
+        return EXECUTOR;
+    }
+
+}
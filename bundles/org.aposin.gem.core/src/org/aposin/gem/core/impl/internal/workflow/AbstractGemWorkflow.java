@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -45,7 +46,17 @@ abstract class AbstractGemWorkflow implements IEnvironmentWorkflow {
     private static final String CLONE_NOT_REQUIRED_MSG = "Clone is already done";
     private static final String ENV_WORKTREE_NOT_REQUIRED = "Environment worktree not required";
 
+    // journal step prefixes (followed by the repository ID)
+    private static final String FETCH_STEP = "fetch:";
+    private static final String ADD_WORKTREE_STEP = "add_worktree:";
+
+    // state-snapshot keys for the environment checks
+    private static final String REQUIRES_CLONE_STATE = "requires_clone";
+    private static final String REQUIRES_WORKTREE_SETUP_STATE = "requires_worktree_setup";
+    private static final String REMOVE_WORKTREE_ENABLED_STATE = "remove_worktree_enabled";
+
     private final IEnvironment environment;
+    private final WorkflowStateSnapshot stateSnapshot = new WorkflowStateSnapshot();
 
     protected AbstractGemWorkflow(final IEnvironment environment) {
         this.environment = environment;
@@ -72,6 +83,46 @@ abstract class AbstractGemWorkflow implements IEnvironmentWorkflow {
      */
     protected abstract boolean removeWorktreeIsEnabled();
 
+    /**
+     * Gets {@link #requiresClone()} from the state snapshot.
+     * 
+     * @return {@code true} if clone is required; {@code false} otherwise.
+     */
+    protected final boolean isCloneRequired() {
+        return getState(REQUIRES_CLONE_STATE, this::requiresClone);
+    }
+
+    /**
+     * Gets {@link #requiresWorktreeSetup()} from the state snapshot.
+     * 
+     * @return {@code true} if the worktree requires setup; {@code false} otherwise
+     */
+    protected final boolean isWorktreeSetupRequired() {
+        return getState(REQUIRES_WORKTREE_SETUP_STATE, this::requiresWorktreeSetup);
+    }
+
+    /**
+     * Gets {@link #removeWorktreeIsEnabled()} from the state snapshot.
+     * 
+     * @return {@code true} if worktree removal is enabled; {@code false} otherwise.
+     */
+    protected final boolean isRemoveWorktreeEnabled() {
+        return getState(REMOVE_WORKTREE_ENABLED_STATE, this::removeWorktreeIsEnabled);
+    }
+
+    /**
+     * Gets a check from the state snapshot of the workflow.
+     * </br>
+     * Should be used for the checks on the launchers (see {@link WorkflowStateSnapshot}).
+     * 
+     * @param key key identifying the check (including its parameters, if any).
+     * @param check check to compute the value if not present on the snapshot.
+     * @return value of the check.
+     */
+    protected final boolean getState(final Object key, final BooleanSupplier check) {
+        return stateSnapshot.get(key, check);
+    }
+
     ///////////////////////////////////////
     // INTERFACE METHODS
     //////////////////////////////////////
@@ -92,8 +143,8 @@ abstract class AbstractGemWorkflow implements IEnvironmentWorkflow {
         return new WorkflowLauncherBuilder(environment, "clone_repos") //
                 .displayName("Clone") //
                 .exceptionMessage(CLONE_NOT_REQUIRED_MSG) //
-                .canLaunch(this::requiresClone) //
-                .build(() -> getCommandListByRepo(//
+                .canLaunch(this::isCloneRequired) //
+                .buildJournaled(getJournal(), launch -> getCommandListByRepo(//
                         (r, b) -> !r.isCloned(), // only not cloned
                         (r, b) -> r.getCommandBuilder().buildCloneCommand()
                                 // after clone, install the hooks
@@ -108,7 +159,7 @@ abstract class AbstractGemWorkflow implements IEnvironmentWorkflow {
         return new WorkflowLauncherBuilder(environment, "pull_fetch_env") //
                 .displayName("Pull/Fetch (Env)") //
                 .exceptionMessage(CLONE_NOT_REQUIRED_MSG) //
-                .canLaunch(() -> !this.requiresClone()) //
+                .canLaunch(() -> !this.isCloneRequired()) //
                 .build(() ->
                 {
                     final List<ICommand> cmds = new ArrayList<>();
@@ -135,27 +186,36 @@ abstract class AbstractGemWorkflow implements IEnvironmentWorkflow {
         return new WorkflowLauncherBuilder(environment, "setup_worktree") //
                 .displayName("Create Worktree") //
                 .exceptionMessage(ENV_WORKTREE_NOT_REQUIRED) //
-                .canLaunch(this::requiresWorktreeSetup) //
-                .build(() ->
+                .canLaunch(this::isWorktreeSetupRequired) //
+                .buildJournaled(getJournal(), launch ->
                 {
                     final Map<IRepository, String> branchByRepo = environment.getEnvironmentBranchByRepository();
 
                     return getCommandListByWorktree(//
                             w -> !w.isAdded(), // only added ones
-                            w -> buildSetupWorktreeCommand(w, branchByRepo));
+                            w -> buildSetupWorktreeCommand(launch, w, branchByRepo));
                 });
     }
 
-    private ICommand buildSetupWorktreeCommand(final IWorktreeDefinition worktree,
+    private ICommand buildSetupWorktreeCommand(final WorkflowJournal.Launch launch,
+                                               final IWorktreeDefinition worktree,
                                                final Map<IRepository, String> branchByRepo) {
-        final String branch = branchByRepo.get(worktree.getRepository());
+        final IRepository repository = worktree.getRepository();
+        final String branch = branchByRepo.get(repository);
+        final String fetchStep = FETCH_STEP + repository.getId();
         ICommand setupWorktreeCommand;
-        // first fetch the environment
-        setupWorktreeCommand = getFetchOrPullRepoCommand(worktree.getRepository());
+        // first fetch the environment (unless done on a previous launch and the branch is still there)
+        if (launch.isDone(fetchStep) && repository.getBranches().contains(branch)) {
+            setupWorktreeCommand = new NoOpCommand(repository,
+                    "Skipping fetch of " + branch + ": already done on a previous launch");
+        } else {
+            setupWorktreeCommand = launch.step(fetchStep, getFetchOrPullRepoCommand(repository));
+        }
         // then add the worktree
         setupWorktreeCommand = setupWorktreeCommand.and(//
-                worktree.getCommandBuilder().buildAddWorktreeCommand(worktree.getDestinationLocation(),
-                        worktree.getBranch(), branch));
+                launch.step(ADD_WORKTREE_STEP + repository.getId(),
+                        worktree.getCommandBuilder().buildAddWorktreeCommand(worktree.getDestinationLocation(),
+                                worktree.getBranch(), branch)));
         return setupWorktreeCommand;
     }
 
@@ -163,7 +223,7 @@ abstract class AbstractGemWorkflow implements IEnvironmentWorkflow {
     public final ILauncher getRemoveWorktreeLauncher() throws WorkflowException {
         return new WorkflowLauncherBuilder(environment, "remove_worktree") //
                 .displayName("Remove Worktree") //
-                .canLaunch(this::removeWorktreeIsEnabled) //
+                .canLaunch(this::isRemoveWorktreeEnabled) //
                 .exceptionMessage("Worktree-removal is not enabled") //
                 .build(() ->
                 {
@@ -219,6 +279,15 @@ abstract class AbstractGemWorkflow implements IEnvironmentWorkflow {
     // HELPER METHODS
     ////////////////////////////////////
 
+    /**
+     * Gets the journal to record the launches.
+     * 
+     * @return journal for the resources directory.
+     */
+    protected final WorkflowJournal getJournal() {
+        return WorkflowJournal.forResourcesDirectory(environment.getConfiguration().getResourcesDirectory());
+    }
+
     protected final ICommand getFetchOrPullRepoCommand(final IRepository r) {
         final String envBranch = environment.getEnvironmentBranch(r);
         return envBranch.equals(r.getBranch()) // for the same branch pull
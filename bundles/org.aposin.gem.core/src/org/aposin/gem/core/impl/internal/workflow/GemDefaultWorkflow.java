@@ -17,6 +17,7 @@ package org.aposin.gem.core.impl.internal.workflow;
 
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -75,7 +76,7 @@ public final class GemDefaultWorkflow extends AbstractGemWorkflow {
      */
     @Override
     public boolean requiresWorktreeSetup() throws WorkflowException {
-        if (!requiresClone()) {
+        if (!isCloneRequired()) {
             for (final IWorktreeDefinition worktree : getEnvironment().getEnvironmentWorktrees()) {
                 if (!worktree.isAdded()) {
                     return true;
@@ -87,7 +88,7 @@ public final class GemDefaultWorkflow extends AbstractGemWorkflow {
 
     @Override
     public boolean removeWorktreeIsEnabled() {
-        if (!requiresClone()) {
+        if (!isCloneRequired()) {
             for (final IWorktreeDefinition worktree : getEnvironment().getEnvironmentWorktrees()) {
                 if (worktree.isAdded() || Files.exists(worktree.getDestinationLocation())) {
                     return true;
@@ -106,7 +107,7 @@ public final class GemDefaultWorkflow extends AbstractGemWorkflow {
                     + featureBranch + "'; environment does not match");
         }
         // check workflow previous steps
-        if (requiresWorktreeSetup()) {
+        if (isWorktreeSetupRequired()) {
             throw new WorkflowException(ENV_WORKTREE_REQUIRED);
         }
 
@@ -129,6 +130,10 @@ public final class GemDefaultWorkflow extends AbstractGemWorkflow {
             return featureBranch;
         }
 
+        private boolean isCheckoutRequired() throws WorkflowException {
+            return getState(Arrays.asList("requires_checkout", featureBranch), this::requiresCheckout);
+        }
+
         private boolean requiresCheckout() throws WorkflowException {
             for (final IWorktreeDefinition worktreeDef : featureBranch.getEnvironment()
                     .getEnvironmentWorktrees()) {
@@ -156,7 +161,7 @@ public final class GemDefaultWorkflow extends AbstractGemWorkflow {
             return new WorkflowLauncherBuilder(featureBranch, "fetch_checkout_branch") //
                     .displayName("Fetch & Checkout " + featureBranch.getDisplayName()) //
                     .exceptionMessage(FB_CHECKOUT_NOT_REQUIRED) //
-                    .canLaunch(() -> !requiresClone() && requiresCheckout()) //
+                    .canLaunch(() -> !isCloneRequired() && isCheckoutRequired()) //
                     .build(() ->
                     {
                     // first check if all worktrees are clean
@@ -218,7 +223,7 @@ public final class GemDefaultWorkflow extends AbstractGemWorkflow {
             return new WorkflowLauncherBuilder(featureBranch, "merge_branch") //
                     .displayName("Fetch & Merge " + featureBranch.getDisplayName()) //
                     .exceptionMessage(FB_CHECKOUT_REQUIRED) //
-                    .canLaunch(() -> !(requiresClone() || requiresCheckout())) //
+                    .canLaunch(() -> !(isCloneRequired() || isCheckoutRequired())) //
                     .build(() ->
                     {
                         final Map<IRepository, String> branchByRepo = getEnvironment()
@@ -250,8 +255,8 @@ public final class GemDefaultWorkflow extends AbstractGemWorkflow {
         public ILauncher getRemoveBranchLauncher() throws WorkflowException {
             return new WorkflowLauncherBuilder(featureBranch, "remove_branch") //
                     .displayName("Remove " + featureBranch.getDisplayName()) //
-                    .canLaunch(() -> {
-                        if (requiresClone()) {
+                    .canLaunch(() -> getState(Arrays.asList("remove_branch", featureBranch), () -> {
+                        if (isCloneRequired()) {
                             // if it is not cloned we cannot delete anything repository-related
                             // if it is checkout already, cannot delete as it should change to a different branch
                             return false;
@@ -270,7 +275,7 @@ public final class GemDefaultWorkflow extends AbstractGemWorkflow {
 
                         }
                         return anyMatch;
-                    }) //
+                    })) //
                     .build(() -> getCommandListByWorktree(w -> true, // all worktrees
                             this::createRemoveBranchCommand));
         }
@@ -321,12 +326,13 @@ public final class GemDefaultWorkflow extends AbstractGemWorkflow {
                     .canLaunch(() ->
                     {
                         // if requires clone or checkout, cannot launch
-                        if (requiresClone() || requiresCheckout()) {
+                        if (isCloneRequired() || isCheckoutRequired()) {
                             return false;
                         }
                         // otherwise, should check if any worktree requires checkout
-                        return getEnvironment().getEnvironmentWorktrees().stream()//
-                                .anyMatch(wt -> canMergeOrPullWorktree(wt));
+                        return getState(Arrays.asList("pull", featureBranch), //
+                                () -> getEnvironment().getEnvironmentWorktrees().stream()//
+                                        .anyMatch(wt -> canMergeOrPullWorktree(wt)));
                     }) //
                     .build(() -> {
                         // similar to merge
@@ -373,7 +379,7 @@ public final class GemDefaultWorkflow extends AbstractGemWorkflow {
             return new WorkflowLauncherBuilder(featureBranch, "clean_worktree") //
                     .displayName("Clean/Restore " + getEnvironment().getDisplayName()) //
                     .exceptionMessage(ENV_WORKTREE_REQUIRED) //
-                    .canLaunch(() -> !(requiresClone() || requiresCheckout())) //
+                    .canLaunch(() -> !(isCloneRequired() || isCheckoutRequired())) //
                     .build(() -> getCommandListByWorktree(wt -> true, // all worktrees
                             wt -> wt.getCommandBuilder().buildCleanCommand()));
         }
@@ -0,0 +1,270 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.aposin.gem.core.api.workflow.ICommand;
+import org.aposin.gem.core.api.workflow.IWorkflowJournal;
+import org.aposin.gem.core.impl.internal.workflow.command.JournalStepCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only journal of the launched workflows, stored on the resources directory.
+ * </br>
+ * Each line is an entry with the format {@code <timestamp>\t<type>\t<launcherId>[\t<stepId>]},
+ * where the type is one of {@code BEGIN}, {@code STEP} or {@code END}.
+ * A launch with {@code BEGIN} but without {@code END} is pending. Finished launches are
+ * compacted out of the file when it is loaded on the next start.
+ * </br>
+ * Errors writing the journal are logged and never fail the workflow.
+ */
+public final class WorkflowJournal implements IWorkflowJournal {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkflowJournal.class);
+
+    private static final String JOURNAL_FILE_NAME = ".workflow.journal";
+    private static final String SEPARATOR = "\t";
+    private static final String BEGIN = "BEGIN";
+    private static final String STEP = "STEP";
+    private static final String END = "END";
+
+    // one journal per resources directory, as it could be modified in the configuration
+    private static final Map<Path, WorkflowJournal> JOURNALS = new ConcurrentHashMap<>();
+
+    private final Path journalFile;
+    // completed steps by pending launcher ID
+    private Map<String, Set<String>> pendingSteps;
+
+    private WorkflowJournal(final Path journalFile) {
+        this.journalFile = journalFile;
+    }
+
+    /**
+     * Gets the journal for the resources directory.
+     * 
+     * @param resourcesDirectory resources directory.
+     * @return the journal.
+     */
+    public static WorkflowJournal forResourcesDirectory(final Path resourcesDirectory) {
+        return JOURNALS.computeIfAbsent(resourcesDirectory.toAbsolutePath(),
+                dir -> new WorkflowJournal(dir.resolve(JOURNAL_FILE_NAME)));
+    }
+
+    @Override
+    public synchronized Set<String> getPendingLaunches() {
+        return Collections.unmodifiableSet(new HashSet<>(getPendingSteps().keySet()));
+    }
+
+    @Override
+    public void discard(final String launcherId) {
+        end(launcherId);
+    }
+
+    /**
+     * Opens the launch to build its commands (resuming it, if pending).
+     * </br>
+     * The launch is only recorded once its commands start running
+     * (see {@link Launch#track(List)}), so a launch that is built but never run
+     * is not pending.
+     * 
+     * @param launcherId launcher ID.
+     * @return launch to record the steps.
+     */
+    public synchronized Launch open(final String launcherId) {
+        if (getPendingSteps().containsKey(launcherId)) {
+            LOGGER.info("Resuming launch {}", launcherId);
+        }
+        return new Launch(launcherId);
+    }
+
+    private synchronized void begin(final String launcherId) {
+        if (!getPendingSteps().containsKey(launcherId)) {
+            getPendingSteps().put(launcherId, new HashSet<>());
+            append(BEGIN, launcherId);
+        }
+    }
+
+    private synchronized void end(final String launcherId) {
+        if (getPendingSteps().remove(launcherId) != null) {
+            append(END, launcherId);
+        }
+    }
+
+    private synchronized boolean isDone(final String launcherId, final String stepId) {
+        final Set<String> steps = getPendingSteps().get(launcherId);
+        return steps != null && steps.contains(stepId);
+    }
+
+    private synchronized void recordStep(final String launcherId, final String stepId) {
+        final Set<String> steps = getPendingSteps().get(launcherId);
+        if (steps != null && steps.add(stepId)) {
+            append(STEP, launcherId, stepId);
+        }
+    }
+
+    private Map<String, Set<String>> getPendingSteps() {
+        if (pendingSteps == null) {
+            pendingSteps = load();
+            compact();
+        }
+        return pendingSteps;
+    }
+
+    private Map<String, Set<String>> load() {
+        final Map<String, Set<String>> pending = new LinkedHashMap<>();
+        if (!Files.exists(journalFile)) {
+            return pending;
+        }
+        try {
+            for (final String line : Files.readAllLines(journalFile, StandardCharsets.UTF_8)) {
+                final String[] entry = line.split(SEPARATOR);
+                if (entry.length < 3) {
+                    // truncated line (e.g., killed while writing)
+                    continue;
+                }
+                final String type = entry[1];
+                final String launcherId = entry[2];
+                if (BEGIN.equals(type)) {
+                    pending.put(launcherId, new HashSet<>());
+                } else if (END.equals(type)) {
+                    pending.remove(launcherId);
+                } else if (STEP.equals(type) && entry.length > 3
+                        && pending.containsKey(launcherId)) {
+                    pending.get(launcherId).add(entry[3]);
+                }
+            }
+        } catch (final IOException e) {
+            LOGGER.error("Cannot read workflow journal " + journalFile, e);
+        }
+        return pending;
+    }
+
+    /**
+     * Re-writes the journal only with the pending launches.
+     */
+    private void compact() {
+        try {
+            if (pendingSteps.isEmpty()) {
+                Files.deleteIfExists(journalFile);
+                return;
+            }
+            final List<String> lines = new ArrayList<>();
+            for (final Map.Entry<String, Set<String>> launch : pendingSteps.entrySet()) {
+                lines.add(toLine(BEGIN, launch.getKey()));
+                for (final String step : launch.getValue()) {
+                    lines.add(toLine(STEP, launch.getKey(), step));
+                }
+            }
+            final Path tmp = journalFile.resolveSibling(JOURNAL_FILE_NAME + ".tmp");
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            Files.move(tmp, journalFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            LOGGER.error("Cannot compact workflow journal " + journalFile, e);
+        }
+    }
+
+    private void append(final String... entry) {
+        try {
+            Files.createDirectories(journalFile.getParent());
+            // synced to survive a crash right after the step finished
+            Files.writeString(journalFile, toLine(entry) + System.lineSeparator(),
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND,
+                    StandardOpenOption.DSYNC);
+        } catch (final IOException e) {
+            LOGGER.error("Cannot write workflow journal " + journalFile, e);
+        }
+    }
+
+    private static String toLine(final String... entry) {
+        return Instant.now() + SEPARATOR + String.join(SEPARATOR, entry);
+    }
+
+    /**
+     * Launch recorded on the journal.
+     */
+    public final class Launch {
+
+        private final String launcherId;
+
+        private Launch(final String launcherId) {
+            this.launcherId = launcherId;
+        }
+
+        /**
+         * Checks if the step was completed on a previous run of the launch.
+         * 
+         * @param stepId step ID (unique for the launch).
+         * @return {@code true} if the step was completed; {@code false} otherwise.
+         */
+        public boolean isDone(final String stepId) {
+            return WorkflowJournal.this.isDone(launcherId, stepId);
+        }
+
+        /**
+         * Wraps the command to record the step once it finishes successfully.
+         * 
+         * @param stepId step ID (unique for the launch).
+         * @param command command for the step.
+         * @return wrapped command.
+         */
+        public ICommand step(final String stepId, final ICommand command) {
+            return new JournalStepCommand(command, () -> recordStep(launcherId, stepId));
+        }
+
+        /**
+         * Wraps the launched commands to begin the launch once the first of them starts
+         * and to end it once all of them finished successfully.
+         * 
+         * @param commands commands to launch.
+         * @return wrapped commands.
+         */
+        public List<ICommand> track(final List<ICommand> commands) {
+            if (commands.isEmpty()) {
+                end(launcherId);
+                return commands;
+            }
+            final AtomicInteger remaining = new AtomicInteger(commands.size());
+            final List<ICommand> tracked = new ArrayList<>(commands.size());
+            for (final ICommand command : commands) {
+                tracked.add(new JournalStepCommand(command, () -> begin(launcherId), () -> {
+                    if (remaining.decrementAndGet() == 0) {
+                        end(launcherId);
+                    }
+                }));
+            }
+            return tracked;
+        }
+    }
+
+}
@@ -16,7 +16,9 @@
 package org.aposin.gem.core.impl.internal.workflow;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.aposin.gem.core.api.INamedObject;
@@ -25,6 +27,7 @@ import org.aposin.gem.core.api.launcher.ILauncher;
 import org.aposin.gem.core.api.workflow.ICommand;
 import org.aposin.gem.core.api.workflow.WorkflowException;
 import org.aposin.gem.core.exception.GemException;
+import org.aposin.gem.core.impl.internal.workflow.command.base.AbstractCommand;
 
 public class WorkflowLauncherBuilder {
 
@@ -42,6 +45,28 @@ public class WorkflowLauncherBuilder {
     }
 
     public ILauncher build(final Supplier<List<ICommand>> cmdBuilder) {
+        return doBuild(launcher -> cmdBuilder.get());
+    }
+
+    /**
+     * Builds a launcher recording its progress on the journal.
+     * </br>
+     * If a previous launch did not finish, it is resumed: the command builder
+     * can check the steps already done with {@link WorkflowJournal.Launch#isDone(String)}.
+     * 
+     * @param journal journal to record the launch.
+     * @param cmdBuilder builds the commands for the launch.
+     * @return launcher.
+     */
+    public ILauncher buildJournaled(final WorkflowJournal journal,
+            final Function<WorkflowJournal.Launch, List<ICommand>> cmdBuilder) {
+        return doBuild(launcher -> {
+            final WorkflowJournal.Launch launch = journal.open(launcher.getId());
+            return launch.track(cmdBuilder.apply(launch));
+        });
+    }
+
+    private ILauncher doBuild(final Function<ILauncher, List<ICommand>> cmdBuilder) {
         return new AbstractNoParamsLauncher() {
 
             @Override
@@ -75,12 +100,37 @@ public class WorkflowLauncherBuilder {
                     throw new WorkflowException(
                             exceptionMessage != null ? exceptionMessage : "Cannot launch " + getDisplayName());
                 }
-                return cmdBuilder.get();
+                return invalidateStateOnCompletion(cmdBuilder.apply(this));
             }
 
         };
     }
 
+    /**
+     * Invalidates the workflow states (see {@link WorkflowStateSnapshot#invalidateAll()})
+     * once all the launched commands finished, as they might have changed them.
+     * 
+     * @param commands launched commands.
+     * @return the same commands.
+     */
+    private static List<ICommand> invalidateStateOnCompletion(final List<ICommand> commands) {
+        final AtomicInteger remaining = new AtomicInteger(commands.size());
+        for (final ICommand command : commands) {
+            if (command instanceof AbstractCommand) {
+                ((AbstractCommand) command).addCompletionListener(result -> {
+                    // also on re-runs, once all finished
+                    if (remaining.decrementAndGet() <= 0) {
+                        WorkflowStateSnapshot.invalidateAll();
+                    }
+                });
+            } else {
+                // not tracked: invalidate once the tracked ones finished
+                remaining.decrementAndGet();
+            }
+        }
+        return commands;
+    }
+
     public WorkflowLauncherBuilder displayName(final String displayName) {
         this.displayName = displayName;
         return this;
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Snapshot of the state checks of a workflow (e.g., requires clone or checkout).
+ * </br>
+ * The checks access the filesystem and/or the repositories, and are required by every
+ * {@link org.aposin.gem.core.api.launcher.ILauncher#canLaunch()} call. The snapshot
+ * computes each check once and keeps the value until the state is invalidated
+ * ({@link #invalidateAll()}), which happens when all the commands of a workflow launch
+ * finished or a repository is refreshed.
+ */
+public final class WorkflowStateSnapshot {
+
+    // increased on each invalidation; snapshots from previous generations are outdated
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    private volatile State state = new State(-1);
+
+    /**
+     * Invalidates the state of all the workflows.
+     */
+    public static void invalidateAll() {
+        GENERATION.incrementAndGet();
+    }
+
+    /**
+     * Gets the current generation of the state.
+     * </br>
+     * Could be used to cache other values depending on the repository state,
+     * which are outdated once the generation changes.
+     * 
+     * @return current generation.
+     */
+    public static long getGeneration() {
+        return GENERATION.get();
+    }
+
+    /**
+     * Gets the value of a state check.
+     * 
+     * @param key key identifying the check (including its parameters, if any).
+     * @param check check to compute the value if not present on the snapshot.
+     * @return value of the check on the current state.
+     */
+    public boolean get(final Object key, final BooleanSupplier check) {
+        State current = state;
+        final long generation = GENERATION.get();
+        if (current.generation != generation) {
+            current = new State(generation);
+            state = current;
+        }
+        // not using computeIfAbsent, as checks might depend on other checks
+        Boolean value = current.values.get(key);
+        if (value == null) {
+            value = check.getAsBoolean();
+            current.values.put(key, value);
+        }
+        return value;
+    }
+
+    private static final class State {
+
+        private final long generation;
+        private final Map<Object, Boolean> values = new ConcurrentHashMap<>();
+
+        private State(final long generation) {
+            this.generation = generation;
+        }
+    }
+
+}
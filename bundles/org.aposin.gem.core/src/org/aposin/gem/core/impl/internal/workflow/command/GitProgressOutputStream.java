@@ -0,0 +1,143 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow.command;
+
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.aposin.gem.core.api.workflow.CommandProgress.Phase;
+
+/**
+ * {@link OutputStream} which parses the progress lines printed by git
+ * with {@code --progress} (e.g., "Receiving objects:  45% (450/1000), 1.20 MiB | 1.00 MiB/s").
+ * </br>
+ * Lines are split on CR or LF, as git updates the progress with CR.
+ * Only changes on the completed units are reported; the lines that are not progress
+ * (e.g., "fatal: ..." errors) are passed to the message consumer.
+ */
+public class GitProgressOutputStream extends OutputStream {
+
+    // lines longer than this are not progress lines, so they are discarded
+    private static final int MAX_LINE_LENGTH = 512;
+    private static final Pattern PROGRESS_PATTERN =
+            Pattern.compile("^([A-Za-z ]+):\\s+\\d+% \\((\\d+)/(\\d+)\\)");
+    // any progress line, including the ones without percentage and the ones from the remote
+    // (e.g., "remote: Counting objects: 5, done." or "remote: Total 5 (delta 0)")
+    private static final Pattern ANY_PROGRESS_PATTERN =
+            Pattern.compile("^(remote: )?[A-Za-z ]+:?\\s+\\d+");
+
+    /**
+     * Consumer for the parsed progress.
+     */
+    @FunctionalInterface
+    public interface ProgressConsumer {
+
+        /**
+         * Accepts the progress.
+         * 
+         * @param phase current phase.
+         * @param completed completed units on the phase.
+         * @param total total units on the phase.
+         */
+        void accept(final Phase phase, final long completed, final long total);
+    }
+
+    private final ProgressConsumer progressConsumer;
+    private final Consumer<String> messageConsumer;
+    private final byte[] line = new byte[MAX_LINE_LENGTH];
+    private int length = 0;
+    private boolean overflow = false;
+
+    private Phase lastPhase;
+    private long lastCompleted = -1;
+
+    /**
+     * Default constructor.
+     * 
+     * @param progressConsumer consumer for the parsed progress.
+     */
+    public GitProgressOutputStream(final ProgressConsumer progressConsumer) {
+        this(progressConsumer, message -> {
+        });
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param progressConsumer consumer for the parsed progress.
+     * @param messageConsumer consumer for the lines that are not progress.
+     */
+    public GitProgressOutputStream(final ProgressConsumer progressConsumer,
+            final Consumer<String> messageConsumer) {
+        this.progressConsumer = progressConsumer;
+        this.messageConsumer = messageConsumer;
+    }
+
+    @Override
+    public synchronized void write(final int b) {
+        if (b == '\r' || b == '\n') {
+            if (overflow) {
+                // too long for a progress line
+                messageConsumer.accept(new String(line, 0, length, Charset.defaultCharset()) + "[...]");
+            } else if (length != 0) {
+                parseLine(new String(line, 0, length, Charset.defaultCharset()));
+            }
+            length = 0;
+            overflow = false;
+        } else if (length < MAX_LINE_LENGTH) {
+            line[length++] = (byte) b;
+        } else {
+            overflow = true;
+        }
+    }
+
+    @Override
+    public synchronized void write(final byte[] b, final int off, final int len) {
+        for (int i = off; i < off + len; i++) {
+            write(b[i]);
+        }
+    }
+
+    /**
+     * Resets the parser state (e.g., for a re-run).
+     */
+    public synchronized void reset() {
+        length = 0;
+        overflow = false;
+        lastPhase = null;
+        lastCompleted = -1;
+    }
+
+    private void parseLine(final String text) {
+        final Matcher matcher = PROGRESS_PATTERN.matcher(text);
+        if (matcher.find()) {
+            Phase.fromLabel(matcher.group(1).trim()).ifPresent(phase -> {
+                final long completed = Long.parseLong(matcher.group(2));
+                final long total = Long.parseLong(matcher.group(3));
+                if (phase != lastPhase || completed != lastCompleted) {
+                    lastPhase = phase;
+                    lastCompleted = completed;
+                    progressConsumer.accept(phase, completed, total);
+                }
+            });
+        } else if (!ANY_PROGRESS_PATTERN.matcher(text).find()) {
+            messageConsumer.accept(text);
+        }
+    }
+
+}
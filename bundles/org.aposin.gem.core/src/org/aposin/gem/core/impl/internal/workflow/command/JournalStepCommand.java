@@ -0,0 +1,111 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow.command;
+
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.aposin.gem.core.api.workflow.CommandProgress;
+import org.aposin.gem.core.api.workflow.ICommand;
+import org.aposin.gem.core.impl.internal.workflow.command.base.AbstractCommand;
+import org.aposin.gem.core.impl.internal.workflow.command.base.CancellationToken;
+
+/**
+ * Command wrapper to record a step on the workflow journal.
+ * </br>
+ * The start callback is run before the wrapped command; the success callback is only
+ * run if the wrapped command finished successfully.
+ */
+public class JournalStepCommand extends AbstractCommand {
+
+    private final ICommand command;
+    private final Runnable onStart;
+    private final Runnable onSuccess;
+
+    /**
+     * Constructor for the instance.
+     * 
+     * @param command command to run.
+     * @param onSuccess callback to record the step if the command succeed.
+     */
+    public JournalStepCommand(final ICommand command, final Runnable onSuccess) {
+        this(command, () -> {
+        }, onSuccess);
+    }
+
+    /**
+     * Constructor for the instance.
+     * 
+     * @param command command to run.
+     * @param onStart callback to record the start before running the command.
+     * @param onSuccess callback to record the step if the command succeed.
+     */
+    public JournalStepCommand(final ICommand command, final Runnable onStart,
+            final Runnable onSuccess) {
+        super(command.getCommandScope());
+        this.command = command;
+        this.onStart = onStart;
+        this.onSuccess = onSuccess;
+        shareCancellationToken(command, getCancellationToken());
+    }
+
+    @Override
+    protected void setCancellationToken(final CancellationToken cancellationToken) {
+        super.setCancellationToken(cancellationToken);
+        shareCancellationToken(command, cancellationToken);
+    }
+
+    @Override
+    public void setPrintDescriptionBeforeRunning(boolean printCmdDesc) {
+        super.setPrintDescriptionBeforeRunning(printCmdDesc);
+        command.setPrintDescriptionBeforeRunning(printCmdDesc);
+    }
+
+    @Override
+    public void addStdOutStream(OutputStream stdOut) {
+        super.addStdOutStream(stdOut);
+        command.addStdOutStream(stdOut);
+    }
+
+    @Override
+    public void addStdErrStream(OutputStream stdErr) {
+        super.addStdErrStream(stdErr);
+        command.addStdErrStream(stdErr);
+    }
+
+    @Override
+    public void addProgressListener(final Consumer<CommandProgress> listener) {
+        super.addProgressListener(listener);
+        command.addProgressListener(listener);
+    }
+
+    @Override
+    public String getDescription() {
+        return command.getDescription();
+    }
+
+    @Override
+    protected CompletableFuture<IResult> doExecute() {
+        onStart.run();
+        return command.execute().thenApply(result -> {
+            if (!result.isFailed()) {
+                onSuccess.run();
+            }
+            return ResultBuilder.fromResult(this, result).build();
+        });
+    }
+
+}
@@ -15,12 +15,18 @@
  */
 package org.aposin.gem.core.impl.internal.workflow.command;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.text.MessageFormat;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import org.aposin.gem.core.api.INamedObject;
+import org.aposin.gem.core.api.config.IConfiguration;
+import org.aposin.gem.core.api.config.prefs.IPreferences;
+import org.aposin.gem.core.api.config.prefs.IPreferences.TimeoutCategory;
+import org.aposin.gem.core.api.workflow.CommandProgress;
+import org.aposin.gem.core.api.workflow.exception.CommandTimeoutException;
 import org.aposin.gem.core.impl.internal.util.CProcessExecutor;
 import org.aposin.gem.core.impl.internal.workflow.command.base.AbstractCommand;
 import org.zeroturnaround.exec.InvalidExitValueException;
@@ -36,8 +42,23 @@ import org.zeroturnaround.exec.listener.ProcessListener;
  */
 public class ProcessCommand extends AbstractCommand {
 
+    /**
+     * Default number of bytes retained from the std-error if no configuration is provided.
+     */
+    public static final int DEFAULT_ERROR_TAIL_BYTES = 64 * 1024;
+
+    private static final String TRANSCRIPTS_DIRECTORY = "transcripts";
+
     private final CProcessExecutor executor;
-    private final ByteArrayOutputStream stdErr = new ByteArrayOutputStream();
+    // only the tail is kept to avoid unbounded memory for long outputs
+    // (without the progress frames, which would push the error messages out)
+    private final TailOutputStream stdErr;
+    private final TranscriptOutputStream transcript;
+    // kills the process on timeout and reports/kills it without output
+    private final ProcessWatchdog watchdog;
+    // parses the progress from the std-error (only printed by git with --progress)
+    private final GitProgressOutputStream progressParser = new GitProgressOutputStream(
+            (phase, completed, total) -> fireProgress(new CommandProgress(this, phase, completed, total)));
     private final ProcessListener listener = new ProcessListener() {
 
         /**
@@ -59,8 +80,69 @@ public class ProcessCommand extends AbstractCommand {
      * (should be an instance of {@link CProcessExecutor}).
      */
     public ProcessCommand(final INamedObject commandScope, final ProcessExecutor executor) {
+        this(commandScope, executor, DEFAULT_ERROR_TAIL_BYTES, null, //
+                new ProcessWatchdog(Duration.ZERO, Duration.ZERO, false));
+    }
+
+    /**
+     * Constructor with the output retention configured by the preferences.
+     * </br>
+     * If the transcript is enabled on the {@link IPreferences}, the full output is also
+     * written gzipped to the {@link IConfiguration#getGemTempDirectory()}.
+     * 
+     * @param commandScope scope for the command.
+     * @param executor custom process executor
+     * (should be an instance of {@link CProcessExecutor}).
+     * @param config configuration to retrieve the output preferences.
+     */
+    public ProcessCommand(final INamedObject commandScope, final ProcessExecutor executor,
+            final IConfiguration config) {
+        this(commandScope, executor, config, null);
+    }
+
+    /**
+     * Constructor with the output retention and timeouts configured by the preferences.
+     * </br>
+     * The process is killed if it runs longer than the timeout for the category,
+     * and reported (or killed) if it does not produce output for a while. In both cases,
+     * the result fails with a {@link CommandTimeoutException}.
+     * 
+     * @param commandScope scope for the command.
+     * @param executor custom process executor
+     * (should be an instance of {@link CProcessExecutor}).
+     * @param config configuration to retrieve the output and timeout preferences.
+     * @param category timeout category for the command; {@code null} for no timeout.
+     */
+    public ProcessCommand(final INamedObject commandScope, final ProcessExecutor executor,
+            final IConfiguration config, final TimeoutCategory category) {
+        this(commandScope, executor, config.getPreferences().getErrorTailBytes(), //
+                config.getPreferences().isTranscriptEnabled()
+                        ? config.getGemTempDirectory().resolve(TRANSCRIPTS_DIRECTORY)
+                        : null, //
+                new ProcessWatchdog(
+                        category == null ? Duration.ZERO
+                                : config.getPreferences().getCommandTimeout(category),
+                        config.getPreferences().getNoOutputTimeout(),
+                        config.getPreferences().isKillOnNoOutput()));
+    }
+
+    private ProcessCommand(final INamedObject commandScope, final ProcessExecutor executor,
+            final int errorTailBytes, final Path transcriptDirectory,
+            final ProcessWatchdog watchdog) {
         super(commandScope);
         this.executor = (CProcessExecutor) executor;
+        this.stdErr = new TailOutputStream(errorTailBytes, true);
+        this.watchdog = watchdog;
+        addStdOutStream(watchdog);
+        addStdErrStream(watchdog);
+        addStdErrStream(progressParser);
+        if (transcriptDirectory == null) {
+            this.transcript = null;
+        } else {
+            this.transcript = new TranscriptOutputStream(transcriptDirectory, commandScope.getId());
+            addStdOutStream(transcript);
+            addStdErrStream(transcript);
+        }
     }
 
     /**
@@ -70,9 +152,23 @@ public class ProcessCommand extends AbstractCommand {
     public CompletableFuture<IResult> doExecute() {
         try {
             final StartedProcess startedProcess = applyStreamsAndListener(executor).start();
+            // kill the process tree if the command is cancelled while running
+            final Runnable unregisterCancel = getCancellationToken()
+                    .onCancel(() -> destroyProcessTree(startedProcess.getProcess()));
+            // kill the process tree on timeout
+            watchdog.start(startedProcess.getProcess(),
+                    () -> destroyProcessTree(startedProcess.getProcess()), getStdErr()::println);
             return ((CompletableFuture<ProcessResult>) startedProcess.getFuture()) //
                     .handleAsync((pr, ex) -> {
+                        unregisterCancel.run();
+                        watchdog.stop();
                         handleFinishedProcess(startedProcess);
+                        if (getCancellationToken().isCancelled()) {
+                            return getCancelledResult();
+                        }
+                        if (watchdog.getTimeoutException() != null) {
+                            return getFailedResult(watchdog.getTimeoutException());
+                        }
                         if (ex != null) {
                             // this relies that the error code handling is done with the
                             // ProcessExecutor
@@ -89,9 +185,16 @@ public class ProcessCommand extends AbstractCommand {
     }
 
     private void handleFinishedProcess(final StartedProcess startedProcess) {
-        final Process process = startedProcess.getProcess();
         // if the process was cancelled but it is still alive
-        if (startedProcess.getFuture().isCancelled() && process.isAlive()) {
+        if (startedProcess.getFuture().isCancelled()) {
+            destroyProcessTree(startedProcess.getProcess());
+        }
+    }
+
+    private void destroyProcessTree(final Process process) {
+        if (process.isAlive()) {
+            logger.debug("Destroying process tree: {}", getDescription());
+            // descendants first (e.g., git-remote-https), to avoid orphans
             process.descendants().forEach(ProcessHandle::destroy);
             process.destroy();
         }
@@ -102,8 +205,10 @@ public class ProcessCommand extends AbstractCommand {
      */
     @Override
     public final ResultBuilder getFailedResultBuilder(final String errorMsg) {
+        // built eagerly, as the std-error tail is reset after execution
+        final String errorMessage = buildErrorMessage(errorMsg);
         return super.getFailedResultBuilder(errorMsg) //
-                .withErrorMessage(() -> buildErrorMessage(errorMsg)); // include the stdErr if any!
+                .withErrorMessage(() -> errorMessage); // include the stdErr if any!
     }
 
     private final String buildErrorMessage(final String errorMsg) {
@@ -113,6 +218,10 @@ public class ProcessCommand extends AbstractCommand {
 
     @Override
     protected String getFailedResultMessageForException(final Throwable transformedException) {
+        if (transformedException instanceof CommandTimeoutException) {
+            // include the std-error, as it might show the reason (e.g., credentials prompt)
+            return buildErrorMessage(transformedException.getLocalizedMessage());
+        }
         if (transformedException instanceof InvalidExitValueException) {
             return buildErrorMessage("unexpected exit value -> "  + ((InvalidExitValueException) transformedException).getExitValue());
         }
@@ -120,12 +229,17 @@ public class ProcessCommand extends AbstractCommand {
     }
 
     /**
-     * Cleans the accumulated std-error if a re-run is done.
+     * Cleans the accumulated std-error if a re-run is done
+     * and finishes the transcript (if any).
      */
     @Override
     protected void cleanAfterExecute() {
         // reset the std-error
         stdErr.reset();
+        progressParser.reset();
+        if (transcript != null) {
+            transcript.close();
+        }
     }
 
     private boolean setStreamsAndListener = true;
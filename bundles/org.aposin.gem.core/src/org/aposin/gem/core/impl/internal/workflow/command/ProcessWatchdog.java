@@ -0,0 +1,160 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow.command;
+
+import java.io.OutputStream;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.aposin.gem.core.api.workflow.exception.CommandTimeoutException;
+import org.aposin.gem.core.utils.ExecutorUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Watchdog for a running process.
+ * </br>
+ * Kills the process if it exceeds the timeout, and reports (or kills) it if
+ * it does not produce any output for a while. The output activity is tracked by
+ * writing the process output to this stream.
+ */
+final class ProcessWatchdog extends OutputStream {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessWatchdog.class);
+
+    private static final long CHECK_PERIOD_MILLIS = 1000;
+
+    // single daemon thread shared by all the watchdogs
+    private static final ScheduledExecutorService SCHEDULER =
+            ExecutorUtils.newDaemonScheduler("gem-process-watchdog");
+
+    private final Duration timeout;
+    private final Duration noOutputTimeout;
+    private final boolean killOnNoOutput;
+
+    private volatile long startNanos;
+    private volatile long lastOutputNanos;
+    private volatile boolean noOutputReported;
+    private volatile CommandTimeoutException timeoutException;
+    private Consumer<String> reporter;
+    private ScheduledFuture<?> check;
+
+    /**
+     * Constructor.
+     * 
+     * @param timeout maximum duration of the process ({@link Duration#ZERO} to disable).
+     * @param noOutputTimeout maximum duration without output ({@link Duration#ZERO} to disable).
+     * @param killOnNoOutput {@code true} to kill the process without output;
+     *                       {@code false} to only report it.
+     */
+    ProcessWatchdog(final Duration timeout, final Duration noOutputTimeout,
+            final boolean killOnNoOutput) {
+        this.timeout = timeout == null ? Duration.ZERO : timeout;
+        this.noOutputTimeout = noOutputTimeout == null ? Duration.ZERO : noOutputTimeout;
+        this.killOnNoOutput = killOnNoOutput;
+    }
+
+    /**
+     * Starts watching the process.
+     * 
+     * @param process process to watch.
+     * @param killer kills the process (and its descendants).
+     * @param reporter consumer for the messages to report to the user.
+     */
+    synchronized void start(final Process process, final Runnable killer,
+            final Consumer<String> reporter) {
+        this.reporter = reporter;
+        startNanos = System.nanoTime();
+        lastOutputNanos = startNanos;
+        noOutputReported = false;
+        timeoutException = null;
+        if (isEnabled(timeout) || isEnabled(noOutputTimeout)) {
+            check = SCHEDULER.scheduleAtFixedRate(() -> check(process, killer), //
+                    CHECK_PERIOD_MILLIS, CHECK_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops watching the process.
+     */
+    synchronized void stop() {
+        if (check != null) {
+            check.cancel(false);
+            check = null;
+        }
+    }
+
+    /**
+     * Gets the exception if the process was killed by the watchdog.
+     * 
+     * @return the exception; {@code null} if it was not killed.
+     */
+    CommandTimeoutException getTimeoutException() {
+        return timeoutException;
+    }
+
+    private void check(final Process process, final Runnable killer) {
+        if (!process.isAlive() || timeoutException != null) {
+            return;
+        }
+        final long now = System.nanoTime();
+        final Duration running = Duration.ofNanos(now - startNanos);
+        final Duration withoutOutput = Duration.ofNanos(now - lastOutputNanos);
+        if (isEnabled(timeout) && running.compareTo(timeout) > 0) {
+            kill(killer, new CommandTimeoutException(
+                    MessageFormat.format("Timed out after {0}", timeout), timeout));
+        } else if (isEnabled(noOutputTimeout) && withoutOutput.compareTo(noOutputTimeout) > 0) {
+            if (killOnNoOutput) {
+                kill(killer, new CommandTimeoutException(
+                        MessageFormat.format("No output for {0}", noOutputTimeout), noOutputTimeout));
+            } else if (!noOutputReported) {
+                noOutputReported = true;
+                report(MessageFormat.format(
+                        "WARNING: no output for {0}; the process might be hung (e.g., waiting for credentials)",
+                        noOutputTimeout));
+            }
+        }
+    }
+
+    private void kill(final Runnable killer, final CommandTimeoutException exception) {
+        timeoutException = exception;
+        report(exception.getLocalizedMessage() + ": killing the process");
+        killer.run();
+    }
+
+    private void report(final String message) {
+        LOGGER.warn(message);
+        reporter.accept(message);
+    }
+
+    private static boolean isEnabled(final Duration duration) {
+        return !duration.isZero() && !duration.isNegative();
+    }
+
+    @Override
+    public void write(final int b) {
+        lastOutputNanos = System.nanoTime();
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        lastOutputNanos = System.nanoTime();
+    }
+
+}
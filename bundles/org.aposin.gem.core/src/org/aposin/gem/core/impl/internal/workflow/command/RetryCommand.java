@@ -16,10 +16,15 @@
 package org.aposin.gem.core.impl.internal.workflow.command;
 
 import java.io.OutputStream;
+import java.text.MessageFormat;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import org.aposin.gem.core.api.workflow.CommandProgress;
 import org.aposin.gem.core.api.workflow.ICommand;
 import org.aposin.gem.core.impl.internal.workflow.command.base.AbstractCommand;
+import org.aposin.gem.core.impl.internal.workflow.command.base.CancellationToken;
 
 /**
  * Command wrapper to retry a command if it fails until a predicate stops it.
@@ -27,11 +32,17 @@ import org.aposin.gem.core.impl.internal.workflow.command.base.AbstractCommand;
  * When the command is executed, if it returns where {@link IResult#isFailed()}
  * returns {@code false}, retries the execution until {@link #retryStopper} returns
  * {@code true}.
+ * </br>
+ * If a {@link RetryPolicy} is provided, the number of attempts is limited and
+ * it waits with exponential backoff between them.
+ * </br>
+ * The final result is always returned as a result of this command.
  */
 public class RetryCommand extends AbstractCommand {
 
     private final ICommand command;
     private final Predicate<IResult> retryStopper;
+    private final RetryPolicy policy;
 
     /**
      * Constructor for the instance.
@@ -42,9 +53,33 @@ public class RetryCommand extends AbstractCommand {
      *                     {returning @link false}.
      */
     public RetryCommand(final ICommand command, final Predicate<IResult> retryStopper) {
+        this(command, retryStopper, null);
+    }
+
+    /**
+     * Constructor for the instance with a retry policy.
+     * 
+     * @param command command to run.
+     * @param policy policy to decide if a failure should be retried and
+     *               how long to wait before retrying.
+     */
+    public RetryCommand(final ICommand command, final RetryPolicy policy) {
+        this(command, result -> false, policy);
+    }
+
+    private RetryCommand(final ICommand command, final Predicate<IResult> retryStopper,
+            final RetryPolicy policy) {
         super(command.getCommandScope());
         this.command = command;
         this.retryStopper = retryStopper;
+        this.policy = policy;
+        shareCancellationToken(command, getCancellationToken());
+    }
+
+    @Override
+    protected void setCancellationToken(final CancellationToken cancellationToken) {
+        super.setCancellationToken(cancellationToken);
+        shareCancellationToken(command, cancellationToken);
     }
 
     @Override
@@ -65,6 +100,12 @@ public class RetryCommand extends AbstractCommand {
         command.addStdErrStream(stdErr);
     }
 
+    @Override
+    public void addProgressListener(final Consumer<CommandProgress> listener) {
+        super.addProgressListener(listener);
+        command.addProgressListener(listener);
+    }
+
     @Override
     public String getDescription() {
         return command.getDescription() + " (retry)";
@@ -72,12 +113,46 @@ public class RetryCommand extends AbstractCommand {
 
     @Override
     protected CompletableFuture<IResult> doExecute() {
+        return doExecute(1);
+    }
+
+    private CompletableFuture<IResult> doExecute(final int attempt) {
         return command.execute().thenCompose(result -> {
-            if (result.isFailed() && !retryStopper.test(result)) {
-                return doExecute();
+            // never retry if cancelled
+            if (result.isFailed() && !getCancellationToken().isCancelled()
+                    && shouldRetry(result, attempt)) {
+                return waitBeforeRetry(attempt).thenCompose(v -> {
+                    if (getCancellationToken().isCancelled()) {
+                        return CompletableFuture.completedFuture(getCancelledResult());
+                    }
+                    return doExecute(attempt + 1);
+                });
             }
-            return CompletableFuture.completedFuture(result);
+            return CompletableFuture
+                    .completedFuture(ResultBuilder.fromResult(this, result).build());
         });
     }
 
+    private boolean shouldRetry(final IResult result, final int attempt) {
+        if (policy == null) {
+            return !retryStopper.test(result);
+        }
+        return policy.shouldRetry(result, attempt);
+    }
+
+    private CompletableFuture<Void> waitBeforeRetry(final int attempt) {
+        if (policy == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final long delay = policy.getDelayMillis(attempt);
+        getStdErr().println(MessageFormat.format("Retrying ({0}/{1}) in {2} ms: {3}",
+                attempt + 1, policy.getMaxAttempts(), delay, command.getDescription()));
+        final CompletableFuture<Void> wait = new CompletableFuture<>();
+        // complete earlier if cancelled
+        final Runnable unregister = getCancellationToken().onCancel(() -> wait.complete(null));
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                .execute(() -> wait.complete(null));
+        return wait.whenComplete((v, t) -> unregister.run());
+    }
+
 }
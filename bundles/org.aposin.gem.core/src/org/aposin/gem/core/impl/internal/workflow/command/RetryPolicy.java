@@ -0,0 +1,172 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow.command;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import org.aposin.gem.core.api.workflow.ICommand.IResult;
+
+/**
+ * Policy to retry a failed command with exponential backoff.
+ * </br>
+ * Use the {@link Builder} to create instances.
+ */
+public final class RetryPolicy {
+
+    private final int maxAttempts;
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final double jitter;
+    private final Predicate<IResult> retryable;
+
+    private RetryPolicy(final Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialDelay = builder.initialDelay;
+        this.maxDelay = builder.maxDelay;
+        this.jitter = builder.jitter;
+        this.retryable = builder.retryable;
+    }
+
+    /**
+     * Gets the maximum number of attempts (including the first run).
+     * 
+     * @return maximum number of attempts.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Checks if a failed result should be retried after the provided attempt.
+     * 
+     * @param result failed result.
+     * @param attempt number of the attempt that failed (starting at 1).
+     * @return {@code true} if it should be retried; {@code false} otherwise.
+     */
+    public boolean shouldRetry(final IResult result, final int attempt) {
+        return attempt < maxAttempts && retryable.test(result);
+    }
+
+    /**
+     * Gets the delay before the next attempt.
+     * </br>
+     * The delay grows exponentially with each attempt (up to the maximum delay)
+     * and a random jitter is applied to avoid retrying all at the same time.
+     * 
+     * @param attempt number of the attempt that failed (starting at 1).
+     * @return delay in milliseconds.
+     */
+    public long getDelayMillis(final int attempt) {
+        final double exponential = initialDelay.toMillis() * Math.pow(2, attempt - 1d);
+        final double capped = Math.min(exponential, maxDelay.toMillis());
+        final double factor = 1 + jitter * (ThreadLocalRandom.current().nextDouble() * 2 - 1);
+        return Math.max(0, Math.round(capped * factor));
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy [maxAttempts=" + maxAttempts + ", initialDelay=" + initialDelay
+                + ", maxDelay=" + maxDelay + ", jitter=" + jitter + "]";
+    }
+
+    /**
+     * Builder for the {@link RetryPolicy}.
+     */
+    public static final class Builder {
+
+        private int maxAttempts = 3;
+        private Duration initialDelay = Duration.ofSeconds(1);
+        private Duration maxDelay = Duration.ofSeconds(30);
+        private double jitter = 0.2;
+        private Predicate<IResult> retryable = r -> true;
+
+        /**
+         * Sets the maximum number of attempts (including the first run).
+         * </br>
+         * Default is 3.
+         * 
+         * @param maxAttempts maximum number of attempts (1 means no retry).
+         * @return this builder.
+         */
+        public Builder maxAttempts(final int maxAttempts) {
+            this.maxAttempts = Math.max(1, maxAttempts);
+            return this;
+        }
+
+        /**
+         * Sets the delay before the first retry.
+         * </br>
+         * Default is 1 second.
+         * 
+         * @param initialDelay delay.
+         * @return this builder.
+         */
+        public Builder initialDelay(final Duration initialDelay) {
+            this.initialDelay = initialDelay;
+            return this;
+        }
+
+        /**
+         * Sets the maximum delay between retries.
+         * </br>
+         * Default is 30 seconds.
+         * 
+         * @param maxDelay delay.
+         * @return this builder.
+         */
+        public Builder maxDelay(final Duration maxDelay) {
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * Sets the random jitter applied to the delay.
+         * </br>
+         * Default is 0.2 (&plusmn;20%).
+         * 
+         * @param jitter fraction between 0 and 1.
+         * @return this builder.
+         */
+        public Builder jitter(final double jitter) {
+            this.jitter = Math.min(1, Math.max(0, jitter));
+            return this;
+        }
+
+        /**
+         * Sets the classifier for the failures that could be retried.
+         * </br>
+         * Default retries any failure.
+         * 
+         * @param retryable predicate returning {@code true} if the failed result could be retried.
+         * @return this builder.
+         */
+        public Builder retryOn(final Predicate<IResult> retryable) {
+            this.retryable = retryable;
+            return this;
+        }
+
+        /**
+         * Builds the policy.
+         * 
+         * @return retry policy.
+         */
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+
+}
@@ -0,0 +1,204 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow.command;
+
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link OutputStream} which retains only the last bytes written.
+ * </br>
+ * Backed by a fixed-size ring buffer, so the memory used does not depend
+ * on the amount of output.
+ * </br>
+ * Optionally, the progress frames (lines ended by a single CR, as printed by git with
+ * {@code --progress}) are dropped, so they do not push the messages out of the tail.
+ */
+class TailOutputStream extends OutputStream {
+
+    private static final String TRUNCATED_PREFIX = "[...]";
+    // lines longer than this are not progress frames, so they are never dropped
+    private static final int MAX_FRAME_LENGTH = 512;
+
+    private final byte[] buffer;
+    // next position to write
+    private int position = 0;
+    // total bytes written since last reset
+    private long written = 0;
+
+    // current line, until it is known if it is a progress frame (null if frames are kept)
+    private final byte[] line;
+    private int lineLength = 0;
+    private boolean lineEndedByCr = false;
+    private boolean longLine = false;
+
+    /**
+     * Default constructor.
+     * 
+     * @param capacity maximum number of bytes retained.
+     */
+    public TailOutputStream(final int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param capacity maximum number of bytes retained.
+     * @param dropProgressFrames {@code true} to drop the lines ended by a single CR;
+     *        {@code false} to retain all the bytes.
+     */
+    public TailOutputStream(final int capacity, final boolean dropProgressFrames) {
+        this.buffer = new byte[Math.max(0, capacity)];
+        this.line = dropProgressFrames ? new byte[MAX_FRAME_LENGTH] : null;
+    }
+
+    @Override
+    public synchronized void write(final int b) {
+        if (line == null) {
+            retain(b);
+            return;
+        }
+        if (lineEndedByCr) {
+            lineEndedByCr = false;
+            if (b == '\n') {
+                // CRLF line
+                retainLine();
+                retain('\r');
+                retain(b);
+                return;
+            }
+            // progress frame, overwritten by the next one
+            lineLength = 0;
+        }
+        if (longLine) {
+            retain(b);
+            longLine = b != '\r' && b != '\n';
+        } else if (b == '\r') {
+            lineEndedByCr = true;
+        } else if (b == '\n') {
+            retainLine();
+            retain(b);
+        } else if (lineLength < line.length) {
+            line[lineLength++] = (byte) b;
+        } else {
+            retainLine();
+            retain(b);
+            longLine = true;
+        }
+    }
+
+    private void retainLine() {
+        for (int i = 0; i < lineLength; i++) {
+            retain(line[i]);
+        }
+        lineLength = 0;
+    }
+
+    private void retain(final int b) {
+        written++;
+        if (buffer.length != 0) {
+            buffer[position] = (byte) b;
+            position = (position + 1) % buffer.length;
+        }
+    }
+
+    @Override
+    public synchronized void write(final byte[] b, final int off, final int len) {
+        if (line != null) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+            return;
+        }
+        written += len;
+        if (buffer.length == 0) {
+            return;
+        }
+        // only the last bytes that fit the buffer are relevant
+        final int toCopy = Math.min(len, buffer.length);
+        int srcPos = off + len - toCopy;
+        int remaining = toCopy;
+        while (remaining > 0) {
+            final int chunk = Math.min(remaining, buffer.length - position);
+            System.arraycopy(b, srcPos, buffer, position, chunk);
+            position = (position + chunk) % buffer.length;
+            srcPos += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    /**
+     * Clears the retained bytes.
+     */
+    public synchronized void reset() {
+        position = 0;
+        written = 0;
+        lineLength = 0;
+        lineEndedByCr = false;
+        longLine = false;
+    }
+
+    /**
+     * Checks if some bytes were discarded.
+     * 
+     * @return {@code true} if more bytes than the capacity were written; {@code false} otherwise.
+     */
+    public synchronized boolean isTruncated() {
+        return written > buffer.length;
+    }
+
+    /**
+     * Gets the retained bytes as a string with the default charset.
+     * </br>
+     * If the output was truncated, it is prefixed with {@value #TRUNCATED_PREFIX}
+     * and starts on the first complete character. A last line without line terminator
+     * is included (unless it is a progress frame).
+     */
+    @Override
+    public synchronized String toString() {
+        final String tail;
+        if (isTruncated()) {
+            final byte[] ordered = new byte[buffer.length];
+            System.arraycopy(buffer, position, ordered, 0, buffer.length - position);
+            System.arraycopy(buffer, 0, ordered, buffer.length - position, position);
+            final int start = getFirstCharacterOffset(ordered);
+            tail = TRUNCATED_PREFIX + new String(ordered, start, ordered.length - start,
+                    Charset.defaultCharset());
+        } else {
+            tail = new String(buffer, 0, (int) written, Charset.defaultCharset());
+        }
+        if (lineLength != 0 && !lineEndedByCr) {
+            return tail + new String(line, 0, lineLength, Charset.defaultCharset());
+        }
+        return tail;
+    }
+
+    // the oldest retained bytes might be the end of a multi-byte UTF-8 character
+    private static int getFirstCharacterOffset(final byte[] bytes) {
+        if (!StandardCharsets.UTF_8.equals(Charset.defaultCharset())) {
+            return 0;
+        }
+        int offset = 0;
+        // continuation bytes are 10xxxxxx (at most 3 per character)
+        while (offset < bytes.length && offset < 3 && (bytes[offset] & 0xC0) == 0x80) {
+            offset++;
+        }
+        return offset;
+    }
+
+}
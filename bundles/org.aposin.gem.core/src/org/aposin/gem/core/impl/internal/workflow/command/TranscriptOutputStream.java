@@ -0,0 +1,135 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow.command;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link OutputStream} which writes a gzipped transcript of a command.
+ * </br>
+ * The file is created lazily on the first write, and a new one is created
+ * for the next write after {@link #close()} (e.g., when a command is re-run).
+ * </br>
+ * Errors on the transcript are logged and never propagated, as the command
+ * should not fail because of it.
+ */
+class TranscriptOutputStream extends OutputStream {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TranscriptOutputStream.class);
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    private final Path directory;
+    private final String name;
+
+    private OutputStream delegate;
+    private boolean failed = false;
+
+    /**
+     * Default constructor.
+     * 
+     * @param directory directory to write the transcripts.
+     * @param name name to identify the transcript files.
+     */
+    public TranscriptOutputStream(final Path directory, final String name) {
+        this.directory = directory;
+        this.name = name.replaceAll("[^\\w.-]", "_");
+    }
+
+    @Override
+    public synchronized void write(final int b) {
+        final OutputStream os = getDelegate();
+        if (os != null) {
+            try {
+                os.write(b);
+            } catch (final IOException e) {
+                handleError(e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void write(final byte[] b, final int off, final int len) {
+        final OutputStream os = getDelegate();
+        if (os != null) {
+            try {
+                os.write(b, off, len);
+            } catch (final IOException e) {
+                handleError(e);
+            }
+        }
+    }
+
+    /**
+     * Finishes the current transcript file (if any).
+     */
+    @Override
+    public synchronized void close() {
+        if (delegate != null) {
+            try {
+                delegate.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Cannot close transcript for {}", name, e);
+            }
+            delegate = null;
+        }
+        failed = false;
+    }
+
+    private OutputStream getDelegate() {
+        if (delegate == null && !failed) {
+            final Path file = directory.resolve(newFileName());
+            try {
+                Files.createDirectories(directory);
+                delegate = new GZIPOutputStream(Files.newOutputStream(file));
+                LOGGER.debug("Writing transcript to {}", file);
+            } catch (final IOException e) {
+                handleError(e);
+            }
+        }
+        return delegate;
+    }
+
+    private String newFileName() {
+        return String.format("%s_%s_%d.log.gz", LocalDateTime.now().format(TIMESTAMP_FORMAT), //
+                name, COUNTER.incrementAndGet());
+    }
+
+    private void handleError(final IOException e) {
+        LOGGER.warn("Transcript for {} disabled: {}", name, e.getMessage());
+        failed = true;
+        if (delegate != null) {
+            try {
+                delegate.close();
+            } catch (final IOException closeExcp) {
+                LOGGER.debug("Ignored exception", closeExcp);
+            }
+            delegate = null;
+        }
+    }
+
+}
@@ -18,12 +18,17 @@ package org.aposin.gem.core.impl.internal.workflow.command.base;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.text.MessageFormat;
+import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
 import org.aposin.gem.core.api.INamedObject;
+import org.aposin.gem.core.api.workflow.CommandProgress;
 import org.aposin.gem.core.api.workflow.ICommand;
 import org.aposin.gem.core.exception.GemException;
 import org.aposin.gem.core.impl.internal.workflow.command.ResultBuilder;
@@ -46,8 +51,12 @@ public abstract class AbstractCommand implements ICommand {
     private final INamedObject commandScope;
     private final MultiOutputStream stdOutStreams = new MultiOutputStream();
     private final MultiOutputStream stdErrStreams = new MultiOutputStream();
+    private final List<Consumer<CommandProgress>> progressListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<IResult>> completionListeners = new CopyOnWriteArrayList<>();
 
     private boolean isStarted = false;
+    // shared with the sub-commands (if any)
+    private CancellationToken cancellationToken = new CancellationToken();
     private PrintStream stdOut;
     private PrintStream stdErr;
     // default transformer is to unwrap any CompletionException
@@ -107,6 +116,52 @@ public abstract class AbstractCommand implements ICommand {
         stdErrStreams.add(stdErr);
     }
 
+    /**
+     * {@inheritDoc}
+     * </br>
+     * If overriden, super should be called.
+     */
+    @Override
+    public void addProgressListener(final Consumer<CommandProgress> listener) {
+        progressListeners.add(listener);
+    }
+
+    /**
+     * Adds a listener notified with the result each time that the command finishes
+     * (including failed or cancelled executions).
+     * 
+     * @param listener listener for the result.
+     */
+    public void addCompletionListener(final Consumer<IResult> listener) {
+        completionListeners.add(listener);
+    }
+
+    private IResult notifyCompleted(final IResult result) {
+        for (final Consumer<IResult> listener : completionListeners) {
+            try {
+                listener.accept(result);
+            } catch (final RuntimeException e) {
+                logger.error("Error notifying command completion", e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Notifies the progress to the registered listeners.
+     * 
+     * @param progress progress to notify.
+     */
+    protected final void fireProgress(final CommandProgress progress) {
+        for (final Consumer<CommandProgress> listener : progressListeners) {
+            try {
+                listener.accept(progress);
+            } catch (final RuntimeException e) {
+                logger.debug("Ignored progress-listener exception", e);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      * </br>
@@ -125,6 +180,59 @@ public abstract class AbstractCommand implements ICommand {
         return commandScope;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void cancel() {
+        cancellationToken.cancel();
+    }
+
+    /**
+     * Gets the cancellation token for this command.
+     * </br>
+     * Implementations running long tasks should register on it to stop them.
+     * 
+     * @return cancellation token.
+     */
+    protected final CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    /**
+     * Sets the cancellation token for this command.
+     * </br>
+     * Commands wrapping others should override to propagate it to them,
+     * calling super.
+     * 
+     * @param cancellationToken token shared by the command tree.
+     */
+    protected void setCancellationToken(final CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+    }
+
+    /**
+     * Shares the cancellation token with a sub-command.
+     * 
+     * @param command sub-command.
+     * @param cancellationToken token shared by the command tree.
+     */
+    protected static final void shareCancellationToken(final ICommand command,
+            final CancellationToken cancellationToken) {
+        if (command instanceof AbstractCommand) {
+            ((AbstractCommand) command).setCancellationToken(cancellationToken);
+        }
+    }
+
+    /**
+     * Gets the failed result for a cancelled command.
+     * 
+     * @return failed result.
+     */
+    protected final IResult getCancelledResult() {
+        return getFailedResult(new CancellationException("Cancelled"));
+    }
+
     /**
      * Execute the command.
      * </br>
@@ -134,22 +242,25 @@ public abstract class AbstractCommand implements ICommand {
      * The method performs the {@link #doExecute()} and adds a handler to always
      * return a {@link #getFailedResult(Throwable)} if an exception occurs
      * and set back the started flag.
+     * </br>
+     * If the command was cancelled, it returns a cancelled result without running.
      */
     @Override
     public final CompletableFuture<IResult> execute() throws GemException {
         if (isStarted) {
             throw new GemException("Cannot execute as it is already running.");
         }
+        if (cancellationToken.isCancelled()) {
+            logger.trace("Not running cancelled command: {}", getDescription());
+            return CompletableFuture.completedFuture(notifyCompleted(getCancelledResult()));
+        }
         isStarted = true;
         stdOut = new PrintStream(stdOutStreams);
         stdErr = new PrintStream(stdErrStreams);
         return doExecute().handleAsync((result, throwable) -> {
             isStarted = false;
             cleanAfterExecute();
-            if (throwable != null) {
-                return getFailedResult(throwable);
-            }
-            return result;
+            return notifyCompleted(throwable != null ? getFailedResult(throwable) : result);
         });
     }
 
@@ -17,7 +17,9 @@ package org.aposin.gem.core.impl.internal.workflow.command.base;
 
 import java.io.OutputStream;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import org.aposin.gem.core.api.INamedObject;
+import org.aposin.gem.core.api.workflow.CommandProgress;
 import org.aposin.gem.core.api.workflow.ICommand;
 import org.aposin.gem.core.impl.internal.workflow.command.ResultBuilder;
 
@@ -46,6 +48,15 @@ abstract class AbstractComposeCommand extends AbstractCommand {
         this.composeOperator = composeOperator;
         this.first = first;
         this.second = second;
+        shareCancellationToken(first, getCancellationToken());
+        shareCancellationToken(second, getCancellationToken());
+    }
+
+    @Override
+    protected final void setCancellationToken(final CancellationToken cancellationToken) {
+        super.setCancellationToken(cancellationToken);
+        shareCancellationToken(first, cancellationToken);
+        shareCancellationToken(second, cancellationToken);
     }
 
     @Override
@@ -62,6 +73,13 @@ abstract class AbstractComposeCommand extends AbstractCommand {
         second.addStdErrStream(stdErr);
     }
 
+    @Override
+    public final void addProgressListener(final Consumer<CommandProgress> listener) {
+        super.addProgressListener(listener);
+        first.addProgressListener(listener);
+        second.addProgressListener(listener);
+    }
+
     @Override
     public final void setPrintDescriptionBeforeRunning(boolean printCmdDesc) {
         super.setPrintDescriptionBeforeRunning(printCmdDesc);
@@ -0,0 +1,96 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow.command.base;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Token shared by a tree of commands to request a cooperative cancellation.
+ * </br>
+ * Commands check the token before starting and register callbacks to stop
+ * any running work (e.g., kill the running process).
+ */
+public final class CancellationToken {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CancellationToken.class);
+
+    private final List<Runnable> callbacks = new ArrayList<>();
+    private boolean cancelled = false;
+
+    /**
+     * Checks if the cancellation was requested.
+     * 
+     * @return {@code true} if cancelled; {@code false} otherwise.
+     */
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Requests the cancellation and runs the registered callbacks.
+     * </br>
+     * Calling it more than once has no effect.
+     */
+    public void cancel() {
+        final List<Runnable> toRun;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toRun = new ArrayList<>(callbacks);
+            callbacks.clear();
+        }
+        toRun.forEach(CancellationToken::runCallback);
+    }
+
+    /**
+     * Registers a callback to run on cancellation.
+     * </br>
+     * If the token is already cancelled, the callback runs immediately.
+     * 
+     * @param callback callback to run.
+     * @return runnable to unregister the callback (e.g., once the work is finished).
+     */
+    public Runnable onCancel(final Runnable callback) {
+        synchronized (this) {
+            if (!cancelled) {
+                callbacks.add(callback);
+                return () -> unregister(callback);
+            }
+        }
+        runCallback(callback);
+        return () -> {
+            // NO-OP: already run
+        };
+    }
+
+    private synchronized void unregister(final Runnable callback) {
+        callbacks.remove(callback);
+    }
+
+    private static void runCallback(final Runnable callback) {
+        try {
+            callback.run();
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Error on cancellation callback", e);
+        }
+    }
+
+}
@@ -108,6 +108,12 @@ public class OpenEnvironmentLauncherProvider implements IEnvironmentLauncherProv
         }
         return repositoryLaunchers;
     }
+
+    @Override
+    public List<ILauncher> getRepositoryLaunchers(final IEnvironment environment, final IRepository repository) {
+        final ILauncher launcher = openServerLaunchers.get(repository);
+        return launcher == null ? Collections.emptyList() : Collections.singletonList(launcher);
+    }
     
 
     private static final class OpenWorktreesFolder extends AbstractNoParamsLauncher {
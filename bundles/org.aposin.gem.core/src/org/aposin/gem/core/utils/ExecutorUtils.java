@@ -0,0 +1,111 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.utils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Utility class to create the executors shared by the background tasks.
+ * </br>
+ * Executors are bounded, run on daemon threads (released when idle) and are shut down
+ * on {@link #shutdownAll()}, once the core bundle stops.
+ */
+public final class ExecutorUtils {
+
+    /**
+     * Default number of threads for the executors of blocking tasks (e.g., git processes):
+     * the available processors, between 2 and 8.
+     */
+    public static final int DEFAULT_POOL_SIZE =
+            Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private static final List<ExecutorService> EXECUTORS = new CopyOnWriteArrayList<>();
+
+    private ExecutorUtils() {
+        // cannot be instantiated - utility class
+    }
+
+    /**
+     * Creates an executor with {@link #DEFAULT_POOL_SIZE} threads.
+     * 
+     * @param threadName name of the threads.
+     * @return executor.
+     */
+    public static ExecutorService newDaemonPool(final String threadName) {
+        return newDaemonPool(threadName, DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * Creates an executor with a fixed maximum number of threads.
+     * </br>
+     * Tasks are queued once all the threads are busy, and run in order if there is only one.
+     * 
+     * @param threadName name of the threads.
+     * @param threads maximum number of threads.
+     * @return executor.
+     */
+    public static ExecutorService newDaemonPool(final String threadName, final int threads) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                daemonThreadFactory(threadName));
+        executor.allowCoreThreadTimeOut(true);
+        return register(executor);
+    }
+
+    /**
+     * Creates a single-threaded scheduled executor.
+     * 
+     * @param threadName name of the thread.
+     * @return scheduled executor.
+     */
+    public static ScheduledExecutorService newDaemonScheduler(final String threadName) {
+        return register(Executors.newSingleThreadScheduledExecutor(daemonThreadFactory(threadName)));
+    }
+
+    /**
+     * Shuts down all the executors created by this class.
+     * </br>
+     * Running tasks are interrupted and queued ones are discarded.
+     */
+    public static void shutdownAll() {
+        EXECUTORS.forEach(ExecutorService::shutdownNow);
+        EXECUTORS.clear();
+    }
+
+    private static <T extends ExecutorService> T register(final T executor) {
+        EXECUTORS.add(executor);
+        return executor;
+    }
+
+    private static ThreadFactory daemonThreadFactory(final String threadName) {
+        return r -> {
+            final Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
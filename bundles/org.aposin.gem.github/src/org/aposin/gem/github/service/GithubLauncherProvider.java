@@ -17,6 +17,7 @@ package org.aposin.gem.github.service;
 
 import java.awt.Desktop;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -88,6 +89,25 @@ public class GithubLauncherProvider implements IFeatureBranchLauncherProvider {
         return launchers;
     }
     
+    @Override
+    public List<ILauncher> getRepositoryLaunchers(final IFeatureBranch featureBranch,
+            final IRepository repository) {
+        if (!isGitHubServer(repository)) {
+            return Collections.emptyList();
+        }
+        final String checkoutBranch = featureBranch.getCheckoutBranch(repository);
+        if (checkoutBranch.startsWith(IEnvironment.INTERNAL_BRANCH_PREFIX)) {
+            return Collections.emptyList();
+        }
+        for (final IWorktreeDefinition worktreee : featureBranch.getEnvironment()
+                .getEnvironmentWorktrees()) {
+            if (worktreee.getRepository().equals(repository)) {
+                return Collections.singletonList(new PullRequestLauncher(this, worktreee, featureBranch));
+            }
+        }
+        return Collections.emptyList();
+    }
+    
     @Override
     public List<ILauncher> getLaunchers(final IFeatureBranch featureBranch) {
         final List<ILauncher> launchers = new ArrayList<>();
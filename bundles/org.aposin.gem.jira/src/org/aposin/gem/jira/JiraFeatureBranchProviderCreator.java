@@ -15,6 +15,7 @@
  */
 package org.aposin.gem.jira;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,12 +28,13 @@ import org.aposin.gem.jira.internal.config.JiraConfigBean;
 import org.aposin.gem.jira.internal.config.Utils;
 import org.aposin.gem.jira.internal.service.JiraFeatureBranchProvider;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 
 @Component(service = IGemServiceCreator.class)
 public class JiraFeatureBranchProviderCreator implements IGemServiceCreator<IFeatureBranchProvider>, IRefreshable {
 
     private JiraConfigBean configBean;
-    private List<IFeatureBranchProvider> providers;
+    private List<JiraFeatureBranchProvider> providers;
 
     @Override
     public Class<IFeatureBranchProvider> getType() {
@@ -56,10 +58,22 @@ public class JiraFeatureBranchProviderCreator implements IGemServiceCreator<IFea
 
     @Override
     public void refresh() {
+        closeProviders();
         this.configBean = null;
         this.providers = null;
     }
 
+    @Deactivate
+    public void deactivate() {
+        closeProviders();
+    }
+
+    private void closeProviders() {
+        if (providers != null) {
+            providers.forEach(JiraFeatureBranchProvider::close);
+        }
+    }
+
     @Override
     public List<IFeatureBranchProvider> createServices() {
         if (providers == null) {
@@ -67,7 +81,7 @@ public class JiraFeatureBranchProviderCreator implements IGemServiceCreator<IFea
                     .map(JiraFeatureBranchProvider::new) //
                     .collect(Collectors.toList());
         }
-        return providers;
+        return Collections.unmodifiableList(providers);
     }
 
 }
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.jira.internal.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.atlassian.util.concurrent.Promise;
+
+/**
+ * Metrics of the requests done by a JIRA client: number of requests and failures,
+ * latency and requests in flight (which use a connection of the pool).
+ */
+/* package */ final class JiraClientMetrics {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAccumulator maxInFlight = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Tracks the request represented by the promise.
+     * 
+     * @param promise promise for the result of the request.
+     * @return the same promise.
+     */
+    /* package */ <T> Promise<T> track(final Promise<T> promise) {
+        final long start = System.nanoTime();
+        maxInFlight.accumulate(inFlight.incrementAndGet());
+        return promise //
+                .done(result -> completed(start, false)) //
+                .fail(error -> completed(start, true));
+    }
+
+    private void completed(final long start, final boolean failed) {
+        final long latency = System.nanoTime() - start;
+        inFlight.decrementAndGet();
+        requests.increment();
+        if (failed) {
+            failures.increment();
+        }
+        totalLatencyNanos.add(latency);
+        maxLatencyNanos.accumulate(latency);
+    }
+
+    @Override
+    public String toString() {
+        final long count = requests.sum();
+        final long meanMillis = count == 0 ? 0
+                : TimeUnit.NANOSECONDS.toMillis(totalLatencyNanos.sum() / count);
+        return String.format(
+                "%d requests (%d failed), latency mean=%dms max=%dms, in flight=%d (max=%d)", //
+                count, failures.sum(), meanMillis,
+                TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get()), inFlight.get(),
+                maxInFlight.get());
+    }
+
+}
@@ -15,14 +15,24 @@
  */
 package org.aposin.gem.jira.internal.service;
 
+import java.io.IOException;
 import java.net.URI;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import org.aposin.gem.core.api.config.GemConfigurationException;
 import org.aposin.gem.core.api.config.IConfiguration;
@@ -36,6 +46,7 @@ import org.slf4j.LoggerFactory;
 
 import com.atlassian.jira.rest.client.api.JiraRestClient;
 import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.SearchRestClient;
 import com.atlassian.jira.rest.client.api.domain.Issue;
 import com.atlassian.jira.rest.client.api.domain.SearchResult;
 import com.atlassian.jira.rest.client.internal.async.AsynchronousJiraRestClientFactory;
@@ -45,17 +56,44 @@ import io.atlassian.util.concurrent.Promise;
 /**
  * Provides feature-branches based on JIRA tickets obtained by the configured
  * JIRA query (JQL).
+ * </br>
+ * Issues are kept on a local store ({@link JiraIssueStore}), so they are available
+ * on start even if JIRA is not reachable. Once per refresh, the store is synchronized
+ * only with the issues updated since the last synchronization; periodically, the
+ * keys of all the issues are requested to remove the ones not matching the query anymore.
+ * </br>
+ * The JIRA client is kept open between requests to reuse its pooled connections, and
+ * it is closed when the configuration is set again or on {@link #close()}.
  */
 public final class JiraFeatureBranchProvider implements IFeatureBranchProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JiraFeatureBranchProvider.class);
 
+    private static final long RECONCILIATION_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(12);
+    // overlap of the incremental search, covering the search latency
+    private static final long SYNC_OVERLAP_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final int PAGE_SIZE = 100;
+    // maximum number of pages requested at the same time
+    private static final int MAX_PARALLEL_PAGES = 4;
+    // fields required by the REST client to parse the issues
+    private static final Set<String> REQUIRED_FIELDS =
+            Set.of("summary", "issuetype", "created", "updated", "project", "status");
+    private static final Set<String> ISSUE_FIELDS =
+            Set.of("summary", "issuetype", "created", "updated", "project", "status", "description");
+    private static final Pattern ORDER_BY = Pattern.compile("(?i)(^|\\s+)order\\s+by\\s+");
+
     private final String providerName;
 
-    private final Map<IEnvironment, List<IFeatureBranch>> fetchedTasks = new HashMap<>();
-    private Iterable<Issue> fetchedIssues;
+    // feature-branches might be requested asynchronously
+    private final Map<IEnvironment, List<IFeatureBranch>> fetchedTasks = new ConcurrentHashMap<>();
+    private final Map<IEnvironment, Map<String, IFeatureBranch>> fetchedTasksById = new ConcurrentHashMap<>();
+    private volatile boolean synchronizedIssues = false;
 
     private JiraProviderConfigBean configBean;
+    private JiraIssueStore store;
+    // guarded by this
+    private JiraRestClient restClient;
+    private JiraClientMetrics clientMetrics;
 
     public JiraFeatureBranchProvider(String providerName) {
         this.providerName = providerName;
@@ -86,16 +124,29 @@ public final class JiraFeatureBranchProvider implements IFeatureBranchProvider {
      */
     @Override
     public void setConfig(IConfiguration config) throws GemConfigurationException {
+        // client for the previous configuration
+        close();
         configBean = Utils.getProviderConfig(config, providerName);
+        store = new JiraIssueStore(config.getResourcesDirectory(), providerName, configBean.url,
+                configBean.jql);
         // if configuration is set again, it should refresh
-        try (JiraRestClient restClient = createJiraClient()) {
-            restClient.getSessionClient().getCurrentSession().get().getLoginInfo();
+        try {
+            final JiraRestClient client = getJiraClient();
+            clientMetrics.track(client.getSessionClient().getCurrentSession()).get().getLoginInfo();
             refresh();
         } catch (final Exception e) {
-            if (e instanceof RestClientException) {
-                handleRestClientException((RestClientException) e);
-            } else if (e.getCause() instanceof RestClientException) {
-                handleRestClientException((RestClientException) e.getCause());
+            final RestClientException restException = e instanceof RestClientException //
+                    ? (RestClientException) e //
+                    : e.getCause() instanceof RestClientException ? (RestClientException) e.getCause() : null;
+            // without status code JIRA is not reachable: work offline with the stored issues
+            if (!store.isEmpty() && (restException == null || restException.getStatusCode().isEmpty())) {
+                LOGGER.warn("JIRA not reachable for provider {}: using the stored issues", this.getId());
+                LOGGER.debug("Exception", e);
+                refresh();
+                return;
+            }
+            if (restException != null) {
+                handleRestClientException(restException);
             }
             LOGGER.error("Unexpected error for provider " + this.getId(), e);
             throw new GemConfigurationException("Unexpected error: " + e.getLocalizedMessage(), e);
@@ -117,8 +168,9 @@ public final class JiraFeatureBranchProvider implements IFeatureBranchProvider {
 
     @Override
     public void refresh() {
-        fetchedIssues = null;
+        synchronizedIssues = false;
         fetchedTasks.clear();
+        fetchedTasksById.clear();
     }
 
     @Override
@@ -126,40 +178,167 @@ public final class JiraFeatureBranchProvider implements IFeatureBranchProvider {
         return fetchedTasks.computeIfAbsent(environment, this::doGetFeatureBranches);
     }
 
-    private final JiraRestClient createJiraClient() {
-        return new AsynchronousJiraRestClientFactory().create(URI.create(configBean.url),
-                // use basic-auth but not with decrypt user/password for security
-                builder -> builder.setHeader("Authorization", "Basic " + configBean.authToken));
+    @Override
+    public Optional<IFeatureBranch> findById(final IEnvironment environment, final String id) {
+        return Optional.ofNullable(fetchedTasksById.computeIfAbsent(environment, env -> //
+                getFeatureBranches(env).stream() //
+                        .collect(Collectors.toMap(IFeatureBranch::getId, Function.identity(), //
+                                (first, second) -> first)))
+                .get(id));
     }
 
-    private List<IFeatureBranch> doGetFeatureBranches(final IEnvironment environment) {
-        if (fetchedIssues == null) {
-            // try with resources, to close the client after fetching
-            try (JiraRestClient restClient = createJiraClient()) {
-                final Promise<SearchResult> result = restClient.getSearchClient().searchJql(configBean.jql);
-                fetchedIssues = result.claim().getIssues();
-            } catch (final Exception e) {
-                // TODO: the user should be informed that the provider failed to fetch the branches
-                // TODO: but this requires handling on the UI for this case
-                LOGGER.error("Error fetching issues: no FB provided by " + this.getId(), e);
-                LOGGER.warn("Refresh is required to retry fetching");
-                fetchedIssues = Collections.emptyList();
+    @Override
+    public Optional<IFeatureBranch> findByName(final IEnvironment environment, final String name) {
+        // names are prefixed by the provider name (see IFeatureBranch#getName())
+        final String prefix = getName() + IEnvironment.BRANCH_NAME_SEPARATOR;
+        if (!name.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        return findById(environment, name.substring(prefix.length()));
+    }
+
+    private synchronized JiraRestClient getJiraClient() {
+        if (restClient == null) {
+            restClient = new AsynchronousJiraRestClientFactory().create(URI.create(configBean.url),
+                    // use basic-auth but not with decrypt user/password for security
+                    builder -> builder.setHeader("Authorization", "Basic " + configBean.authToken));
+            clientMetrics = new JiraClientMetrics();
+        }
+        return restClient;
+    }
+
+    /**
+     * Closes the JIRA client, if any.
+     * </br>
+     * The client is created again on the next request.
+     */
+    public synchronized void close() {
+        if (restClient != null) {
+            LOGGER.debug("Closing JIRA client for provider {}: {}", this.getId(), clientMetrics);
+            try {
+                restClient.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Error closing JIRA client for provider " + this.getId(), e);
             }
+            restClient = null;
         }
+    }
 
-        return StreamSupport.stream(fetchedIssues.spliterator(), false) //
+    private List<IFeatureBranch> doGetFeatureBranches(final IEnvironment environment) {
+        synchronizeIssues();
+        return store.getIssues().stream() //
                 .map(issue -> new JiraFeatureBranch(issue, environment, this))
                 .collect(Collectors.toList());
     }
 
+    private synchronized void synchronizeIssues() {
+        if (synchronizedIssues) {
+            return;
+        }
+        try {
+            synchronizeIssues(getJiraClient(), System.currentTimeMillis());
+            LOGGER.debug("JIRA client for provider {}: {}", this.getId(), clientMetrics);
+        } catch (final Exception e) {
+            // TODO: the user should be informed that the provider failed to fetch the branches
+            // TODO: but this requires handling on the UI for this case
+            LOGGER.error("Error fetching issues: only stored FB provided by " + this.getId(), e);
+            LOGGER.warn("Refresh is required to retry fetching");
+        }
+        synchronizedIssues = true;
+    }
+
+    private void synchronizeIssues(final JiraRestClient restClient, final long syncTime) {
+        if (store.getLastReconciliation() == 0) {
+            LOGGER.info("Fetching all issues for provider {}", this.getId());
+            store.replaceAll(search(restClient, configBean.jql, ISSUE_FIELDS), syncTime);
+            return;
+        }
+        // relative time on the JIRA query, to be independent of the time-zone of the user
+        final long minutes = TimeUnit.MILLISECONDS
+                .toMinutes(syncTime - store.getLastSync() + SYNC_OVERLAP_MILLIS) + 1;
+        final List<JiraIssue> changedIssues = search(restClient,
+                withCondition(configBean.jql, "updated >= -" + minutes + "m"), ISSUE_FIELDS);
+        LOGGER.debug("{} issues updated for provider {}", changedIssues.size(), this.getId());
+        store.update(changedIssues, syncTime);
+
+        if (syncTime - store.getLastReconciliation() > RECONCILIATION_INTERVAL_MILLIS) {
+            LOGGER.info("Reconciling stored issues for provider {}", this.getId());
+            final Set<String> matchingKeys = search(restClient, configBean.jql, REQUIRED_FIELDS).stream() //
+                    .map(JiraIssue::getKey) //
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            // issues matching the query without being updated (e.g., relative dates on the query)
+            final Set<String> missingKeys = new HashSet<>(matchingKeys);
+            missingKeys.removeAll(store.getKeys());
+            if (!missingKeys.isEmpty()) {
+                store.update(search(restClient,
+                        "key in (" + String.join(",", missingKeys) + ")", ISSUE_FIELDS), syncTime);
+            }
+            store.retainAll(matchingKeys, syncTime);
+        }
+    }
+
+    /**
+     * Searches all the issues matching the JQL, requesting only the provided fields.
+     * </br>
+     * The first page gives the total and the page size allowed by the server; the
+     * rest of the pages are requested in parallel (the client is asynchronous) and
+     * collected in order.
+     */
+    private List<JiraIssue> search(final JiraRestClient restClient, final String jql,
+            final Set<String> fields) {
+        final SearchRestClient searchClient = restClient.getSearchClient();
+        final SearchResult firstPage =
+                clientMetrics.track(searchClient.searchJql(jql, PAGE_SIZE, 0, fields)).claim();
+        final List<JiraIssue> issues = new ArrayList<>(Math.max(firstPage.getTotal(), 0));
+        firstPage.getIssues().forEach(issue -> issues.add(toJiraIssue(issue)));
+        // the server might limit the page size
+        final int pageSize = firstPage.getMaxResults();
+        if (pageSize <= 0) {
+            return issues;
+        }
+
+        final Deque<Promise<SearchResult>> pages = new ArrayDeque<>(MAX_PARALLEL_PAGES);
+        int startAt = pageSize;
+        while (startAt < firstPage.getTotal() || !pages.isEmpty()) {
+            while (startAt < firstPage.getTotal() && pages.size() < MAX_PARALLEL_PAGES) {
+                pages.add(clientMetrics.track(searchClient.searchJql(jql, pageSize, startAt, fields)));
+                startAt += pageSize;
+            }
+            pages.poll().claim().getIssues().forEach(issue -> issues.add(toJiraIssue(issue)));
+        }
+        return issues;
+    }
+
+    private static JiraIssue toJiraIssue(final Issue issue) {
+        return new JiraIssue(issue.getKey(), issue.getSummary(), issue.getDescription(),
+                issue.getUpdateDate() == null ? 0 : issue.getUpdateDate().getMillis());
+    }
+
+    /**
+     * Adds a condition to the JQL, keeping the order clause (if any) at the end.
+     */
+    private static String withCondition(final String jql, final String condition) {
+        final Matcher matcher = ORDER_BY.matcher(jql);
+        int orderByStart = -1;
+        while (matcher.find()) {
+            orderByStart = matcher.start();
+        }
+        final String query = orderByStart < 0 ? jql : jql.substring(0, orderByStart);
+        final String orderBy = orderByStart < 0 ? "" : jql.substring(orderByStart);
+        if (query.isBlank()) {
+            return condition + orderBy;
+        }
+        return "(" + query + ") AND " + condition + orderBy;
+    }
+
     public final class JiraFeatureBranch implements IFeatureBranch {
 
         public final IEnvironment environment;
         public final JiraFeatureBranchProvider provider;
 
-        public final Issue issue;
+        public final JiraIssue issue;
 
-        public JiraFeatureBranch(final Issue issue, final IEnvironment environment,
+        public JiraFeatureBranch(final JiraIssue issue, final IEnvironment environment,
                 final JiraFeatureBranchProvider provider) {
             this.issue = issue;
             this.environment = environment;
@@ -0,0 +1,87 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.jira.internal.service;
+
+import java.util.Objects;
+
+/**
+ * JIRA issue with the fields required for the feature-branches.
+ * </br>
+ * Decoupled from the REST client domain, so it can be stored locally.
+ */
+public final class JiraIssue {
+
+    private final String key;
+    private final String summary;
+    private final String description;
+    private final long updated;
+
+    /**
+     * Constructor.
+     * 
+     * @param key issue key.
+     * @param summary summary; might be {@code null}.
+     * @param description description; might be {@code null}.
+     * @param updated last update of the issue (epoch millis); {@code 0} if unknown.
+     */
+    public JiraIssue(final String key, final String summary, final String description,
+            final long updated) {
+        this.key = Objects.requireNonNull(key);
+        this.summary = summary;
+        this.description = description;
+        this.updated = updated;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj instanceof JiraIssue) {
+            final JiraIssue other = (JiraIssue) obj;
+            return key.equals(other.key) && updated == other.updated
+                    && Objects.equals(summary, other.summary)
+                    && Objects.equals(description, other.description);
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+
+}
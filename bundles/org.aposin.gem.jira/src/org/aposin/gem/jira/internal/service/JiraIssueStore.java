@@ -0,0 +1,227 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.jira.internal.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local store of the issues of a JIRA provider, kept on the resources directory.
+ * </br>
+ * The store is bound to the URL and JQL of the provider: if any of them changes,
+ * the stored issues are discarded. It also keeps the time of the last synchronization
+ * (any search) and of the last reconciliation (search of all the issues), which are
+ * local times.
+ * </br>
+ * Errors reading or writing the store are logged and the store is considered empty.
+ */
+/* package */ final class JiraIssueStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JiraIssueStore.class);
+
+    private static final String STORE_DIRECTORY_NAME = ".jira";
+    private static final String STORE_FILE_EXTENSION = ".issues";
+    // increase if the format changes
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path storeFile;
+    private final String url;
+    private final String jql;
+
+    private final Map<String, JiraIssue> issues = new LinkedHashMap<>();
+    private long lastSync = 0;
+    private long lastReconciliation = 0;
+
+    /* package */ JiraIssueStore(final Path resourcesDirectory, final String providerName,
+            final String url, final String jql) {
+        this.storeFile = resourcesDirectory.resolve(STORE_DIRECTORY_NAME)
+                .resolve(providerName + STORE_FILE_EXTENSION);
+        this.url = url;
+        this.jql = jql;
+        load();
+    }
+
+    /* package */ synchronized List<JiraIssue> getIssues() {
+        return Collections.unmodifiableList(new ArrayList<>(issues.values()));
+    }
+
+    /* package */ synchronized boolean isEmpty() {
+        return issues.isEmpty();
+    }
+
+    /* package */ synchronized long getLastSync() {
+        return lastSync;
+    }
+
+    /* package */ synchronized long getLastReconciliation() {
+        return lastReconciliation;
+    }
+
+    /* package */ synchronized Set<String> getKeys() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(issues.keySet()));
+    }
+
+    /**
+     * Replaces all the issues with the result of a full search.
+     * 
+     * @param allIssues issues, in the order to be returned.
+     * @param syncTime local time when the search started.
+     */
+    /* package */ synchronized void replaceAll(final Collection<JiraIssue> allIssues,
+            final long syncTime) {
+        issues.clear();
+        allIssues.forEach(issue -> issues.put(issue.getKey(), issue));
+        lastSync = syncTime;
+        lastReconciliation = syncTime;
+        save();
+    }
+
+    /**
+     * Updates the issues changed since the last synchronization.
+     * </br>
+     * New issues are added first, as they are usually the most recent ones.
+     * 
+     * @param changedIssues issues updated (or created) since the last synchronization.
+     * @param syncTime local time when the search started.
+     */
+    /* package */ synchronized void update(final Collection<JiraIssue> changedIssues,
+            final long syncTime) {
+        final Map<String, JiraIssue> newIssues = new LinkedHashMap<>();
+        for (final JiraIssue issue : changedIssues) {
+            if (issues.containsKey(issue.getKey())) {
+                issues.put(issue.getKey(), issue);
+            } else {
+                newIssues.put(issue.getKey(), issue);
+            }
+        }
+        if (!newIssues.isEmpty()) {
+            newIssues.putAll(issues);
+            issues.clear();
+            issues.putAll(newIssues);
+        }
+        lastSync = syncTime;
+        save();
+    }
+
+    /**
+     * Removes the issues not matching the query anymore.
+     * 
+     * @param matchingKeys keys of all the issues matching the query.
+     * @param syncTime local time when the search started.
+     */
+    /* package */ synchronized void retainAll(final Set<String> matchingKeys, final long syncTime) {
+        issues.keySet().retainAll(matchingKeys);
+        lastReconciliation = syncTime;
+        save();
+    }
+
+    private void load() {
+        if (!Files.exists(storeFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(storeFile)))) {
+            if (in.readInt() != FORMAT_VERSION || !url.equals(readString(in))
+                    || !jql.equals(readString(in))) {
+                LOGGER.info("Discarding outdated JIRA issue store {}", storeFile);
+                return;
+            }
+            final long storedSync = in.readLong();
+            final long storedReconciliation = in.readLong();
+            final int size = in.readInt();
+            final Map<String, JiraIssue> stored = new LinkedHashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                final JiraIssue issue = new JiraIssue(readString(in), readString(in),
+                        readString(in), in.readLong());
+                stored.put(issue.getKey(), issue);
+            }
+            // only set once completely read
+            issues.putAll(stored);
+            lastSync = storedSync;
+            lastReconciliation = storedReconciliation;
+            LOGGER.debug("Loaded {} JIRA issues from {}", size, storeFile);
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.error("Cannot read JIRA issue store " + storeFile, e);
+        }
+    }
+
+    private void save() {
+        final Path tmp = storeFile.resolveSibling(storeFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(storeFile.getParent());
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, url);
+                writeString(out, jql);
+                out.writeLong(lastSync);
+                out.writeLong(lastReconciliation);
+                out.writeInt(issues.size());
+                for (final JiraIssue issue : issues.values()) {
+                    writeString(out, issue.getKey());
+                    writeString(out, issue.getSummary());
+                    writeString(out, issue.getDescription());
+                    out.writeLong(issue.getUpdated());
+                }
+            }
+            Files.move(tmp, storeFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            LOGGER.error("Cannot write JIRA issue store " + storeFile, e);
+        }
+    }
+
+    // strings might be longer than the limit of DataOutput#writeUTF (descriptions)
+    private static void writeString(final DataOutputStream out, final String value)
+            throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -17,7 +17,9 @@ package org.aposin.gem.ui.dialog.obsolete;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -29,8 +31,10 @@ import org.aposin.gem.ui.view.labelprovider.TypedColumnLabelProvider.TypedColumn
 import org.eclipse.jface.dialogs.Dialog;
 import org.eclipse.jface.dialogs.IDialogConstants;
 import org.eclipse.jface.layout.GridLayoutFactory;
+import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.jface.viewers.ArrayContentProvider;
 import org.eclipse.jface.viewers.CheckboxTreeViewer;
+import org.eclipse.jface.viewers.ICheckStateProvider;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.window.Window;
 import org.eclipse.swt.events.SelectionAdapter;
@@ -54,6 +58,8 @@ public class ObsoleteEnvironmentDialog extends Dialog {
     
     private ObsoleteEnvironmentsView view;
 
+    // check state is kept on the model, as the tree is virtual
+    private final Set<Object> checkedItems = new LinkedHashSet<>();
     private Object[] selectedItems;
 
     /**
@@ -98,6 +104,7 @@ public class ObsoleteEnvironmentDialog extends Dialog {
         view.setLayoutData(new GridData(GridData.GRAB_HORIZONTAL | GridData.GRAB_VERTICAL | GridData.FILL_BOTH));
         applyMessages();
         view.getCheckboxTreeViewer().setContentProvider(new TreeContentProvider());
+        view.getCheckboxTreeViewer().setCheckStateProvider(new CheckStateProvider());
         setColumnLabelProviders();
         GridLayoutFactory.fillDefaults().generateLayout(parent);
         applyDialogFont(tableComposite);
@@ -112,10 +119,10 @@ public class ObsoleteEnvironmentDialog extends Dialog {
                 obsoleteEnvironments.stream().forEach(project -> setCheckedState(project, checkState));
             }
         });
-        // set the input 
+        // set the input with all check-boxes expanded (only created when shown)
+        checkboxTreeViewer.setAutoExpandLevel(AbstractTreeViewer.ALL_LEVELS);
         checkboxTreeViewer.setInput(this.obsoleteEnvironments);
-        // trigger layout with all check-boxes expanded and columns packed 
-        checkboxTreeViewer.expandAll();
+        // trigger layout with columns packed
         TreeColumn[] columns = checkboxTreeViewer.getTree().getColumns();
         for (TreeColumn column : columns) {
             column.pack();
@@ -126,32 +133,48 @@ public class ObsoleteEnvironmentDialog extends Dialog {
 
     private void setCheckedState(Object element, boolean checked) {
         final CheckboxTreeViewer checkboxTreeViewer = view.getCheckboxTreeViewer();
-        checkboxTreeViewer.setSubtreeChecked(element, checked);
+        final ITreeContentProvider provider = (ITreeContentProvider) checkboxTreeViewer.getContentProvider();
+        setSubtreeChecked(provider, element, checked);
         // if child node check changed, update parent node accordingly.
         if (element instanceof IEnvironment) {
-            ITreeContentProvider provider = (ITreeContentProvider) checkboxTreeViewer.getContentProvider();
             final Object parentElement = provider.getParent(element);
-            final boolean parentChecked = checkboxTreeViewer.getChecked(parentElement);
+            final boolean parentChecked = checkedItems.contains(parentElement);
             // if unchecked
             if (!checked && parentChecked) {
                 final boolean noneChecked = Arrays.stream(provider.getChildren(parentElement)) //
-                        .noneMatch(checkboxTreeViewer::getChecked);
+                        .noneMatch(checkedItems::contains);
                 if (noneChecked) {
-                    checkboxTreeViewer.setChecked(parentElement, false);
+                    checkedItems.remove(parentElement);
                 }
             } else if (!parentChecked) { // if checked
                 final boolean allChecked = Arrays.stream(provider.getChildren(parentElement)) //
-                        .allMatch(checkboxTreeViewer::getChecked);
+                        .allMatch(checkedItems::contains);
                 if (allChecked) {
-                    checkboxTreeViewer.setChecked(parentElement, true);
+                    checkedItems.add(parentElement);
                 }
             }
         }
-        selectedItems = checkboxTreeViewer.getCheckedElements();
+        // only the created items are updated
+        checkboxTreeViewer.refresh();
+        selectedItems = checkedItems.toArray();
         getButton(IDialogConstants.OK_ID).setEnabled(selectedItems.length > 0);
         view.getSelectAllButton().setSelection(selectedItems.length == itemSize);
     }
 
+    private void setSubtreeChecked(final ITreeContentProvider provider, final Object element,
+            final boolean checked) {
+        if (checked) {
+            checkedItems.add(element);
+        } else {
+            checkedItems.remove(element);
+        }
+        if (provider.hasChildren(element)) {
+            for (final Object child : provider.getChildren(element)) {
+                setSubtreeChecked(provider, child, checked);
+            }
+        }
+    }
+
     private void applyMessages() {
         view.getColumnProject().getColumn().setText(messages.project_label_common);
         view.getColumnEnvironment().getColumn().setText(messages.environment_label_common);
@@ -212,6 +235,19 @@ public class ObsoleteEnvironmentDialog extends Dialog {
         }
     }
 
+    private class CheckStateProvider implements ICheckStateProvider {
+
+        @Override
+        public boolean isChecked(Object element) {
+            return checkedItems.contains(element);
+        }
+
+        @Override
+        public boolean isGrayed(Object element) {
+            return false;
+        }
+    }
+
     /**
      * Opens dialog with obsolete environments 
      * @param parentShell
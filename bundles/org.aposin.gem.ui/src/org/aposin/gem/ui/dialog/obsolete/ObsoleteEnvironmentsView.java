@@ -51,7 +51,8 @@ class ObsoleteEnvironmentsView extends Composite {
         tableComposite.setLayoutData(
                 new GridData(SWT.FILL, style, true, true));
         treeViewer = new CheckboxTreeViewer(tableComposite,
-                SWT.FILL | SWT.CHECK | SWT.FULL_SELECTION | SWT.BORDER);
+                SWT.FILL | SWT.CHECK | SWT.FULL_SELECTION | SWT.BORDER | SWT.VIRTUAL);
+        treeViewer.setUseHashlookup(true);
 
         final TreeColumnLayout treeColumnLayout = new TreeColumnLayout(true);
         tableComposite.setLayout(treeColumnLayout);
@@ -54,12 +54,13 @@ public class CommandProgressDialog {
      * 
      * @param name
      * @param commands
+     * @param consoleMaxLines maximum number of lines kept on each command console.
      * @return {@code true} if the pipeline was run; {@code false} otherwise.
      */
     public static boolean open(final Shell parent, final String name, final Messages messages,
-            final List<ICommand> commands) {
+            final List<ICommand> commands, final int consoleMaxLines) {
         IStatus error = null;
-        final CliProgressMonitorDialog dialog = new CliProgressMonitorDialog(parent, messages, commands);
+        final CliProgressMonitorDialog dialog = new CliProgressMonitorDialog(parent, messages, commands, consoleMaxLines);
         try {
             // result consumer to update the field decorator
             final Consumer<IResult> resultConsumer = r -> {
@@ -70,8 +71,10 @@ public class CommandProgressDialog {
                 }
                 LOGGER.debug("Command finished");
             };
-            // never allows cancel!
-            dialog.run(true, false, new CommandsRunnable(name, messages, commands, resultConsumer));
+            // show the progress of each command on its tab
+            commands.forEach(cmd -> cmd.addProgressListener(p -> dialog.setCommandProgress(cmd, p)));
+            // cancel is propagated to the running commands
+            dialog.run(true, true, new CommandsRunnable(name, messages, commands, resultConsumer));
         } catch (final InvocationTargetException | InterruptedException e) {
             final Throwable cause = e.getCause();
             if (cause instanceof AnyCommandFailedException) {
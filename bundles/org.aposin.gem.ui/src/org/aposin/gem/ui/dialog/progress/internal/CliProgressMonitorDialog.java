@@ -15,11 +15,14 @@
  */
 package org.aposin.gem.ui.dialog.progress.internal;
 
+import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.aposin.gem.core.api.workflow.CommandProgress;
 import org.aposin.gem.core.api.workflow.ICommand;
 import org.aposin.gem.ui.message.Messages;
 import org.aposin.gem.ui.theme.ThemeConstants;
@@ -71,16 +74,33 @@ public class CliProgressMonitorDialog extends ProgressMonitorDialog {
 
     private final List<ICommand> commands;
     private final Messages messages;
+    private final int consoleMaxLines;
     // required to clean cursors
     private Button commandDetailsButton;
     // required to clean cursors (commandDetailsButton and cliComponent)
     private final Map<Control, Cursor> controlsWithCursors = new HashMap<>(2);
     private Map<ICommand, CTabItem> commandsMap = new HashMap<>();
+    // last percentage shown on the tab, to avoid updates if it does not change
+    private final Map<ICommand, String> commandsProgressText = new ConcurrentHashMap<>();
 
     public CliProgressMonitorDialog(final Shell parent, final Messages messages, final List<ICommand> commands) {
+        this(parent, messages, commands, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor with a maximum number of lines per command console.
+     * 
+     * @param parent parent shell.
+     * @param messages messages.
+     * @param commands commands to show.
+     * @param consoleMaxLines maximum number of lines kept on each command console.
+     */
+    public CliProgressMonitorDialog(final Shell parent, final Messages messages, final List<ICommand> commands,
+            final int consoleMaxLines) {
         super(parent);
         this.messages = messages;
         this.commands = commands;
+        this.consoleMaxLines = consoleMaxLines;
     }
 
     /**
@@ -97,6 +117,8 @@ public class CliProgressMonitorDialog extends ProgressMonitorDialog {
                 createButton(parent, IDialogConstants.DETAILS_ID, messages.cliProgressMonitorDialog_label_detailsButton,
                         false);
         showErrorsButton.setEnabled(false);
+        // cancel is cooperative: kills the running processes and skips the pending ones
+        createCancelButton(parent);
         final Button okButton = createButton(parent, IDialogConstants.CLOSE_ID,
                 IDialogConstants.CLOSE_LABEL, false);
         okButton.setEnabled(false);
@@ -110,6 +132,9 @@ public class CliProgressMonitorDialog extends ProgressMonitorDialog {
     protected void finishedRun() {
         decrementNestingDepth();
         clearCursors();
+        if (cancel != null && !cancel.isDisposed()) {
+            cancel.setEnabled(false);
+        }
         getButton(IDialogConstants.CLOSE_ID).setEnabled(true);
     }
 
@@ -177,7 +202,7 @@ public class CliProgressMonitorDialog extends ProgressMonitorDialog {
             IGemIcon icon = ThemeIconRegistry.getInstance().getIconById(RUNNING_ICON_ID);
             // use default theme cause the tabbed dropdown cannot be styled
             item.setImage(icon.getImage(ThemeConstants.DEFAULT_THEME_ID, ICON_SIZE, ICON_SIZE));
-            StyledText cmdStyledText = createCommandLineStyledText(tabFolder, cmd);
+            StyledText cmdStyledText = createCommandLineStyledText(tabFolder, cmd, consoleMaxLines);
             item.setControl(cmdStyledText);
             commandsMap.put(cmd, item);
         }
@@ -186,6 +211,32 @@ public class CliProgressMonitorDialog extends ProgressMonitorDialog {
         return tabFolder;
     }
 
+    /**
+     * Shows the progress of the command on its tab.
+     * </br>
+     * Can be called from any thread.
+     * 
+     * @param command top-level command.
+     * @param progress progress reported by the command.
+     */
+    public void setCommandProgress(final ICommand command, final CommandProgress progress) {
+        final CTabItem item = commandsMap.get(command);
+        if (item == null) {
+            return;
+        }
+        final String text = MessageFormat.format(messages.cliProgressMonitorDialog_messageFormat_commandProgressTab, //
+                command.getCommandScope().getDisplayName(), //
+                progress.getPhase().getLabel(), //
+                (int) (progress.getPhaseFraction() * 100));
+        if (!text.equals(commandsProgressText.put(command, text)) && !item.isDisposed()) {
+            item.getDisplay().asyncExec(() -> {
+                if (!item.isDisposed()) {
+                    item.setText(text);
+                }
+            });
+        }
+    }
+
     public void setCommandCompletedImage(final ICommand command) {
         setTabItemIcon(command, COMPLETED_ICON_ID);
     }
@@ -200,6 +251,8 @@ public class CliProgressMonitorDialog extends ProgressMonitorDialog {
             IGemIcon icon = ThemeIconRegistry.getInstance().getIconById(iconId);
             // use default theme cause the tabbed dropdown cannot be styled
             item.setImage(icon.getImage(ThemeConstants.DEFAULT_THEME_ID, ICON_SIZE, ICON_SIZE));
+            // remove the progress (if any)
+            item.setText(command.getCommandScope().getDisplayName());
             item.getParent().redraw();
         });
     }
@@ -231,7 +284,7 @@ public class CliProgressMonitorDialog extends ProgressMonitorDialog {
     }
 
     private static StyledText createCommandLineStyledText(final Composite parent,
-            final ICommand command) {
+            final ICommand command, final int maxLines) {
         final StyledText styledText = new StyledText(parent,
                 SWT.BORDER | SWT.H_SCROLL | SWT.V_SCROLL | SWT.MULTI | SWT.READ_ONLY);
         styledText.setBackground(styledText.getDisplay().getSystemColor(SWT.COLOR_BLACK));
@@ -239,9 +292,9 @@ public class CliProgressMonitorDialog extends ProgressMonitorDialog {
         styledText.setFont(JFaceResources.getFont(CONSOLE_FONT_KEY));
 
         // also register an output stream for the text component and add to the command
-        command.addStdOutStream(new StyledTextControlOutputStream(styledText));
+        command.addStdOutStream(new StyledTextControlOutputStream(styledText, maxLines));
         command.addStdErrStream(new StyledTextControlOutputStream(styledText,
-                styledText.getDisplay().getSystemColor(SWT.COLOR_RED)));
+                styledText.getDisplay().getSystemColor(SWT.COLOR_RED), maxLines));
 
         return styledText;
     }
@@ -0,0 +1,134 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.ui.dialog.progress.internal;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.aposin.gem.core.api.workflow.CommandProgress;
+import org.aposin.gem.core.api.workflow.CommandProgress.Phase;
+import org.aposin.gem.core.api.workflow.ICommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aggregates the {@link CommandProgress} reported by several commands
+ * running in parallel.
+ * </br>
+ * Each command has the same weight on the overall progress, and its own
+ * progress is the weighted progress of its phases. It also keeps track of
+ * the time spent on each phase to log it once the command finishes.
+ */
+final class CommandsProgressAggregator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandsProgressAggregator.class);
+
+    /**
+     * Units of work per command.
+     */
+    public static final int WORK_PER_COMMAND = 1000;
+
+    private final Map<ICommand, Double> fractions = new ConcurrentHashMap<>();
+    private final Map<ICommand, CommandProgress> lastProgress = new ConcurrentHashMap<>();
+    // first and last timestamp for each phase, by command
+    private final Map<ICommand, Map<Phase, long[]>> phaseTimings = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the aggregator as progress-listener on the commands.
+     * 
+     * @param commands commands to track.
+     */
+    public CommandsProgressAggregator(final List<ICommand> commands) {
+        for (final ICommand cmd : commands) {
+            fractions.put(cmd, 0d);
+            cmd.addProgressListener(progress -> onProgress(cmd, progress));
+        }
+    }
+
+    /**
+     * Gets the total work for all the commands.
+     * 
+     * @return total work.
+     */
+    public int getTotalWork() {
+        return fractions.size() * WORK_PER_COMMAND;
+    }
+
+    /**
+     * Gets the work done by all the commands.
+     * 
+     * @return work done.
+     */
+    public int getWorkDone() {
+        return (int) (fractions.values().stream().mapToDouble(Double::doubleValue).sum()
+                * WORK_PER_COMMAND);
+    }
+
+    /**
+     * Gets the last progress reported by any sub-command of the command.
+     * 
+     * @param command top-level command.
+     * @return last progress; {@code null} if none.
+     */
+    public CommandProgress getLastProgress(final ICommand command) {
+        return lastProgress.get(command);
+    }
+
+    /**
+     * Gets the progress of the command.
+     * 
+     * @param command top-level command.
+     * @return fraction between 0 and 1.
+     */
+    public double getFraction(final ICommand command) {
+        return fractions.getOrDefault(command, 0d);
+    }
+
+    /**
+     * Marks the command as finished and logs the time spent on each phase.
+     * 
+     * @param command top-level command.
+     */
+    public void finished(final ICommand command) {
+        fractions.put(command, 1d);
+        lastProgress.remove(command);
+        final Map<Phase, long[]> timings = phaseTimings.remove(command);
+        if (timings != null && LOGGER.isInfoEnabled()) {
+            // copy to avoid concurrent modifications
+            LOGGER.info("Phase timings for {}: {}", command.getCommandScope().getDisplayName(),
+                    new LinkedHashMap<>(timings).entrySet().stream() //
+                            .map(e -> e.getKey().getLabel() + "="
+                                    + (e.getValue()[1] - e.getValue()[0]) + "ms") //
+                            .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private void onProgress(final ICommand command, final CommandProgress progress) {
+        // composed commands might report several times the same phases: never go back
+        fractions.merge(command, progress.getWeightedFraction(), Math::max);
+        lastProgress.put(command, progress);
+        final long[] timing = phaseTimings //
+                .computeIfAbsent(command, cmd -> Collections.synchronizedMap(new LinkedHashMap<>())) //
+                .computeIfAbsent(progress.getPhase(),
+                        phase -> new long[] {progress.getTimestamp(), progress.getTimestamp()});
+        timing[1] = progress.getTimestamp();
+    }
+
+}
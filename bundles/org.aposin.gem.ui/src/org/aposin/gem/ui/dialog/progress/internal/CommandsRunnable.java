@@ -17,7 +17,6 @@ package org.aposin.gem.ui.dialog.progress.internal;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -57,9 +56,11 @@ public final class CommandsRunnable implements IRunnableWithProgress {
 
     @Override
     public void run(final IProgressMonitor monitor) throws AnyCommandFailedException {
-        monitor.beginTask(taskName, IProgressMonitor.UNKNOWN);
+        final CommandsProgressAggregator progress = new CommandsProgressAggregator(commands);
+        monitor.beginTask(taskName, progress.getTotalWork());
         final Map<ICommand, Future<IResult>> futuresMap = startCommandsInParallel(commands);
         final List<IResult> results = new ArrayList<>(futuresMap.size());
+        int worked = 0;
 
         monitor.subTask(
                 MessageFormat.format(messages.commandsRunnable_messageFormat_progressMonitorStart, futuresMap.size()));
@@ -68,9 +69,9 @@ public final class CommandsRunnable implements IRunnableWithProgress {
             boolean shouldCancel = monitor.isCanceled();
             // first handle the done processes
             if (!allDone.isEmpty()) {
-                monitor.worked(allDone.size());
                 // cleanup the future map and add to the results
                 for (final IResult done : allDone) {
+                    progress.finished(done.getCommand());
                     futuresMap.remove(done.getCommand());
                     addToResultList(done, results, onDoneHook);
                     // early termination if any is failing too
@@ -79,11 +80,17 @@ public final class CommandsRunnable implements IRunnableWithProgress {
                 monitor.subTask(MessageFormat.format(messages.commandsRunnable_messageFormat_progressMonitorUpdate,
                         futuresMap.size(), results.size()));
             }
+            // report the progress of the running commands (if any)
+            final int workDone = progress.getWorkDone();
+            if (workDone > worked) {
+                monitor.worked(workDone - worked);
+                worked = workDone;
+            }
 
             // handle cancellation
             if (shouldCancel) {
                 // cancell all and
-                cancelAll(futuresMap.values());
+                cancelAll(futuresMap);
                 futuresMap.entrySet().stream() //
                         .map(this::getResultOrWrapIfException) //
                         .forEach(res -> addToResultList(res, results, onDoneHook));
@@ -111,7 +118,7 @@ public final class CommandsRunnable implements IRunnableWithProgress {
                 commandsMap.put(cmd, cmd.execute());
             } catch (final GemException e) {
                 // cancel all the previous ones that have already started
-                cancelAll(commandsMap.values());
+                cancelAll(commandsMap);
                 // re-throw!
                 throw e;
             }
@@ -119,9 +126,12 @@ public final class CommandsRunnable implements IRunnableWithProgress {
         return commandsMap;
     }
 
-    private static void cancelAll(final Collection<Future<IResult>> futures) {
-        for (final Future<IResult> toCancel : futures) {
-            toCancel.cancel(true);
+    private static void cancelAll(final Map<ICommand, Future<IResult>> futuresMap) {
+        for (final Map.Entry<ICommand, Future<IResult>> toCancel : futuresMap.entrySet()) {
+            // cancel the command tree to kill the running processes
+            // and avoid starting any chained command
+            toCancel.getKey().cancel();
+            toCancel.getValue().cancel(true);
         }
     }
 
@@ -25,6 +25,12 @@ import org.eclipse.swt.graphics.Color;
 /**
  * {@link OutputStream} implementation which updates an {@link StyledText}
  * by appending new characters.
+ * </br>
+ * If a maximum number of lines is provided, the oldest lines are removed
+ * to keep the memory used by the control bounded.
+ * </br>
+ * Lines terminated only by CR (e.g., git progress) are overwritten by the next one,
+ * as in a terminal.
  */
 public class StyledTextControlOutputStream extends OutputStream {
 
@@ -34,15 +40,29 @@ public class StyledTextControlOutputStream extends OutputStream {
     private final StyledText text;
     private final StringBuffer buffer;
     private final Color foregroundColor;
+    private final int maxLines;
 
     private boolean wasLastCr = false;
+    // range of the last CR-terminated line to overwrite; -1 if none
+    private int overwriteStart = -1;
+    private int overwriteEnd = -1;
 
-    public StyledTextControlOutputStream(final StyledText text, final Color foregroundColor) {
+    public StyledTextControlOutputStream(final StyledText text, final Color foregroundColor,
+            final int maxLines) {
         this.text = text;
         this.foregroundColor = foregroundColor;
+        this.maxLines = maxLines;
         this.buffer = new StringBuffer(100);
     }
 
+    public StyledTextControlOutputStream(final StyledText text, final Color foregroundColor) {
+        this(text, foregroundColor, Integer.MAX_VALUE);
+    }
+
+    public StyledTextControlOutputStream(final StyledText text, final int maxLines) {
+        this(text, text.getForeground(), maxLines);
+    }
+
     public StyledTextControlOutputStream(final StyledText text) {
         this(text, text.getForeground());
     }
@@ -79,15 +99,40 @@ public class StyledTextControlOutputStream extends OutputStream {
     }
 
     private void printBuffer() {
-        if (!text.isDisposed()) {
+        if (!text.isDisposed() && buffer.length() != 0) {
+            final String chunk = buffer.toString();
             final StyleRange range = new StyleRange();
-            range.start = text.getCharCount();
-            range.length = buffer.length();
+            // only overwrite if nothing else was printed afterwards
+            if (overwriteStart >= 0 && overwriteEnd == text.getCharCount()) {
+                range.start = overwriteStart;
+                text.replaceTextRange(overwriteStart, overwriteEnd - overwriteStart, chunk);
+            } else {
+                range.start = text.getCharCount();
+                text.append(chunk);
+            }
+            range.length = chunk.length();
             range.foreground = foregroundColor;
-            text.append(buffer.toString());
             text.setStyleRange(range);
+            if (chunk.endsWith("\r")) {
+                overwriteStart = range.start;
+                overwriteEnd = text.getCharCount();
+            } else {
+                overwriteStart = -1;
+            }
+            trimOldestLines();
             text.setTopIndex(text.getLineCount());
         }
     }
 
+    private void trimOldestLines() {
+        final int lineCount = text.getLineCount();
+        // trim only once exceeded by 10% to avoid shifting the content on every line
+        if (maxLines > 0 && lineCount > maxLines + maxLines / 10) {
+            final int offset = text.getOffsetAtLine(lineCount - maxLines);
+            text.replaceTextRange(0, offset, "");
+            // offsets are not valid anymore
+            overwriteStart = -1;
+        }
+    }
+
 }
@@ -72,7 +72,8 @@ public class CleanObsoleteEnvironmentsHandler extends GemAbstractSessionHandler
                 CommandProgressDialog.open(null, //
                         BUNDLE_PROPERTIES.menuCleanObsoleteenvironments_label, //
                         MESSAGES, //
-                        cmds);
+                        cmds, //
+                        session.getConfiguration().getPreferences().getConsoleMaxLines());
             }
         }
     }
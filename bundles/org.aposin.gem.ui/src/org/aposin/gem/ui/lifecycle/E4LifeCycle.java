@@ -15,13 +15,27 @@
  */
 package org.aposin.gem.ui.lifecycle;
 
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import javax.inject.Inject;
 
+import org.aposin.gem.core.api.launcher.ILauncher;
+import org.aposin.gem.core.api.model.IEnvironment;
+import org.aposin.gem.core.api.workflow.ICommand;
+import org.aposin.gem.core.api.workflow.IEnvironmentWorkflow;
+import org.aposin.gem.core.api.workflow.IWorkflowJournal;
+import org.aposin.gem.core.exception.GemException;
 import org.aposin.gem.logging.e4.SLF4JLogger;
 import org.aposin.gem.logging.e4.SLF4JLoggerProvider;
 import org.aposin.gem.ui.Activator;
 import org.aposin.gem.ui.BundleProperties;
+import org.aposin.gem.ui.dialog.progress.CommandProgressDialog;
 import org.aposin.gem.ui.handler.QuitHandler;
+import org.aposin.gem.ui.lifecycle.event.EnvironmentSynchronizedEvent;
 import org.aposin.gem.ui.theme.ThemeConstants;
 import org.aposin.gem.ui.theme.icons.GemSvgIcon;
 import org.aposin.gem.ui.theme.icons.IGemIcon;
@@ -40,6 +54,7 @@ import org.eclipse.e4.ui.workbench.lifecycle.PreSave;
 import org.eclipse.e4.ui.workbench.lifecycle.ProcessAdditions;
 import org.eclipse.e4.ui.workbench.lifecycle.ProcessRemovals;
 import org.eclipse.e4.ui.workbench.modeling.IWindowCloseHandler;
+import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.dialogs.ProgressMonitorDialog;
 import org.eclipse.jface.window.Window;
 import org.osgi.service.event.Event;
@@ -134,6 +149,65 @@ public final class E4LifeCycle {
         window.setLabel(bundleProperties.application_name);
         // add a close handler to the window to open the confirm dialog as on the QuitHandler
         window.getContext().set(IWindowCloseHandler.class, w -> QuitHandler.confirmClose(null));
+        // offer to resume the launches which did not finish on the last run
+        final Session session = window.getContext().get(Session.class);
+        if (session != null) {
+            resumePendingLaunches(session);
+        }
+    }
+
+    /**
+     * Offers to resume the pending launches recorded on the workflow journal.
+     * </br>
+     * Launches which are not required anymore or not resumed by the user are discarded,
+     * as well as the ones for launchers that do not exist anymore (e.g., removed environments).
+     * 
+     * @param session the session.
+     */
+    private static void resumePendingLaunches(final Session session) {
+        final IWorkflowJournal journal = session.getConfiguration().getWorkflowJournal();
+        final Set<String> pending = journal.getPendingLaunches();
+        if (pending.isEmpty()) {
+            return;
+        }
+        final Set<String> unmatched = new HashSet<>(pending);
+        for (final IEnvironment environment : session.getConfiguration().getEnvironments()) {
+            final IEnvironmentWorkflow workflow = environment.getWorkflow();
+            final List<ILauncher> launchers = Arrays.asList(workflow.getCloneLauncher(),
+                    workflow.getSetupWorktreeLauncher());
+            for (final ILauncher launcher : launchers) {
+                if (unmatched.remove(launcher.getId())) {
+                    resumePendingLaunch(session, journal, environment, launcher);
+                }
+            }
+        }
+        for (final String launcherId : unmatched) {
+            Activator.LOGGER.warn("Discarding pending launch {}: launcher not found", launcherId);
+            journal.discard(launcherId);
+        }
+    }
+
+    private static void resumePendingLaunch(final Session session, final IWorkflowJournal journal,
+            final IEnvironment environment, final ILauncher launcher) {
+        if (!launcher.canLaunch() || !MessageDialog.openQuestion(null, //
+                Session.messages.e4LifeCycle_title_resumeLaunchDialog, //
+                MessageFormat.format(Session.messages.e4LifeCycle_messageFormat_resumeLaunchDialog,
+                        launcher.getDisplayName(), environment.getDisplayName()))) {
+            journal.discard(launcher.getId());
+            return;
+        }
+        try {
+            final List<ICommand> cmds = launcher.launch();
+            if (!cmds.isEmpty()) {
+                CommandProgressDialog.open(null, launcher.getDisplayName(), Session.messages, cmds,
+                        session.getConfiguration().getPreferences().getConsoleMaxLines());
+                session.getEventBroker().send(EnvironmentSynchronizedEvent.TOPIC,
+                        new EnvironmentSynchronizedEvent(environment));
+            }
+        } catch (final GemException e) {
+            Activator.LOGGER.error("Error resuming " + launcher.getId(), e);
+            MessageDialog.openError(null, launcher.getDisplayName(), e.getLocalizedMessage());
+        }
     }
 
 }
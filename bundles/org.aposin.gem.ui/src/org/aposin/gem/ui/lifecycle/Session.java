@@ -23,6 +23,7 @@ import org.aposin.gem.core.api.model.IProject;
 import org.aposin.gem.core.api.service.IFeatureBranchProvider;
 import org.aposin.gem.core.api.workflow.IFeatureBranch;
 import org.aposin.gem.ui.BundleProperties;
+import org.aposin.gem.ui.lifecycle.event.FeatureBranchesUpdatedEvent;
 import org.aposin.gem.ui.lifecycle.event.RefreshedObjectEvent;
 import org.aposin.gem.ui.lifecycle.event.SessionEnvironmentChangeEvent;
 import org.aposin.gem.ui.lifecycle.event.SessionFeatureBranchChangeEvent;
@@ -46,6 +47,9 @@ public final class Session {
 
     @Inject
     private static SessionPersistence sessionPersistence;
+
+    @Inject
+    private static IConfiguration sessionConfig;
     
     @Inject
     private IConfiguration config;
@@ -75,6 +79,14 @@ public final class Session {
     }
 
     @PostConstruct
+    private void postConstruct() {
+        // the service container keeps the listener on refresh
+        config.getServiceContainer().addFeatureBranchesListener((provider, environment) -> //
+                eventBroker.post(FeatureBranchesUpdatedEvent.TOPIC,
+                        new FeatureBranchesUpdatedEvent(provider, environment)));
+        postRefresh();
+    }
+
     private void postRefresh() {
         resetEnvironment();
     }
@@ -95,6 +107,15 @@ public final class Session {
         return config;
     }
 
+    /**
+     * Gets the maximum number of lines kept on each console of the command progress dialog.
+     * 
+     * @return maximum number of lines from the current preferences.
+     */
+    public static int getConsoleMaxLines() {
+        return sessionConfig.getPreferences().getConsoleMaxLines();
+    }
+
     public IEventBroker getEventBroker() {
         return eventBroker;
     }
@@ -115,7 +136,11 @@ public final class Session {
         if (sessionFeatureBranch == null) {
             return config.getServiceContainer().getDefaultFeatureBranchProvider();
         }
-        return sessionFeatureBranch.getProvider();
+        // use the provider from the container, which might cache the feature-branches
+        final IFeatureBranchProvider provider = sessionFeatureBranch.getProvider();
+        final IFeatureBranchProvider containerProvider = config.getServiceContainer()
+                .getService(IFeatureBranchProvider.class, provider.getId());
+        return containerProvider == null ? provider : containerProvider;
     }
 
     /**
@@ -126,6 +151,7 @@ public final class Session {
      * one</li>
      * <li>{@link SessionFeatureBranchChangeEvent#TOPIC} invalidating the feature branch</li>
      * </ol>
+     * The session is persisted once, after both changes.
      * 
      * @param newEnvironment
      */
@@ -135,7 +161,7 @@ public final class Session {
         eventBroker.post(SessionEnvironmentChangeEvent.TOPIC,
                 new SessionEnvironmentChangeEvent(oldEnvironment, newEnvironment));
         if (sessionFeatureBranch == null) {
-            setSessionFeatureBranch(sessionPersistence.getPersistedFeatureBranch(this));
+            updateSessionFeatureBranch(sessionPersistence.getPersistedFeatureBranch(this));
         } else if (!sessionFeatureBranch.getEnvironment().equals(newEnvironment)) {
             final IFeatureBranchProvider provider = getSessionFeatureBranchProvider();
             final IFeatureBranch newFeatureBranch = provider
@@ -145,12 +171,17 @@ public final class Session {
                     .or(() -> provider.getDefaultFeatureBranch(newEnvironment))
                     // get the first or set to null
                     .orElse(null);
-            setSessionFeatureBranch(newFeatureBranch);
+            updateSessionFeatureBranch(newFeatureBranch);
         }
         sessionPersistence.persistSession(this);
     }
 
     public void setSessionFeatureBranch(final IFeatureBranch newFeatureBranch) {
+        updateSessionFeatureBranch(newFeatureBranch);
+        sessionPersistence.persistSession(this);
+    }
+
+    private void updateSessionFeatureBranch(final IFeatureBranch newFeatureBranch) {
         if (newFeatureBranch != null
                 && !newFeatureBranch.getEnvironment().equals(sessionEnvironment)) {
             throw new IllegalArgumentException(
@@ -160,6 +191,5 @@ public final class Session {
         sessionFeatureBranch = newFeatureBranch;
         eventBroker.post(SessionFeatureBranchChangeEvent.TOPIC,
                 new SessionFeatureBranchChangeEvent(oldFeatureBranch, newFeatureBranch));
-        sessionPersistence.persistSession(this);
     }
 }
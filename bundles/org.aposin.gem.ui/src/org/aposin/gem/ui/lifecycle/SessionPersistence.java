@@ -17,6 +17,7 @@ package org.aposin.gem.ui.lifecycle;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Supplier;
 import org.aposin.gem.core.api.INamedObject;
 import org.aposin.gem.core.api.model.IEnvironment;
@@ -75,10 +76,14 @@ class SessionPersistence {
         final IFeatureBranchProvider provider = getPersistedObject(FEATURE_BRANCH_PROVIDER_ID, //
                 List.copyOf(services.getFeatureBranchProviders()), //
                 services::getDefaultFeatureBranchProvider);
-        
-        return getPersistedObject(FEATURE_BRANCH_ID, //
-                provider.getFeatureBranches(session.getSessionEnvironment()), //
-                () -> provider.getDefaultFeatureBranch(session.getSessionEnvironment()).orElse(null));
+        final IEnvironment environment = session.getSessionEnvironment();
+        // keyed lookup, as the providers might index their feature-branches
+        final String featureBranchId =
+                InstanceScope.INSTANCE.getNode(PREFS_NODE).get(FEATURE_BRANCH_ID, null);
+        final Optional<IFeatureBranch> featureBranch = featureBranchId == null //
+                ? Optional.empty() //
+                : provider.findById(environment, featureBranchId);
+        return featureBranch.or(() -> provider.getDefaultFeatureBranch(environment)).orElse(null);
     }
     
     /**
@@ -0,0 +1,53 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.ui.lifecycle.event;
+
+import org.aposin.gem.core.api.model.IEnvironment;
+import org.aposin.gem.core.api.service.IFeatureBranchProvider;
+
+/**
+ * Event triggered when the feature-branches of a provider are updated in the background.
+ */
+public class FeatureBranchesUpdatedEvent {
+
+	/**
+	 * Topic for the event.
+	 */
+	public static final String TOPIC = "org/aposin/gem/core/ui/event/FEATURE_BRANCHES_UPDATED";
+
+	/**
+	 * Provider with updated feature-branches.
+	 */
+	public final IFeatureBranchProvider provider;
+
+	/**
+	 * Environment for the updated feature-branches;
+	 * {@code null} if the provider became available.
+	 */
+	public final IEnvironment environment;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param provider
+	 * @param environment
+	 */
+	public FeatureBranchesUpdatedEvent(final IFeatureBranchProvider provider, final IEnvironment environment) {
+		this.provider = provider;
+		this.environment = environment;
+	}
+
+}
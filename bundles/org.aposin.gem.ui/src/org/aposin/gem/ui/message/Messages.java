@@ -38,6 +38,7 @@ public class Messages {
     public String commandsRunnable_message_cancelled;
     public String commandsRunnable_message_noFailure;
     public String cliProgressMonitorDialog_label_detailsButton;
+    public String cliProgressMonitorDialog_messageFormat_commandProgressTab;
     public String commandProgressDialog_message_successDialog;
     public String commandProgressDialog_messageFormat_statusWithErrors;
 
@@ -57,6 +58,8 @@ public class Messages {
     public String gemExceptionManager_titleFormat_gemError;
     public String gemExceptionManager_title_unexpectedError;
     public String gemExceptionManager_messageFormat_fatalError;
+    public String e4LifeCycle_title_resumeLaunchDialog;
+    public String e4LifeCycle_messageFormat_resumeLaunchDialog;
 
     ///////////////////////////////
     // model common labels
@@ -50,6 +50,15 @@ public class EnvironmentLauncherPart {
     private Session session;
     private DynamicButtonGroupListView view;
 
+    /**
+     * Work done on session events, in the order that it is run.
+     */
+    private enum Refresh {
+        LAUNCHER_BUTTONS, LAUNCHER_BUTTONS_ENABLEMENT
+    }
+
+    private PartRefreshScheduler<Refresh> refreshScheduler;
+
     private final MPart part;
     private final MPartSashContainer parent;
     private final MPartSashContainerElement sibling;
@@ -74,6 +83,7 @@ public class EnvironmentLauncherPart {
     @PostConstruct
     public void postConstruct(final Composite parent) {
         this.view = new DynamicButtonGroupListView(parent, SWT.HORIZONTAL);
+        this.refreshScheduler = new PartRefreshScheduler<>(Refresh.class, view);
         createLauncherButtons(session.getSessionEnvironment());
         PartHelper.updateLauncherButtonsEnablement(view);
         if (parent != null && sibling != null) {
@@ -96,7 +106,8 @@ public class EnvironmentLauncherPart {
     private void onEnvironmentChange(
             @UIEventTopic(SessionEnvironmentChangeEvent.TOPIC) final SessionEnvironmentChangeEvent event) {
         if (event.isDifferent()) {
-            createLauncherButtons(event.newEnvironment);
+            refreshScheduler.schedule(Refresh.LAUNCHER_BUTTONS,
+                    () -> createLauncherButtons(session.getSessionEnvironment()));
         }
     }
 
@@ -105,7 +116,8 @@ public class EnvironmentLauncherPart {
     private void onEnvironmentSynchronized(
             @UIEventTopic(EnvironmentSynchronizedEvent.TOPIC) final EnvironmentSynchronizedEvent event) {
         if (Objects.equals(event.synchronizedEnvironment, session.getSessionEnvironment())) {
-            PartHelper.updateLauncherButtonsEnablement(view);
+            refreshScheduler.schedule(Refresh.LAUNCHER_BUTTONS_ENABLEMENT,
+                    () -> PartHelper.updateLauncherButtonsEnablement(view));
         }
     }
 
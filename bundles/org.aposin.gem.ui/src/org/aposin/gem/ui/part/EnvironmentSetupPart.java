@@ -36,10 +36,9 @@ import org.aposin.gem.ui.part.listener.ProjectSelectionListener;
 import org.aposin.gem.ui.part.listener.dashboard.DashboardDynamicButtonListener;
 import org.aposin.gem.ui.part.listener.dashboard.LauncherDynamicMenuListener;
 import org.aposin.gem.ui.part.listener.workflow.EnvironmentWorkflowOnSelectionListener;
-import org.aposin.gem.ui.process.CallbackRunnable;
-import org.aposin.gem.ui.process.LocalRepoStatus;
 import org.aposin.gem.ui.process.launcher.SwitchLauncher;
 import org.aposin.gem.ui.view.EnvironmentWorkflowView;
+import org.aposin.gem.ui.view.dashboard.DashboardStatusUpdater;
 import org.aposin.gem.ui.view.dashboard.EnvironmentDashboardInfo;
 import org.aposin.gem.ui.view.dashboard.RepositoryDashboardInfoContainer;
 import org.aposin.gem.ui.view.labelprovider.TypedColumnLabelProvider.TypedColumnLabelProviderFactory;
@@ -68,9 +67,22 @@ public class EnvironmentSetupPart {
     @Inject
     private UISynchronize uiSynchronize;
 
+    private DashboardStatusUpdater statusUpdater;
+
+    /**
+     * Work done on session events.
+     */
+    private enum Refresh {
+        ENVIRONMENT_COMPONENTS
+    }
+
+    private PartRefreshScheduler<Refresh> refreshScheduler;
+
     @PostConstruct
     public void postConstruct(final Composite parent) {
         view = new EnvironmentWorkflowView(parent, SWT.NONE);
+        statusUpdater = new DashboardStatusUpdater(uiSynchronize, view.getDashboardView());
+        refreshScheduler = new PartRefreshScheduler<>(Refresh.class, view);
         view.registerMessages(registry);
         createComponents();
         // init selection and refresh view before (avoid triggering listeners)
@@ -149,10 +161,11 @@ public class EnvironmentSetupPart {
     private void updateEnvironmentComponents(final IEnvironment environment) {
         // update te repo info for the table
         final List<RepositoryDashboardInfoContainer> tableInfo = environment.getEnvironmentWorktrees().stream() //
-                .map(repo -> toRepoTableInfoWithCallback(repo, environment)) //
+                .map(repo -> toRepoTableInfo(repo, environment)) //
                 .collect(Collectors.toList());
         
         PartHelper.setDashboardContent(view.getDashboardView(), tableInfo);
+        statusUpdater.computeStatus(tableInfo);
         // update the launcher-based buttons
         PartHelper.setLauncherButtonEnabled(view.getCloneRepositoriesButton());
         PartHelper.setLauncherButtonEnabled(view.getSetupWorktreeButton());
@@ -161,31 +174,10 @@ public class EnvironmentSetupPart {
         PartHelper.updateLauncherButtonsEnablement(view.getByRepositoryLauncherButtons());
     }
 
-    private EnvironmentDashboardInfo toRepoTableInfoWithCallback(final IWorktreeDefinition worktreeDef,
+    private EnvironmentDashboardInfo toRepoTableInfo(final IWorktreeDefinition worktreeDef,
             final IEnvironment environment) {
-        final EnvironmentDashboardInfo info = new EnvironmentDashboardInfo(environment,
+        return new EnvironmentDashboardInfo(environment,
                 environment.getEnvironmentWorktrees().indexOf(worktreeDef));
-        final CallbackRunnable<LocalRepoStatus> runnable = new CallbackRunnable<LocalRepoStatus>() {
-
-            @Override
-            public LocalRepoStatus doRun() {
-                return info.computeStatus();
-            }
-
-            @Override
-            public void callback(final LocalRepoStatus value) {
-                if (value != null) {
-                    // TODO - could we refresh only the current row?
-                    view.getDashboardView().getTableViewer().refresh();
-                }
-            }
-        };
-
-        // run it on the service
-        uiSynchronize.asyncExec(runnable);
-
-        return info;
-
     }
     
     @Optional
@@ -202,7 +194,7 @@ public class EnvironmentSetupPart {
             PartHelper.selectEnvironmentOnCombos(event.newEnvironment,
                     view.getProjectSelectionComboViewer(),
                     view.getEnvironmentSelectionComboViewer());
-            updateEnvironmentComponents(event.newEnvironment);
+            scheduleUpdateEnvironmentComponents();
         }
     }
 
@@ -211,10 +203,16 @@ public class EnvironmentSetupPart {
     private void onEnvironmentSynchronized(
             @UIEventTopic(EnvironmentSynchronizedEvent.TOPIC) final EnvironmentSynchronizedEvent event) {
         if (Objects.equals(event.synchronizedEnvironment, session.getSessionEnvironment())) {
-            updateEnvironmentComponents(event.synchronizedEnvironment);
+            scheduleUpdateEnvironmentComponents();
         }
     }
 
+    private void scheduleUpdateEnvironmentComponents() {
+        // uses the session environment at the time of the refresh pass
+        refreshScheduler.schedule(Refresh.ENVIRONMENT_COMPONENTS,
+                () -> updateEnvironmentComponents(session.getSessionEnvironment()));
+    }
+
     @Optional
     @Inject
     private void onRefreshedSession(
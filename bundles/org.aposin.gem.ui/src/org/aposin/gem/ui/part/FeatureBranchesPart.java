@@ -19,6 +19,7 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.PostConstruct;
@@ -34,6 +35,7 @@ import org.aposin.gem.core.exception.GemException;
 import org.aposin.gem.ui.dialog.MergeConflictDialog;
 import org.aposin.gem.ui.lifecycle.Session;
 import org.aposin.gem.ui.lifecycle.event.EnvironmentSynchronizedEvent;
+import org.aposin.gem.ui.lifecycle.event.FeatureBranchesUpdatedEvent;
 import org.aposin.gem.ui.lifecycle.event.RefreshedObjectEvent;
 import org.aposin.gem.ui.lifecycle.event.SessionEnvironmentChangeEvent;
 import org.aposin.gem.ui.lifecycle.event.SessionFeatureBranchChangeEvent;
@@ -45,11 +47,10 @@ import org.aposin.gem.ui.part.listener.dashboard.DashboardDynamicButtonListener;
 import org.aposin.gem.ui.part.listener.dashboard.LauncherDynamicMenuListener;
 import org.aposin.gem.ui.part.listener.workflow.EnvironmentWorkflowOnSelectionListener;
 import org.aposin.gem.ui.part.listener.workflow.FeatureBranchWorkflowOnSelectionListener;
-import org.aposin.gem.ui.process.CallbackRunnable;
-import org.aposin.gem.ui.process.LocalRepoStatus;
 import org.aposin.gem.ui.process.launcher.NullLauncher;
 import org.aposin.gem.ui.process.launcher.SwitchLauncher;
 import org.aposin.gem.ui.view.FeatureBranchWorkflowView;
+import org.aposin.gem.ui.view.dashboard.DashboardStatusUpdater;
 import org.aposin.gem.ui.view.dashboard.FeatureBranchesDashboardInfo;
 import org.aposin.gem.ui.view.dashboard.RepositoryDashboardInfoContainer;
 import org.aposin.gem.ui.view.fieldassist.ComboViewerAutoCompleteField;
@@ -92,9 +93,27 @@ public class FeatureBranchesPart {
     @Inject
     private UISynchronize uiSynchronize;
 
+    private DashboardStatusUpdater statusUpdater;
+
+    // increased on each refill to ignore feature-branches of previous requests
+    private int featureBranchesRequest = 0;
+
+    /**
+     * Work done on session events, in the order that it is run.
+     */
+    private enum Refresh {
+        FEATURE_BRANCHES, DASHBOARD, LAUNCHER_BUTTONS, LAUNCHER_BUTTONS_ENABLEMENT, WORKFLOW_BUTTONS
+    }
+
+    private PartRefreshScheduler<Refresh> refreshScheduler;
+    // set if any of the coalesced feature-branches refills requires to refresh the provider
+    private boolean refreshProviderOnRefill = false;
+
     @PostConstruct
     public void postConstruct(Composite parent) {
         view = new FeatureBranchWorkflowView(parent, SWT.NONE);
+        statusUpdater = new DashboardStatusUpdater(uiSynchronize, view.getDashboardView());
+        refreshScheduler = new PartRefreshScheduler<>(Refresh.class, view);
         view.registerMessages(registry);
         createComponents();
         // init selection and refresh view before (avoid triggering listeners)
@@ -283,81 +302,100 @@ public class FeatureBranchesPart {
         for (final IWorktreeDefinition worktreeDef : envWorktrees) {
 
             final FeatureBranchesDashboardInfo info =
-                    toRepoDashboardInfoWithCallback(worktreeDef, environment, featureBranch);
+                    toRepoDashboardInfo(worktreeDef, environment, featureBranch);
 
             dashboardInfo.add(info);
         }
         PartHelper.setDashboardContent(view.getDashboardView(), dashboardInfo);
+        statusUpdater.computeStatus(dashboardInfo);
     }
 
-    private final FeatureBranchesDashboardInfo toRepoDashboardInfoWithCallback(
+    private final FeatureBranchesDashboardInfo toRepoDashboardInfo(
             final IWorktreeDefinition worktree, final IEnvironment environment,
             final IFeatureBranch featureBranch) {
-        final FeatureBranchesDashboardInfo info = new FeatureBranchesDashboardInfo(//
+        return new FeatureBranchesDashboardInfo(//
                 featureBranch, environment, //
                 environment.getEnvironmentWorktrees().indexOf(worktree));
-        final CallbackRunnable<LocalRepoStatus> callback = new CallbackRunnable<LocalRepoStatus>() {
-
-            @Override
-            public LocalRepoStatus doRun() {
-                return info.computeStatus();
-            }
-
-            @Override
-            public void callback(final LocalRepoStatus value) {
-                // only if something doesn't fail
-                if (value != null) {
-                    view.getDashboardView().getTableViewer().refresh();
-                }
-            }
-        };
-
-        uiSynchronize.asyncExec(callback);
-
-        return info;
     }
 
     private void refillFeatureBranchesCombo(final IEnvironment environment,
             final IFeatureBranchProvider provider, final boolean refreshProvider) {
         // first remove all combo input/proposals
         view.getFeatureBranchAutoCompleteField().clearInput();
+        final int request = ++featureBranchesRequest;
         // if it requires cloning, disable the combo
         if (environment.getWorkflow().getCloneLauncher().canLaunch()) {
             disableFeatureBranchComboWithWarning(
                     registry.getMessages().workflowRequiresClone_label_common);
         } else {
             disableFeatureBranchComboWithWarning("Fetching feature branches");
-            if (refreshProvider) {
-                // TODO - add as a callback - expected time to refresh will be a bit long...?
-                provider.refresh();
-            }
-            final List<IFeatureBranch> featureBranches = provider.getFeatureBranches(environment);
-            view.getFeatureBranchAutoCompleteField().setInput(featureBranches);
-            
-            if (featureBranches.isEmpty()) {
-                disableFeatureBranchComboWithWarning("No feature-branches for the provider");
-                session.setSessionFeatureBranch(null);
-            } else {
-                view.getFeatureBranchSelectorInactiveDecoration().setImage(null);
-                view.getFeatureBranchSelectorInactiveDecoration().setDescriptionText("");
-                view.getFeatureBranchAutoCompleteField().setEnabled(true);
-                final IFeatureBranch selected = provider // get the matching feature
-                        .getMatchingFeatureBranch(environment, session.getSessionFeatureBranch()) //
-                        // or the default, which should always return non-null if there are FBs
-                        .or(() -> provider.getDefaultFeatureBranch(environment)) //
-                        .orElse(null);
-                // this should never happen
-                if (selected == null) {
-                    throw new GemException("Internal error: selected FB must not be null");
-                }
-                // finally, set the selection
-                view.getFeatureBranchAutoCompleteField().setSelection(selected);
+            final IFeatureBranch sessionFeatureBranch = session.getSessionFeatureBranch();
+            // the provider might be slow (remote services, many repositories): keep the UI responsive
+            final CompletableFuture<List<IFeatureBranch>> featureBranches = refreshProvider //
+                    ? CompletableFuture.runAsync(provider::refresh) //
+                            .thenCompose(ignored -> provider.getFeatureBranchesAsync(environment)) //
+                    : provider.getFeatureBranchesAsync(environment);
+            featureBranches.thenApply(fbs -> new FetchedFeatureBranches(fbs, provider //
+                    // get the matching feature
+                    .getMatchingFeatureBranch(environment, sessionFeatureBranch) //
+                    // or the default, which should always return non-null if there are FBs
+                    .or(() -> provider.getDefaultFeatureBranch(environment)) //
+                    .orElse(null))) //
+                    .whenComplete((fetched, error) -> uiSynchronize.asyncExec(() -> {
+                        // ignore if the part is gone or other refill was requested meanwhile
+                        if (view.isDisposed() || request != featureBranchesRequest) {
+                            LOGGER.trace("Ignoring outdated feature branches for {}", environment);
+                            return;
+                        }
+                        if (error != null) {
+                            LOGGER.error("Error fetching feature branches for " + environment, error);
+                            disableFeatureBranchComboWithWarning("Error fetching feature branches");
+                            setButtonEnablement();
+                        } else {
+                            fillFeatureBranchesCombo(fetched);
+                        }
+                    }));
+        }
+        setButtonEnablement();
+        view.getFeatureBranchAutoCompleteField().refresh();
+    }
+
+    private void fillFeatureBranchesCombo(final FetchedFeatureBranches fetched) {
+        view.getFeatureBranchAutoCompleteField().setInput(fetched.featureBranches);
+
+        if (fetched.featureBranches.isEmpty()) {
+            disableFeatureBranchComboWithWarning("No feature-branches for the provider");
+            session.setSessionFeatureBranch(null);
+        } else {
+            view.getFeatureBranchSelectorInactiveDecoration().setImage(null);
+            view.getFeatureBranchSelectorInactiveDecoration().setDescriptionText("");
+            view.getFeatureBranchAutoCompleteField().setEnabled(true);
+            // this should never happen
+            if (fetched.selected == null) {
+                throw new GemException("Internal error: selected FB must not be null");
             }
+            // finally, set the selection
+            view.getFeatureBranchAutoCompleteField().setSelection(fetched.selected);
         }
         setButtonEnablement();
         view.getFeatureBranchAutoCompleteField().refresh();
     }
 
+    /**
+     * Feature-branches fetched in the background, with the one to select.
+     */
+    private static final class FetchedFeatureBranches {
+
+        private final List<IFeatureBranch> featureBranches;
+        private final IFeatureBranch selected;
+
+        private FetchedFeatureBranches(final List<IFeatureBranch> featureBranches,
+                final IFeatureBranch selected) {
+            this.featureBranches = featureBranches;
+            this.selected = selected;
+        }
+    }
+
     private void setButtonEnablement() {
         PartHelper.setLauncherButtonEnabled(view.getCheckoutFeatureBranchButton());
         PartHelper.setLauncherButtonEnabled(view.getSynchronizeAllEnvBranchesButton());
@@ -386,11 +424,10 @@ public class FeatureBranchesPart {
             @UIEventTopic(EnvironmentSynchronizedEvent.TOPIC) EnvironmentSynchronizedEvent event) {
         if (Objects.equals(event.synchronizedEnvironment, session.getSessionEnvironment())) {
             LOGGER.trace("Environment synchronized {}", event.synchronizedEnvironment);
-            refillFeatureBranchesCombo(session.getSessionEnvironment(),
-                    session.getSessionFeatureBranchProvider(), true);
-            resetDashboardComponents(event.synchronizedEnvironment,
-                    session.getSessionFeatureBranch());
-            PartHelper.updateLauncherButtonsEnablement(view.getFeatureBranchLauncherButtons());
+            scheduleRefillFeatureBranchesCombo(true);
+            scheduleResetDashboardComponents();
+            refreshScheduler.schedule(Refresh.LAUNCHER_BUTTONS_ENABLEMENT, () -> PartHelper
+                    .updateLauncherButtonsEnablement(view.getFeatureBranchLauncherButtons()));
         }
     }
 
@@ -411,10 +448,9 @@ public class FeatureBranchesPart {
             PartHelper.selectEnvironmentOnCombos(session.getSessionEnvironment(),
                     view.getProjectSelectionComboViewer(),
                     view.getEnvironmentSelectionComboViewer());
-            refillFeatureBranchesCombo(event.newEnvironment,
-                    session.getSessionFeatureBranchProvider(), false);
-            resetDashboardComponents(event.newEnvironment, session.getSessionFeatureBranch());
-            setButtonEnablement();
+            scheduleRefillFeatureBranchesCombo(false);
+            scheduleResetDashboardComponents();
+            refreshScheduler.schedule(Refresh.WORKFLOW_BUTTONS, this::setButtonEnablement);
         }
     }
 
@@ -429,9 +465,46 @@ public class FeatureBranchesPart {
         if (event.isDifferent()) {
             LOGGER.trace("Feature branch changed to {} from {}", event.newFeatureBranch,
                     event.previousFeatureBranch);
-            resetDashboardComponents(session.getSessionEnvironment(), event.newFeatureBranch);
-            setButtonEnablement();
-            recreateLauncherButtons(event.newFeatureBranch);
+            scheduleResetDashboardComponents();
+            refreshScheduler.schedule(Refresh.WORKFLOW_BUTTONS, this::setButtonEnablement);
+            refreshScheduler.schedule(Refresh.LAUNCHER_BUTTONS,
+                    () -> recreateLauncherButtons(session.getSessionFeatureBranch()));
+        }
+    }
+
+    // the scheduled work uses the session state at the time of the refresh pass
+    private void scheduleRefillFeatureBranchesCombo(final boolean refreshProvider) {
+        refreshProviderOnRefill |= refreshProvider;
+        refreshScheduler.schedule(Refresh.FEATURE_BRANCHES, () -> {
+            final boolean refresh = refreshProviderOnRefill;
+            refreshProviderOnRefill = false;
+            refillFeatureBranchesCombo(session.getSessionEnvironment(),
+                    session.getSessionFeatureBranchProvider(), refresh);
+        });
+    }
+
+    private void scheduleResetDashboardComponents() {
+        refreshScheduler.schedule(Refresh.DASHBOARD, () -> resetDashboardComponents(
+                session.getSessionEnvironment(), session.getSessionFeatureBranch()));
+    }
+
+    @Optional
+    @Inject
+    public void onFeatureBranchesUpdated(
+            @UIEventTopic(FeatureBranchesUpdatedEvent.TOPIC) FeatureBranchesUpdatedEvent event) {
+        if (event.environment == null) {
+            LOGGER.debug("Feature branch provider available: {}", event.provider);
+            // keep the selected provider
+            view.getFeatureBranchProviderComboViewer().setInput(
+                    session.getConfiguration().getServiceContainer().getFeatureBranchProviders());
+            view.getFeatureBranchProviderComboViewer()
+                    .setSelection(new StructuredSelection(session.getSessionFeatureBranchProvider()));
+            return;
+        }
+        if (Objects.equals(event.environment, session.getSessionEnvironment())
+                && Objects.equals(event.provider, session.getSessionFeatureBranchProvider())) {
+            LOGGER.trace("Feature branches updated for {}", event.environment);
+            scheduleRefillFeatureBranchesCombo(false);
         }
     }
 
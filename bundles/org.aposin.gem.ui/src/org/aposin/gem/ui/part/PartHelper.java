@@ -16,21 +16,25 @@
 package org.aposin.gem.ui.part;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import org.aposin.gem.core.api.launcher.ILauncher;
 import org.aposin.gem.core.api.model.IEnvironment;
 import org.aposin.gem.ui.lifecycle.Session;
 import org.aposin.gem.ui.part.listener.LauncherSelectionListener;
+import org.aposin.gem.ui.process.LauncherEnablement;
 import org.aposin.gem.ui.theme.ThemeConstants;
 import org.aposin.gem.ui.theme.ThemeIconRegistry;
 import org.aposin.gem.ui.view.DynamicButtonGroup;
 import org.aposin.gem.ui.view.DynamicButtonGroupListView;
+import org.aposin.gem.ui.view.ListLazyContentProvider;
 import org.aposin.gem.ui.view.dashboard.DashboardView;
 import org.aposin.gem.ui.view.dashboard.RepositoryDashboardInfoContainer;
 import org.aposin.gem.ui.view.filter.EnvironmentBySessionProjectFilter;
 import org.eclipse.e4.ui.css.swt.theme.ITheme;
 import org.eclipse.e4.ui.css.swt.theme.IThemeEngine;
-import org.eclipse.jface.viewers.ArrayContentProvider;
 import org.eclipse.jface.viewers.ComboViewer;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.ViewerFilter;
@@ -52,6 +56,7 @@ public final class PartHelper {
 
     public static void recreateLauncherButtons(final DynamicButtonGroupListView view,
             final Collection<ILauncher> launchers, final String themeId) {
+        final Map<Button, ILauncher> launcherByButton = new LinkedHashMap<>();
         try {
             view.setRedraw(false);
             view.clearAllGroups();
@@ -69,12 +74,18 @@ public final class PartHelper {
                 if (image != null && !image.isDisposed()) {
                     b.setImage(image);
                 }
-                addButtonLauncherListener(b, new LauncherSelectionListener(launcher));
+                final LauncherSelectionListener launcherListener = new LauncherSelectionListener(launcher);
+                b.addSelectionListener(launcherListener);
+                b.setData(LauncherSelectionListener.class.getName(), launcherListener);
+                // enabled once evaluated
+                b.setEnabled(false);
+                launcherByButton.put(b, launcher);
             }
             view.layout(true);
         } finally {
             view.setRedraw(true);
         }
+        LauncherEnablement.updateAsync(launcherByButton, Button::setEnabled);
     }
 
     public static void addButtonLauncherListener(final Button b,
@@ -84,10 +95,26 @@ public final class PartHelper {
         setLauncherButtonEnabled(b);
     }
 
+    /**
+     * Updates the enablement of the launcher buttons on the view in the background.
+     * 
+     * @param view view with launcher buttons.
+     */
     public static void updateLauncherButtonsEnablement(final DynamicButtonGroupListView view) {
-        view.getGroups().stream()//
+        final List<Button> buttons = view.getGroups().stream()//
                 .flatMap(group -> group.getButtons().stream()) //
-                .forEach(PartHelper::setLauncherButtonEnabled);
+                .collect(Collectors.toList());
+        final Map<Button, ILauncher> launcherByButton = new LinkedHashMap<>();
+        for (final Button b : buttons) {
+            final LauncherSelectionListener launcherListener =
+                    (LauncherSelectionListener) b.getData(LauncherSelectionListener.class.getName());
+            if (launcherListener != null) {
+                // refresh to remove cached launcher
+                launcherListener.refresh();
+            }
+            launcherByButton.put(b, launcherListener == null ? null : launcherListener.getLauncher());
+        }
+        LauncherEnablement.updateAsync(launcherByButton, Button::setEnabled);
     }
 
     public static void setLauncherButtonEnabled(final Button b) {
@@ -154,8 +181,10 @@ public final class PartHelper {
      */
     public static void setDashboardContent(final DashboardView view,
             final List<RepositoryDashboardInfoContainer> info) {
-        view.getTableViewer().setContentProvider(ArrayContentProvider.getInstance());
+        // the table is virtual: only the visible rows are created
+        view.getTableViewer().setContentProvider(new ListLazyContentProvider());
         view.getTableViewer().setInput(info);
+        view.getTableViewer().setItemCount(info.size());
         view.getTableViewer().setSelection(new StructuredSelection(info.get(0)));
     }
 
@@ -0,0 +1,87 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.ui.part;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.swt.widgets.Control;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the refresh work requested by the session events of a part.
+ * </br>
+ * A single session change posts several events (e.g., environment and feature-branch change);
+ * instead of running the refresh on each of them, the work is scheduled by key and run once
+ * after a frame, in the order of the keys declaration. Scheduling the same key several times
+ * keeps only the last work.
+ * </br>
+ * All methods should be called from the UI thread.
+ * 
+ * @param <K> the type of the keys identifying the work.
+ */
+/* package */ final class PartRefreshScheduler<K extends Enum<K>> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartRefreshScheduler.class);
+
+    // roughly a frame: events posted together are handled in the same refresh pass
+    private static final int COALESCE_DELAY_MS = 16;
+
+    private final Control owner;
+    private final Map<K, Runnable> pending;
+    private boolean scheduled = false;
+
+    /**
+     * Constructor.
+     * 
+     * @param keyType type of the keys.
+     * @param owner control owning the refresh; pending work is discarded once disposed.
+     */
+    /* package */ PartRefreshScheduler(final Class<K> keyType, final Control owner) {
+        this.owner = owner;
+        this.pending = new EnumMap<>(keyType);
+    }
+
+    /**
+     * Schedules the work for the key.
+     * 
+     * @param key key of the work.
+     * @param work work to run on the refresh pass.
+     */
+    /* package */ void schedule(final K key, final Runnable work) {
+        pending.put(key, work);
+        if (!scheduled && !owner.isDisposed()) {
+            scheduled = true;
+            owner.getDisplay().timerExec(COALESCE_DELAY_MS, this::runPending);
+        }
+    }
+
+    private void runPending() {
+        scheduled = false;
+        if (owner.isDisposed()) {
+            pending.clear();
+            return;
+        }
+        LOGGER.trace("Refresh pass: {}", pending.keySet());
+        // copy, as the work might schedule more work for the next pass
+        final List<Runnable> work = new ArrayList<>(pending.values());
+        pending.clear();
+        work.forEach(Runnable::run);
+    }
+
+}
@@ -98,7 +98,7 @@ public class LauncherSelectionListener extends SelectionAdapter implements IRefr
             // launch it
             if (!cmds.isEmpty()) {
                 CommandProgressDialog.open(null, getLauncher().getDisplayName(), //
-                        Session.messages, cmds);
+                        Session.messages, cmds, Session.getConsoleMaxLines());
             }
         } catch (final GemException exc) {
             MessageDialog.openError(null, "Launch error",
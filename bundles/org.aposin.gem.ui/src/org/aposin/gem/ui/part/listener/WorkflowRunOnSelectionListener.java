@@ -37,7 +37,8 @@ public abstract class WorkflowRunOnSelectionListener extends SelectionAdapter {
         final List<ICommand> commands = getWorkflowCommands();
         if (!commands.isEmpty()) {
             try {
-                CommandProgressDialog.open(null, getStepInformation(), Session.messages, commands);
+                CommandProgressDialog.open(null, getStepInformation(), Session.messages, commands,
+                        Session.getConsoleMaxLines());
             } finally {
                 onWorkflowFinished(true);
             }
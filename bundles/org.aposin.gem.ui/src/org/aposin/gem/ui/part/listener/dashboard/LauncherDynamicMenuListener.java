@@ -24,6 +24,7 @@ import java.util.stream.Collectors;
 import org.aposin.gem.core.api.INamedObject;
 import org.aposin.gem.core.api.launcher.ILauncher;
 import org.aposin.gem.ui.part.listener.LauncherSelectionListener;
+import org.aposin.gem.ui.process.LauncherEnablement;
 import org.aposin.gem.ui.theme.ThemeConstants;
 import org.aposin.gem.ui.theme.ThemeIconRegistry;
 import org.aposin.gem.ui.view.dashboard.RepositoryDashboardInfoContainer;
@@ -41,12 +42,32 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Class which creates the menu dinamically for a table based on a launcher supplier.
+ * </br>
+ * Menus are cached by row (the last ones used) and the enablement of the items is evaluated
+ * in the background each time that the menu is requested.
  */
 public class LauncherDynamicMenuListener implements Listener {
+
+    private static final int MAX_CACHED_MENUS = 16;
     
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     
     private final Table table;
+
+    // access-ordered to dispose the least recently used menu
+    private final Map<Object, Menu> menuByRow = new LinkedHashMap<>(MAX_CACHED_MENUS, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Object, Menu> eldest) {
+            if (size() > MAX_CACHED_MENUS) {
+                eldest.getValue().dispose();
+                return true;
+            }
+            return false;
+        }
+    };
     
     public static final Listener registerListener(final Table table) {
         final Listener listener = new LauncherDynamicMenuListener(table);
@@ -68,10 +89,14 @@ public class LauncherDynamicMenuListener implements Listener {
                 table.setMenu(null);
                 logger.trace("Remove context-menu for no item");
             } else {
-                logger.trace("Create context-menu for item: {}", item);
                 final RepositoryDashboardInfoContainer dashboardInfo = (RepositoryDashboardInfoContainer) item.getData();
-                final List<ILauncher> launchers = dashboardInfo.getRepositoryLaunchers();
-                final Menu menu = createMenuByGroup(table, launchers);
+                Menu menu = menuByRow.get(dashboardInfo);
+                if (menu == null || menu.isDisposed()) {
+                    logger.trace("Create context-menu for item: {}", item);
+                    menu = createMenuByGroup(table, dashboardInfo.getRepositoryLaunchers());
+                    menuByRow.put(dashboardInfo, menu);
+                }
+                updateMenuItemsEnablement(menu);
                 table.setMenu(menu);
             }
         }
@@ -92,6 +117,8 @@ public class LauncherDynamicMenuListener implements Listener {
                     // append the group displayname in case of collapsed names
                     item.setText(entry.getKey().getDisplayName() +  " " + launcher.getDisplayName());
                     addMenuItemLauncherListener(item, new LauncherSelectionListener(launcher));
+                    // enabled once evaluated
+                    item.setEnabled(false);
                 }
                 if (!groups.isEmpty()) {
                     // add a separator between groups
@@ -120,20 +147,23 @@ public class LauncherDynamicMenuListener implements Listener {
             final LauncherSelectionListener launcherListener) {
         menuItem.addSelectionListener(launcherListener);
         menuItem.setData(LauncherSelectionListener.class.getName(), launcherListener);
-        setLauncherMenuItemEnabled(menuItem);
     }
     
-    private static void setLauncherMenuItemEnabled(final MenuItem menuItem) {
-        final LauncherSelectionListener launcherListener =
-                (LauncherSelectionListener) menuItem.getData(LauncherSelectionListener.class.getName());
-        if (launcherListener == null) {
-            menuItem.setEnabled(false);
-        } else {
-            // refresh to remove cached launcher
-            launcherListener.refresh();
-            final ILauncher launcher = launcherListener.getLauncher();
-            menuItem.setEnabled(launcher != null && launcher.canLaunch());
+    private static void updateMenuItemsEnablement(final Menu menu) {
+        final Map<MenuItem, ILauncher> launcherByItem = new LinkedHashMap<>();
+        for (final MenuItem menuItem : menu.getItems()) {
+            if ((menuItem.getStyle() & SWT.SEPARATOR) != 0) {
+                continue;
+            }
+            final LauncherSelectionListener launcherListener =
+                    (LauncherSelectionListener) menuItem.getData(LauncherSelectionListener.class.getName());
+            if (launcherListener != null) {
+                // refresh to remove cached launcher
+                launcherListener.refresh();
+            }
+            launcherByItem.put(menuItem, launcherListener == null ? null : launcherListener.getLauncher());
         }
+        LauncherEnablement.updateAsync(launcherByItem, MenuItem::setEnabled);
     }
     
 }
@@ -0,0 +1,96 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.ui.process;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
+import org.aposin.gem.core.api.launcher.ILauncher;
+import org.aposin.gem.core.utils.ExecutorUtils;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Widget;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evaluates the enablement of launcher widgets (buttons, menu items) in the background.
+ * </br>
+ * {@link ILauncher#canLaunch()} might access the repositories, so it is not run on the UI thread.
+ * The enablement is applied on the UI thread once all the launchers are evaluated;
+ * meanwhile, the widgets keep their previous state.
+ */
+public final class LauncherEnablement {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LauncherEnablement.class);
+
+    // single thread: evaluations are applied in the same order as requested
+    private static final ExecutorService EXECUTOR =
+            ExecutorUtils.newDaemonPool("gem-launcher-enablement", 1);
+
+    private LauncherEnablement() {
+        // NO-OP
+    }
+
+    /**
+     * Updates the enablement of the widgets in the background.
+     * </br>
+     * Should be called from the UI thread.
+     * 
+     * @param launchers launcher by widget; widgets with a {@code null} launcher are disabled.
+     * @param setEnabled sets the enablement on the widget.
+     */
+    public static <T extends Widget> void updateAsync(final Map<T, ILauncher> launchers,
+            final BiConsumer<T, Boolean> setEnabled) {
+        if (launchers.isEmpty()) {
+            return;
+        }
+        final List<T> widgets = new ArrayList<>(launchers.keySet());
+        final List<ILauncher> toEvaluate = new ArrayList<>(launchers.values());
+        final Display display = widgets.get(0).getDisplay();
+        EXECUTOR.execute(() -> {
+            final boolean[] enabled = new boolean[toEvaluate.size()];
+            for (int i = 0; i < enabled.length; i++) {
+                enabled[i] = canLaunch(toEvaluate.get(i));
+            }
+            if (display.isDisposed()) {
+                return;
+            }
+            display.asyncExec(() -> {
+                for (int i = 0; i < enabled.length; i++) {
+                    final T widget = widgets.get(i);
+                    if (!widget.isDisposed()) {
+                        setEnabled.accept(widget, enabled[i]);
+                    }
+                }
+            });
+        });
+    }
+
+    private static boolean canLaunch(final ILauncher launcher) {
+        if (launcher == null) {
+            return false;
+        }
+        try {
+            return launcher.canLaunch();
+        } catch (final Exception e) {
+            LOGGER.error("Error checking if launcher can be launched: " + launcher.getId(), e);
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.ui.view;
+
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.jface.viewers.ILazyContentProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.Viewer;
+
+/**
+ * Lazy content provider for {@link TableViewer} created with {@link org.eclipse.swt.SWT#VIRTUAL}
+ * and a {@link List} as input.
+ * </br>
+ * Only the rows shown on the table are created and filled.
+ * </br>
+ * IMPORTANT: the item count should be set on the viewer after the input
+ * (see {@link TableViewer#setItemCount(int)}).
+ */
+public class ListLazyContentProvider implements ILazyContentProvider {
+
+    private TableViewer viewer;
+    private List<?> elements = Collections.emptyList();
+
+    @Override
+    public void inputChanged(final Viewer viewer, final Object oldInput, final Object newInput) {
+        this.viewer = (TableViewer) viewer;
+        this.elements = newInput == null ? Collections.emptyList() : (List<?>) newInput;
+    }
+
+    @Override
+    public void updateElement(final int index) {
+        if (index < elements.size()) {
+            viewer.replace(elements.get(index), index);
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.ui.view.dashboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.aposin.gem.core.utils.ExecutorUtils;
+import org.eclipse.e4.ui.di.UISynchronize;
+import org.eclipse.jface.viewers.TableViewer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the status of the dashboard rows on a worker pool.
+ * </br>
+ * The status computation runs git commands, so it is never done on the UI thread.
+ * Finished rows are updated on the viewer in batches: all rows finished before the
+ * UI thread runs the pending update are updated together.
+ */
+public class DashboardStatusUpdater {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DashboardStatusUpdater.class);
+
+    // shared by all the dashboards
+    private static final ExecutorService WORKERS =
+            ExecutorUtils.newDaemonPool("gem-dashboard-status");
+
+    private final UISynchronize uiSynchronize;
+    private final DashboardView view;
+
+    // increased on each computation to ignore the rows of previous ones
+    private final AtomicInteger generation = new AtomicInteger();
+    // rows finished but not yet updated on the viewer (guarded by this)
+    private List<RepositoryDashboardInfoContainer> pendingUpdates = new ArrayList<>();
+
+    /**
+     * Constructor.
+     * 
+     * @param uiSynchronize UI synchronize to update the viewer.
+     * @param view dashboard view to update.
+     */
+    public DashboardStatusUpdater(final UISynchronize uiSynchronize, final DashboardView view) {
+        this.uiSynchronize = uiSynchronize;
+        this.view = view;
+    }
+
+    /**
+     * Computes the status of the rows in the background.
+     * </br>
+     * Any computation for previous rows is discarded.
+     * 
+     * @param rows rows set as input of the dashboard.
+     */
+    public void computeStatus(final List<? extends RepositoryDashboardInfoContainer> rows) {
+        final int current = generation.incrementAndGet();
+        synchronized (this) {
+            pendingUpdates = new ArrayList<>(rows.size());
+        }
+        for (final RepositoryDashboardInfoContainer row : rows) {
+            WORKERS.execute(() -> {
+                if (current != generation.get()) {
+                    // outdated: dashboard input changed before running
+                    return;
+                }
+                try {
+                    row.computeStatus();
+                } catch (final Exception e) {
+                    LOGGER.error("Error computing status for " + row.getRepositoryName(), e);
+                    return;
+                }
+                scheduleUpdate(current, row);
+            });
+        }
+    }
+
+    private void scheduleUpdate(final int current, final RepositoryDashboardInfoContainer row) {
+        final boolean first;
+        synchronized (this) {
+            if (current != generation.get()) {
+                return;
+            }
+            first = pendingUpdates.isEmpty();
+            pendingUpdates.add(row);
+        }
+        // only the first row of the batch schedules the update
+        if (first) {
+            uiSynchronize.asyncExec(this::flushUpdates);
+        }
+    }
+
+    private void flushUpdates() {
+        final List<RepositoryDashboardInfoContainer> batch;
+        synchronized (this) {
+            batch = pendingUpdates;
+            pendingUpdates = new ArrayList<>();
+        }
+        final TableViewer viewer = view.getTableViewer();
+        if (batch.isEmpty() || viewer.getTable().isDisposed()) {
+            return;
+        }
+        LOGGER.trace("Updating {} dashboard rows", batch.size());
+        viewer.update(batch.toArray(), null);
+    }
+
+}
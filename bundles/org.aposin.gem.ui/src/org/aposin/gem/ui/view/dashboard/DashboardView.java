@@ -53,7 +53,9 @@ public class DashboardView extends Composite {
 
         final Composite tableComposite = new Composite(this, SWT.NONE);
         tableComposite.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 2, 2));
-        tableViewer = new TableViewer(tableComposite, SWT.FULL_SELECTION | SWT.BORDER);
+        tableViewer = new TableViewer(tableComposite, SWT.FULL_SELECTION | SWT.BORDER | SWT.VIRTUAL);
+        // rows are updated by element when their status is computed
+        tableViewer.setUseHashlookup(true);
         final TableColumnLayout tableColumnLayout = new TableColumnLayout();
         tableComposite.setLayout(tableColumnLayout);
         final Table repoTable = tableViewer.getTable();
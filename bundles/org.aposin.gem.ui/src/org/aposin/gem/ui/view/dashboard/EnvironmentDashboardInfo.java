@@ -52,7 +52,7 @@ public class EnvironmentDashboardInfo extends RepositoryDashboardInfoContainer {
     }
 
     @Override
-    public List<ILauncher> getRepositoryLaunchers() {
+    protected List<ILauncher> createRepositoryLaunchers() {
         final List<ILauncher> launchers = new ArrayList<>();
         launchers.addAll(getEnvironment().getRepositoryLaunchers(getRepository()));
         // also add the copy-to-clipboard one
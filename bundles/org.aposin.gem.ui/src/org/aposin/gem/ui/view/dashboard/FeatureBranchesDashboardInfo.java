@@ -95,8 +95,8 @@ public class FeatureBranchesDashboardInfo extends EnvironmentDashboardInfo {
     }
     
     @Override
-    public List<ILauncher> getRepositoryLaunchers() {
-        final List<ILauncher> launchers = new ArrayList<>(super.getRepositoryLaunchers());
+    protected List<ILauncher> createRepositoryLaunchers() {
+        final List<ILauncher> launchers = new ArrayList<>(super.createRepositoryLaunchers());
         if (featureBranch != null) {
             launchers.addAll(featureBranch.getRepositoryLaunchers(getRepository()));
         }
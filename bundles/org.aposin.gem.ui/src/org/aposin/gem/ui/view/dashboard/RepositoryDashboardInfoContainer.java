@@ -15,6 +15,7 @@
  */
 package org.aposin.gem.ui.view.dashboard;
 
+import java.util.Collections;
 import java.util.List;
 import org.aposin.gem.core.api.launcher.ILauncher;
 import org.aposin.gem.core.api.model.IEnvironment;
@@ -32,7 +33,10 @@ public abstract class RepositoryDashboardInfoContainer {
     private final int repoIndex;
     
     // computed values
-    private LocalRepoStatus status = LocalRepoStatus.PLACEHOLDER;
+    // computed on a worker thread and read on the UI thread
+    private volatile LocalRepoStatus status = LocalRepoStatus.PLACEHOLDER;
+    // launchers do not change for the container (re-created when the dashboard is reset)
+    private volatile List<ILauncher> repositoryLaunchers;
     
     /**
      * Constructor for the container.
@@ -78,9 +82,23 @@ public abstract class RepositoryDashboardInfoContainer {
     
     /**
      * Gets the repository launchers for the contained repo.
+     * </br>
+     * Launchers are created once for the container.
+     * 
+     * @return unmodifiable list of launchers.
+     */
+    public final List<ILauncher> getRepositoryLaunchers() {
+        if (repositoryLaunchers == null) {
+            repositoryLaunchers = Collections.unmodifiableList(createRepositoryLaunchers());
+        }
+        return repositoryLaunchers;
+    }
+
+    /**
+     * Creates the repository launchers for the contained repo.
      * 
      * @return list of launchers.
      */
-    public abstract List<ILauncher> getRepositoryLaunchers();
+    protected abstract List<ILauncher> createRepositoryLaunchers();
     
 }
@@ -15,6 +15,7 @@
  */
 package org.aposin.gem.ui.view.fieldassist;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -41,8 +42,16 @@ import org.eclipse.swt.widgets.Control;
  * Methods for those actions are provided in this class.
  * </br>
  * IMPORTANT: only {@link ComboViewer} with a {@link Combo} control is supported.
+ * </br>
+ * As the {@link Combo} cannot be virtual, only the first entries of the input (and the selected one)
+ * are set on the combo list; every entry is reachable through the proposals.
  */
 public class ComboViewerAutoCompleteField {
+
+    /**
+     * Maximum number of entries of the input on the combo list.
+     */
+    private static final int MAX_COMBO_ITEMS = ComboViewerProposalProvider.MAX_PROPOSALS;
     
     /**
      * Package protected to have access on the derived classes.
@@ -51,6 +60,9 @@ public class ComboViewerAutoCompleteField {
     private final ContentProposalAdapter adapter;
     private final ComboViewerProposalProvider provider;
     private final ComboViewerProposalListener listener;
+
+    private List<?> input = Collections.emptyList();
+    private final List<Object> comboItems = new ArrayList<>();
     
     /**
      * Constructor for a {@link ComboViewer}.
@@ -121,7 +133,10 @@ public class ComboViewerAutoCompleteField {
      * @param input list of objects.
      */
     public void setInput(final List<?> input) {
-        viewer.setInput(input);
+        this.input = input == null ? Collections.emptyList() : input;
+        comboItems.clear();
+        comboItems.addAll(this.input.subList(0, Math.min(MAX_COMBO_ITEMS, this.input.size())));
+        viewer.setInput(comboItems);
         provider.setProposals(input);
     }
     
@@ -133,6 +148,11 @@ public class ComboViewerAutoCompleteField {
      * @param item selected object.
      */
     public void setSelection(final Object item) {
+        // add to the combo list if it is not one of the first entries
+        if (!comboItems.contains(item) && input.contains(item)) {
+            comboItems.add(item);
+            viewer.add(item);
+        }
         viewer.setSelection(new StructuredSelection(item));
     }
     
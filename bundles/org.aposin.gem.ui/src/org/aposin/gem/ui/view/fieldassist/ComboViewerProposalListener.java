@@ -39,7 +39,8 @@ class ComboViewerProposalListener implements IContentProposalListener, IContentP
     
     @Override
     public void proposalAccepted(final IContentProposal proposal) {
-        if (proposal != ComboViewerProposalProvider.NONE_MATCHING) {
+        // other proposals are only informative (no matching or more entries)
+        if (proposal instanceof ObjectContentProposal) {
             // first set to propagate properly to popup-close
             accepted.set(true);
             final ObjectContentProposal objProposal = (ObjectContentProposal) proposal;
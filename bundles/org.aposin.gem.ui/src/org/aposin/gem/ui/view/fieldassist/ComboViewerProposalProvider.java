@@ -15,6 +15,7 @@
  */
 package org.aposin.gem.ui.view.fieldassist;
 
+import java.text.MessageFormat;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -31,9 +32,15 @@ import org.eclipse.jface.viewers.ILabelProvider;
 class ComboViewerProposalProvider implements IContentProposalProvider {
 
     static final IContentProposal NONE_MATCHING = new ContentProposal("No entry found");
+
+    /**
+     * Maximum number of proposals shown on the popup.
+     */
+    static final int MAX_PROPOSALS = 200;
     
     private final ComboViewer viewer;
     private List<ObjectContentProposal> proposals;
+    private ProposalSearchIndex index;
     
     public ComboViewerProposalProvider(final ComboViewer viewer, final List<?> proposals) {
         this(viewer);
@@ -42,19 +49,28 @@ class ComboViewerProposalProvider implements IContentProposalProvider {
     
     public ComboViewerProposalProvider(final ComboViewer viewer) {
         this.viewer = viewer;
+        setProposals(null);
     }
 
     @Override
     public IContentProposal[] getProposals(final String contents, final int position) {
-        // case-insensitive content proposal (always to lower-case)
-        final String lowerCaseContents = contents.toLowerCase();
-        final IContentProposal[] contentProposals = proposals.stream()//
-                .filter(prop -> prop.getContent().toLowerCase().contains(lowerCaseContents))//
-                .toArray(IContentProposal[]::new);
-        
-        return contentProposals.length == 0 // 
-                ? new IContentProposal[] { NONE_MATCHING } //
-                : contentProposals;
+        // case-insensitive content proposal (handled by the index)
+        final ProposalSearchIndex.Result result = index.search(contents, MAX_PROPOSALS);
+        final int[] matches = result.getMatches();
+        if (matches.length == 0) {
+            return new IContentProposal[] { NONE_MATCHING };
+        }
+        final int remaining = result.getTotalMatches() - matches.length;
+        final IContentProposal[] contentProposals =
+                new IContentProposal[remaining == 0 ? matches.length : matches.length + 1];
+        for (int i = 0; i < matches.length; i++) {
+            contentProposals[i] = proposals.get(matches[i]);
+        }
+        if (remaining != 0) {
+            contentProposals[matches.length] = new ContentProposal(
+                    MessageFormat.format("{0} more entries (refine the search)", remaining));
+        }
+        return contentProposals;
     }
     
     public void setProposals(final List<?> proposals) {
@@ -65,6 +81,10 @@ class ComboViewerProposalProvider implements IContentProposalProvider {
                     .map(obj -> new ObjectContentProposal(obj))//
                     .collect(Collectors.toList());
         }
+        // index once per input to avoid filtering all proposals on each key stroke
+        this.index = new ProposalSearchIndex(this.proposals.stream() //
+                .map(ObjectContentProposal::getContent) //
+                .collect(Collectors.toList())).buildAsync();
     }
     
     /**
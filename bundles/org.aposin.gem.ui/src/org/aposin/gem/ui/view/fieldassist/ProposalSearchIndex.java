@@ -0,0 +1,235 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.ui.view.fieldassist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Internal search index for the content of the proposals.
+ * </br>
+ * The index is built once per input and maps every trigram of the (lower-case) contents
+ * to the entries containing it. Queries are split in whitespace-separated terms, which
+ * should be all contained (in any order) in the entry content. Results are ranked
+ * (terms at word start first, then input order) and capped.
+ * </br>
+ * The trigrams are indexed on the background (see {@link #buildAsync()}); until they are
+ * available, the queries scan all the entries.
+ */
+class ProposalSearchIndex {
+
+    private static final int GRAM_SIZE = 3;
+
+    private final String[] contents;
+    private volatile Map<Long, Postings> postings;
+
+    /**
+     * Result of a search.
+     */
+    static final class Result {
+
+        private final int[] matches;
+        private final int totalMatches;
+
+        private Result(final int[] matches, final int totalMatches) {
+            this.matches = matches;
+            this.totalMatches = totalMatches;
+        }
+
+        /**
+         * @return indexes of the ranked matched entries (at most the maximum requested).
+         */
+        public int[] getMatches() {
+            return matches;
+        }
+
+        /**
+         * @return total number of matching entries (including those not returned).
+         */
+        public int getTotalMatches() {
+            return totalMatches;
+        }
+    }
+
+    /**
+     * Creates the index for the contents.
+     * 
+     * @param contents contents to index; the position on the list is the entry index.
+     */
+    ProposalSearchIndex(final List<String> contents) {
+        this.contents = contents.stream().map(String::toLowerCase).toArray(String[]::new);
+    }
+
+    /**
+     * Indexes the trigrams of the contents on the background.
+     * 
+     * @return this index.
+     */
+    ProposalSearchIndex buildAsync() {
+        CompletableFuture.runAsync(this::build);
+        return this;
+    }
+
+    /**
+     * Indexes the trigrams of the contents.
+     */
+    void build() {
+        final Map<Long, Postings> grams = new HashMap<>();
+        for (int i = 0; i < contents.length; i++) {
+            final String content = contents[i];
+            for (int start = 0; start + GRAM_SIZE <= content.length(); start++) {
+                grams.computeIfAbsent(gramKey(content, start), k -> new Postings()).add(i);
+            }
+        }
+        postings = grams;
+    }
+
+    /**
+     * Searches the entries matching the query.
+     * 
+     * @param query query (case-insensitive).
+     * @param maxMatches maximum number of matches to return.
+     * @return result of the search.
+     */
+    Result search(final String query, final int maxMatches) {
+        final String[] terms = Arrays.stream(query.toLowerCase().trim().split("\\s+")) //
+                .filter(term -> !term.isEmpty()) //
+                .toArray(String[]::new);
+        if (terms.length == 0) {
+            // everything matches in input order
+            final int count = Math.min(maxMatches, contents.length);
+            final int[] all = new int[count];
+            Arrays.setAll(all, i -> i);
+            return new Result(all, contents.length);
+        }
+
+        final Postings candidates = getCandidates(terms);
+        // ranked in two buckets: all terms at word start or not
+        final List<Integer> wordStart = new ArrayList<>();
+        final List<Integer> others = new ArrayList<>();
+        int totalMatches = 0;
+        final int size = candidates == null ? contents.length : candidates.size;
+        for (int i = 0; i < size; i++) {
+            final int entry = candidates == null ? i : candidates.entries[i];
+            final int rank = rank(contents[entry], terms);
+            if (rank >= 0) {
+                totalMatches++;
+                final List<Integer> bucket = rank == 0 ? wordStart : others;
+                if (bucket.size() < maxMatches) {
+                    bucket.add(entry);
+                }
+            }
+        }
+        return new Result(toArray(wordStart, others, maxMatches), totalMatches);
+    }
+
+    /**
+     * Gets the candidates from the index: the shortest postings of the trigrams on the terms.
+     * 
+     * @return candidates; {@code null} if all the entries are candidates (no term long enough
+     *         or trigrams not indexed yet).
+     */
+    private Postings getCandidates(final String[] terms) {
+        final Map<Long, Postings> postings = this.postings;
+        if (postings == null) {
+            return null;
+        }
+        Postings candidates = null;
+        for (final String term : terms) {
+            for (int start = 0; start + GRAM_SIZE <= term.length(); start++) {
+                final Postings gramPostings = postings.get(gramKey(term, start));
+                if (gramPostings == null) {
+                    return Postings.EMPTY;
+                }
+                if (candidates == null || gramPostings.size < candidates.size) {
+                    candidates = gramPostings;
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * @return {@code -1} if not matching; {@code 0} if all terms are on a word start;
+     *         {@code 1} otherwise.
+     */
+    private static int rank(final String content, final String[] terms) {
+        int rank = 0;
+        for (final String term : terms) {
+            int index = content.indexOf(term);
+            if (index == -1) {
+                return -1;
+            }
+            if (rank == 0) {
+                while (index != -1 && !isWordStart(content, index)) {
+                    index = content.indexOf(term, index + 1);
+                }
+                if (index == -1) {
+                    rank = 1;
+                }
+            }
+        }
+        return rank;
+    }
+
+    private static boolean isWordStart(final String content, final int index) {
+        return index == 0 || !Character.isLetterOrDigit(content.charAt(index - 1));
+    }
+
+    private static int[] toArray(final List<Integer> first, final List<Integer> second,
+            final int max) {
+        final int[] array = new int[Math.min(max, first.size() + second.size())];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i < first.size() ? first.get(i) : second.get(i - first.size());
+        }
+        return array;
+    }
+
+    private static long gramKey(final String content, final int start) {
+        long key = 0;
+        for (int i = start; i < start + GRAM_SIZE; i++) {
+            key = (key << Character.SIZE) | content.charAt(i);
+        }
+        return key;
+    }
+
+    /**
+     * Growing list of entry indexes, sorted by construction.
+     */
+    private static final class Postings {
+
+        private static final Postings EMPTY = new Postings();
+
+        private int[] entries = new int[4];
+        private int size = 0;
+
+        private void add(final int entry) {
+            // entry might be already added if the gram is repeated on the content
+            if (size != 0 && entries[size - 1] == entry) {
+                return;
+            }
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = entry;
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.api.service.launcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.aposin.gem.core.api.launcher.ILauncher;
+import org.aposin.gem.core.api.model.IEnvironment;
+import org.aposin.gem.core.api.model.IRepository;
+import org.aposin.gem.core.api.service.IServiceContainer;
+import org.aposin.gem.core.api.workflow.IFeatureBranch;
+import org.aposin.gem.test.utils.Stubs;
+import org.junit.jupiter.api.Test;
+
+public class LauncherRegistryTest {
+
+    private final ILauncher first = Stubs.stub(ILauncher.class, Map.of());
+    private final ILauncher second = Stubs.stub(ILauncher.class, Map.of());
+    private final ILauncher repositoryLauncher = Stubs.stub(ILauncher.class, Map.of());
+    private final IEnvironment environment = Stubs.stub(IEnvironment.class, Map.of());
+    private final IRepository repository = Stubs.stub(IRepository.class, Map.of());
+
+    // scopes (and repositories) requested to the providers
+    private final List<Object> requests = new ArrayList<>();
+
+    private final LauncherRegistry registry =
+            new LauncherRegistry(Stubs.stub(IServiceContainer.class, Map.of( //
+            "getEnvironmentLauncherProviders", List.of( //
+                    environmentProvider(List.of(first)), //
+                    environmentProvider(null), //
+                    environmentProvider(List.of(second))), //
+            "getFeatureBranchLauncherProviders", List.of(featureBranchProvider()))));
+
+    private IEnvironmentLauncherProvider environmentProvider(final List<ILauncher> launchers) {
+        return Stubs.stub(IEnvironmentLauncherProvider.class, Map.of( //
+                "getLaunchers", (Stubs.Answer) args -> {
+                    requests.add(args[0]);
+                    return launchers;
+                }, //
+                "getRepositoryLaunchers", (Stubs.Answer) args -> {
+                    requests.add(args[1]);
+                    return launchers == null ? null : List.of(repositoryLauncher);
+                }));
+    }
+
+    private IFeatureBranchLauncherProvider featureBranchProvider() {
+        return Stubs.stub(IFeatureBranchLauncherProvider.class, Map.of( //
+                "getLaunchers", (Stubs.Answer) args -> {
+                    requests.add(args[0]);
+                    return List.of(first);
+                }, //
+                "getRepositoryLaunchers", (Stubs.Answer) args -> {
+                    requests.add(args[1]);
+                    return List.of(repositoryLauncher);
+                }));
+    }
+
+    /**
+     * Feature-branch stub equal to any other with the same name.
+     */
+    private static IFeatureBranch featureBranch(final String name) {
+        return (IFeatureBranch) Proxy.newProxyInstance(IFeatureBranch.class.getClassLoader(),
+                new Class<?>[] {IFeatureBranch.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return name.hashCode();
+                        case "equals":
+                            return args[0] instanceof IFeatureBranch
+                                    && name.equals(args[0].toString());
+                        case "toString":
+                            return name;
+                        default:
+                            throw new UnsupportedOperationException(method.toString());
+                    }
+                });
+    }
+
+    @Test
+    public void testEnvironmentLaunchersCached() {
+        final List<ILauncher> launchers = registry.getLaunchers(environment);
+        assertEquals(List.of(first, second), launchers);
+        assertSame(launchers, registry.getLaunchers(environment));
+        // once per provider
+        assertEquals(List.of(environment, environment, environment), requests);
+    }
+
+    @Test
+    public void testRepositoryLaunchersCached() {
+        final IRepository other = Stubs.stub(IRepository.class, Map.of());
+        assertEquals(List.of(repositoryLauncher, repositoryLauncher),
+                registry.getRepositoryLaunchers(environment, repository));
+        registry.getRepositoryLaunchers(environment, repository);
+        registry.getRepositoryLaunchers(environment, other);
+        // resolved per repository, without the launchers of the scope
+        assertEquals(List.of(repository, repository, repository, other, other, other), requests);
+    }
+
+    @Test
+    public void testFeatureBranchesCachedByInstance() {
+        final IFeatureBranch featureBranch = featureBranch("feature");
+        final IFeatureBranch equalFeatureBranch = featureBranch("feature");
+        registry.getLaunchers(featureBranch);
+        registry.getLaunchers(featureBranch);
+        registry.getLaunchers(equalFeatureBranch);
+        registry.getLaunchers(equalFeatureBranch);
+        assertEquals(2, requests.size());
+        assertSame(featureBranch, requests.get(0));
+        assertSame(equalFeatureBranch, requests.get(1));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedFeatureBranchesRemoved() {
+        final Map<Integer, IFeatureBranch> featureBranches = new HashMap<>();
+        for (int i = 0; i < 32; i++) {
+            featureBranches.put(i, featureBranch("feature-" + i));
+            registry.getLaunchers(featureBranches.get(i));
+        }
+        // used again, so the second one is the least recently used
+        registry.getLaunchers(featureBranches.get(0));
+        registry.getLaunchers(featureBranch("feature-32"));
+        assertEquals(33, requests.size());
+
+        registry.getLaunchers(featureBranches.get(0));
+        assertEquals(33, requests.size());
+        registry.getLaunchers(featureBranches.get(1));
+        assertEquals(34, requests.size());
+    }
+
+    @Test
+    public void testInvalidate() {
+        final IFeatureBranch featureBranch = featureBranch("feature");
+        registry.getLaunchers(environment);
+        registry.getLaunchers(featureBranch);
+        registry.getRepositoryLaunchers(featureBranch, repository);
+        assertEquals(5, requests.size());
+
+        registry.invalidate(featureBranch);
+        registry.getLaunchers(environment);
+        registry.getLaunchers(featureBranch);
+        registry.getRepositoryLaunchers(featureBranch, repository);
+        assertEquals(7, requests.size());
+    }
+
+    @Test
+    public void testClear() {
+        registry.getLaunchers(environment);
+        registry.getLaunchers(featureBranch("feature"));
+        registry.clear();
+        registry.getLaunchers(environment);
+        registry.getLaunchers(featureBranch("feature"));
+        assertEquals(8, requests.size());
+    }
+
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.model.repo;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+
+import org.aposin.gem.core.api.workflow.ICommand.IResult;
+import org.aposin.gem.core.api.workflow.exception.MergeConflictException;
+import org.aposin.gem.test.utils.Stubs;
+import org.junit.jupiter.api.Test;
+import org.zeroturnaround.exec.InvalidExitValueException;
+import org.zeroturnaround.exec.ProcessResult;
+
+public class GitNetworkErrorClassifierTest {
+
+    private final GitNetworkErrorClassifier classifier = new GitNetworkErrorClassifier();
+
+    private static IResult failed(final Throwable exception, final String errorMessage) {
+        final Map<String, Object> answers = new HashMap<>();
+        answers.put("isFailed", true);
+        answers.put("getException", exception);
+        answers.put("getErrorMessage", errorMessage);
+        return Stubs.stub(IResult.class, answers);
+    }
+
+    private static InvalidExitValueException exitValue(final int exitValue) {
+        return new InvalidExitValueException("Unexpected exit value: " + exitValue,
+                new ProcessResult(exitValue, null));
+    }
+
+    @Test
+    public void testTransientNetworkErrors() {
+        assertTrue(classifier.test(failed(exitValue(128),
+                "fatal: unable to access 'https://host/repo.git/': Could not resolve host: host")));
+        assertTrue(classifier.test(failed(exitValue(128),
+                "fatal: the remote end hung up unexpectedly\nfatal: early EOF")));
+        assertTrue(classifier.test(failed(exitValue(128),
+                "error: RPC failed; HTTP 503 curl 22 The requested URL returned error: 503")));
+        assertTrue(classifier.test(failed(exitValue(128),
+                "ssh: connect to host host port 22: Connection refused")));
+    }
+
+    @Test
+    public void testWrappedExitValue() {
+        assertTrue(classifier.test(failed(new CompletionException(exitValue(128)),
+                "fatal: Connection reset by peer")));
+    }
+
+    @Test
+    public void testNotNetworkErrors() {
+        assertFalse(classifier.test(failed(exitValue(128),
+                "fatal: Authentication failed for 'https://host/repo.git/'")));
+        assertFalse(classifier.test(failed(exitValue(128),
+                "fatal: couldn't find remote ref feature/missing")));
+        assertFalse(classifier.test(failed(exitValue(128),
+                "error: The requested URL returned error: 404")));
+    }
+
+    @Test
+    public void testOnlyFatalExitValue() {
+        assertFalse(classifier.test(failed(exitValue(1), "Connection reset")));
+        assertFalse(classifier.test(failed(new IllegalStateException("Connection reset"),
+                "Connection reset")));
+        assertFalse(classifier.test(failed(null, "Connection reset")));
+    }
+
+    @Test
+    public void testNeverRetryConflictsOrCancellation() {
+        assertFalse(classifier.test(failed(
+                new MergeConflictException("conflict", exitValue(128)), "Connection reset")));
+        assertFalse(classifier.test(failed(new CancellationException("Cancelled"),
+                "Connection reset")));
+    }
+
+    @Test
+    public void testWithoutErrorMessage() {
+        assertFalse(classifier.test(failed(exitValue(128), null)));
+    }
+
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.model.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.aposin.gem.core.api.config.IConfiguration;
+import org.aposin.gem.core.impl.internal.config.bean.GemCfgBean.RepositoryBean;
+import org.aposin.gem.core.impl.internal.util.GitConstants;
+import org.aposin.gem.test.utils.Stubs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ModelSnapshotTest {
+
+    @TempDir
+    public Path resourcesDirectory;
+
+    private IConfiguration config;
+    private ModelSnapshot snapshot;
+
+    @BeforeEach
+    public void setUp() {
+        config = Stubs.stub(IConfiguration.class, Map.of( //
+                "getResourcesDirectory", resourcesDirectory, //
+                "getRepositoriesDirectory", resourcesDirectory.resolve("repos")));
+        snapshot = ModelSnapshot.forResourcesDirectory(resourcesDirectory);
+    }
+
+    private RepositoryImpl repository(final String id, final String url, final boolean cloned)
+            throws IOException {
+        final RepositoryBean bean = new RepositoryBean();
+        bean.id = id;
+        bean.url = url;
+        final RepositoryImpl repository = new RepositoryImpl(config, bean);
+        if (cloned) {
+            Files.createDirectories(repository.getDestinationLocation().resolve(GitConstants.GITDIR_FOLDER));
+        }
+        return repository;
+    }
+
+    @Test
+    public void testSeedStoredRepositories() throws IOException {
+        final Map<Path, String> worktrees = Map.of(resourcesDirectory.resolve("worktree"), "feature/a");
+        final RepositoryImpl stored = repository("repo", "https://server/repo.git", true);
+        stored.seed(List.of("master", "feature/a"), worktrees);
+        snapshot.save(List.of(stored));
+
+        final RepositoryImpl seeded = repository("repo", "https://server/repo.git", true);
+        assertEquals(List.of(seeded), snapshot.seed(List.of(seeded)));
+        assertEquals(Set.of("master", "feature/a"), seeded.getLoadedBranches());
+        assertEquals(worktrees, seeded.getLoadedWorktrees());
+        // served without running git
+        assertEquals(List.of("feature/a", "master"), seeded.getBranches());
+    }
+
+    @Test
+    public void testChangedUrlNotSeeded() throws IOException {
+        final RepositoryImpl stored = repository("repo", "https://server/repo.git", true);
+        stored.seed(List.of("master"), Map.of());
+        snapshot.save(List.of(stored));
+
+        final RepositoryImpl moved = repository("repo", "https://other/repo.git", true);
+        assertTrue(snapshot.seed(List.of(moved)).isEmpty());
+        assertNull(moved.getLoadedBranches());
+    }
+
+    @Test
+    public void testNotLoadedRepositoriesNotStored() throws IOException {
+        snapshot.save(List.of(repository("repo", "https://server/repo.git", true)));
+        assertTrue(snapshot.seed(List.of(repository("repo", "https://server/repo.git", true))).isEmpty());
+    }
+
+    @Test
+    public void testUnreadableSnapshotIgnored() throws IOException {
+        Files.writeString(resourcesDirectory.resolve(".model.snapshot"), "not a snapshot");
+        final RepositoryImpl repository = repository("repo", "https://server/repo.git", true);
+        assertTrue(snapshot.seed(List.of(repository)).isEmpty());
+        assertNull(repository.getLoadedBranches());
+    }
+
+    @Test
+    public void testNotClonedRepositoryNotSeeded() throws IOException {
+        final RepositoryImpl repository = repository("repo", "https://server/repo.git", false);
+        repository.seed(List.of("master"), Map.of());
+        assertNull(repository.getLoadedBranches());
+        assertNull(repository.getLoadedWorktrees());
+    }
+
+}
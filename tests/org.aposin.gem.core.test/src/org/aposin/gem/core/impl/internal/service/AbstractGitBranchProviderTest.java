@@ -0,0 +1,83 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.aposin.gem.core.api.config.IConfiguration;
+import org.aposin.gem.core.api.model.IEnvironment;
+import org.aposin.gem.core.api.model.IRepository;
+import org.aposin.gem.core.api.workflow.IFeatureBranch;
+import org.aposin.gem.test.utils.Stubs;
+import org.junit.jupiter.api.Test;
+
+public class AbstractGitBranchProviderTest {
+
+    private static IRepository repository(final String id, final List<String> branches) {
+        return Stubs.stub(IRepository.class, Map.of("getId", id, //
+                "isCloned", true, //
+                "getBranches", branches));
+    }
+
+    private static AbstractGitBranchProvider provider() {
+        return new AbstractGitBranchProvider() {
+
+            @Override
+            public String getName() {
+                return "git";
+            }
+
+            @Override
+            public String getDisplayName() {
+                return "Git";
+            }
+
+            @Override
+            protected boolean doKeepBranch(final String branchName, final IEnvironment environment) {
+                return !branchName.startsWith("ignored/");
+            }
+        };
+    }
+
+    @Test
+    public void testBranchesOfRepositoriesInOrder() {
+        final IRepository first = repository("first", List.of("master", "origin/master", //
+                "origin/feature/b", "ignored/c", IEnvironment.INTERNAL_BRANCH_PREFIX + "d"));
+        final IRepository second = repository("second", List.of("feature/a", "origin/feature/b"));
+        // branches of repositories not cloned are not listed
+        final IRepository notCloned = Stubs.stub(IRepository.class, Map.of("isCloned", false));
+        final List<IRepository> repositories = List.of(first, second, notCloned);
+        final IEnvironment environment = Stubs.stub(IEnvironment.class, Map.of( //
+                "getRepositories", repositories, //
+                "getEnvironmentBranchByRepository", Map.of(first, "master", second, "develop"), //
+                "getBranchPrefix", "env"));
+        final IConfiguration config = Stubs.stub(IConfiguration.class, Map.of( //
+                "getRepositories", repositories, //
+                "getEnvironments", List.of(environment)));
+
+        final AbstractGitBranchProvider provider = provider();
+        provider.setConfig(config);
+        final List<String> names = provider.getFeatureBranches(environment).stream() //
+                .map(IFeatureBranch::getName) //
+                .collect(Collectors.toList());
+        assertEquals(List.of("feature/b", "feature/a"), names);
+    }
+
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.aposin.gem.core.api.model.IEnvironment;
+import org.aposin.gem.core.api.workflow.IFeatureBranch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CachingFeatureBranchProviderTest {
+
+    private final IEnvironment environment = StubFeatureBranchProvider.environment();
+
+    private StubFeatureBranchProvider delegate;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = new StubFeatureBranchProvider();
+    }
+
+    @Test
+    public void testConcurrentRequestsShareLoad() {
+        final CachingFeatureBranchProvider provider =
+                new CachingFeatureBranchProvider(delegate, Duration.ofHours(1), (p, e) -> {});
+        final CompletableFuture<List<IFeatureBranch>> pending = new CompletableFuture<>();
+        delegate.respond(pending);
+        final CompletableFuture<List<IFeatureBranch>> first = provider.getFeatureBranchesAsync(environment);
+        final CompletableFuture<List<IFeatureBranch>> second = provider.getFeatureBranchesAsync(environment);
+        assertEquals(1, delegate.getRequests());
+
+        final List<IFeatureBranch> featureBranches = List.of(delegate.featureBranch(environment, "1"));
+        pending.complete(featureBranches);
+        assertEquals(featureBranches, first.join());
+        assertEquals(featureBranches, second.join());
+        // cached
+        assertEquals(featureBranches, provider.getFeatureBranches(environment));
+        assertEquals(1, delegate.getRequests());
+    }
+
+    @Test
+    public void testLoadBeforeRefreshNotCached() {
+        final CachingFeatureBranchProvider provider =
+                new CachingFeatureBranchProvider(delegate, Duration.ofHours(1), (p, e) -> {});
+        final CompletableFuture<List<IFeatureBranch>> pending = new CompletableFuture<>();
+        delegate.respond(pending);
+        final CompletableFuture<List<IFeatureBranch>> beforeRefresh =
+                provider.getFeatureBranchesAsync(environment);
+        provider.refresh();
+
+        final List<IFeatureBranch> previous = List.of(delegate.featureBranch(environment, "1"));
+        final List<IFeatureBranch> refreshed = List.of(delegate.featureBranch(environment, "2"));
+        delegate.respond(refreshed);
+        pending.complete(previous);
+        // the callers before the refresh get the loaded ones, but they are not cached
+        assertEquals(previous, beforeRefresh.join());
+        assertEquals(refreshed, provider.getFeatureBranches(environment));
+        assertEquals(2, delegate.getRequests());
+        assertEquals(1, delegate.getRefreshes());
+    }
+
+    @Test
+    public void testStaleRevalidatedInBackground() throws InterruptedException {
+        final CountDownLatch updated = new CountDownLatch(1);
+        final CachingFeatureBranchProvider provider = new CachingFeatureBranchProvider(delegate,
+                Duration.ofMillis(1), (p, e) -> updated.countDown());
+        final List<IFeatureBranch> stale = List.of(delegate.featureBranch(environment, "1"));
+        final List<IFeatureBranch> revalidated = List.of(delegate.featureBranch(environment, "2"));
+        delegate.respond(stale);
+        assertEquals(stale, provider.getFeatureBranches(environment));
+
+        delegate.respond(revalidated);
+        Thread.sleep(10);
+        // stale ones served while revalidating
+        assertEquals(stale, provider.getFeatureBranches(environment));
+        assertTrue(updated.await(5, TimeUnit.SECONDS));
+        assertEquals(revalidated, provider.getFeatureBranches(environment));
+    }
+
+    @Test
+    public void testFindOverCachedFeatureBranches() {
+        final CachingFeatureBranchProvider provider =
+                new CachingFeatureBranchProvider(delegate, Duration.ofHours(1), (p, e) -> {});
+        final IFeatureBranch first = delegate.featureBranch(environment, "1");
+        final IFeatureBranch second = delegate.featureBranch(environment, "2");
+        delegate.respond(List.of(first, second));
+
+        assertSame(second, provider.findById(environment, "2").get());
+        assertSame(first, provider.findByName(environment, "stub/1").get());
+        assertEquals(Optional.empty(), provider.findById(environment, "3"));
+        assertEquals(1, delegate.getRequests());
+    }
+
+}
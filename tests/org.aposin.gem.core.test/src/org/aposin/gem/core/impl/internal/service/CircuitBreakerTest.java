@@ -0,0 +1,88 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+public class CircuitBreakerTest {
+
+    @Test
+    public void testBackoffDoubledUpToMaximum() {
+        final Duration initial = Duration.ofMillis(100);
+        final Duration max = Duration.ofMillis(300);
+        assertEquals(Duration.ofMillis(100), CircuitBreaker.getBackoff(initial, max, 1));
+        assertEquals(Duration.ofMillis(200), CircuitBreaker.getBackoff(initial, max, 2));
+        assertEquals(Duration.ofMillis(300), CircuitBreaker.getBackoff(initial, max, 3));
+        assertEquals(Duration.ofMillis(300), CircuitBreaker.getBackoff(initial, max, 10));
+    }
+
+    @Test
+    public void testBackoffMaximumLowerThanInitial() {
+        assertEquals(Duration.ofMillis(100),
+                CircuitBreaker.getBackoff(Duration.ofMillis(100), Duration.ofMillis(10), 3));
+    }
+
+    @Test
+    public void testOpenAfterThreshold() {
+        final CircuitBreaker circuitBreaker =
+                new CircuitBreaker("test", 2, Duration.ofHours(1), Duration.ofHours(1));
+        circuitBreaker.recordFailure();
+        assertTrue(circuitBreaker.isRequestAllowed());
+        circuitBreaker.recordFailure();
+        assertFalse(circuitBreaker.isRequestAllowed());
+    }
+
+    @Test
+    public void testNeverOpenWithoutThreshold() {
+        final CircuitBreaker circuitBreaker =
+                new CircuitBreaker("test", 0, Duration.ofHours(1), Duration.ofHours(1));
+        for (int i = 0; i < 10; i++) {
+            circuitBreaker.recordFailure();
+        }
+        assertTrue(circuitBreaker.isRequestAllowed());
+    }
+
+    @Test
+    public void testSingleRequestAfterBackoff() throws InterruptedException {
+        final CircuitBreaker circuitBreaker =
+                new CircuitBreaker("test", 1, Duration.ofMillis(200), Duration.ofMillis(200));
+        circuitBreaker.recordFailure();
+        assertFalse(circuitBreaker.isRequestAllowed());
+        Thread.sleep(300);
+        // half-open: only one request until it is recorded
+        assertTrue(circuitBreaker.isRequestAllowed());
+        assertFalse(circuitBreaker.isRequestAllowed());
+        circuitBreaker.recordSuccess();
+        assertTrue(circuitBreaker.isRequestAllowed());
+    }
+
+    @Test
+    public void testResetClosesCircuit() {
+        final CircuitBreaker circuitBreaker =
+                new CircuitBreaker("test", 1, Duration.ofHours(1), Duration.ofHours(1));
+        circuitBreaker.recordFailure();
+        assertFalse(circuitBreaker.isRequestAllowed());
+        circuitBreaker.reset();
+        assertTrue(circuitBreaker.isRequestAllowed());
+    }
+
+}
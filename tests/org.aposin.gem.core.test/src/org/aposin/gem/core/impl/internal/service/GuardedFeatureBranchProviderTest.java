@@ -0,0 +1,109 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.aposin.gem.core.api.model.IEnvironment;
+import org.aposin.gem.core.api.workflow.IFeatureBranch;
+import org.aposin.gem.core.exception.GemException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GuardedFeatureBranchProviderTest {
+
+    private final IEnvironment environment = StubFeatureBranchProvider.environment();
+
+    private StubFeatureBranchProvider delegate;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = new StubFeatureBranchProvider();
+    }
+
+    private GuardedFeatureBranchProvider guard(final int failureThreshold, final Duration timeout) {
+        return new GuardedFeatureBranchProvider(delegate, new CircuitBreaker(delegate.getId(),
+                failureThreshold, Duration.ofHours(1), Duration.ofHours(1)), timeout);
+    }
+
+    @Test
+    public void testFeatureBranchesFromDelegate() {
+        final GuardedFeatureBranchProvider provider = guard(2, Duration.ofSeconds(10));
+        final List<IFeatureBranch> featureBranches = List.of(delegate.featureBranch(environment, "1"));
+        delegate.respond(featureBranches);
+        assertEquals(featureBranches, provider.getFeatureBranches(environment));
+    }
+
+    @Test
+    public void testFailuresSuspendRequests() {
+        final GuardedFeatureBranchProvider provider = guard(2, Duration.ZERO);
+        delegate.respond(CompletableFuture.failedFuture(new GemException("unavailable")));
+        assertThrows(GemException.class, () -> provider.getFeatureBranches(environment));
+        assertThrows(GemException.class, () -> provider.getFeatureBranches(environment));
+        assertEquals(2, delegate.getRequests());
+
+        // open circuit: the delegate is not requested
+        assertThrows(GemException.class, () -> provider.getFeatureBranches(environment));
+        assertEquals(2, delegate.getRequests());
+    }
+
+    @Test
+    public void testRefreshResumesRequests() {
+        final GuardedFeatureBranchProvider provider = guard(1, Duration.ZERO);
+        delegate.respond(CompletableFuture.failedFuture(new GemException("unavailable")));
+        assertThrows(GemException.class, () -> provider.getFeatureBranches(environment));
+
+        delegate.respond(List.of());
+        provider.refresh();
+        assertEquals(List.of(), provider.getFeatureBranches(environment));
+        assertEquals(2, delegate.getRequests());
+        assertEquals(1, delegate.getRefreshes());
+    }
+
+    @Test
+    public void testFindOverIndexedFeatureBranches() {
+        final GuardedFeatureBranchProvider provider = guard(2, Duration.ZERO);
+        final IFeatureBranch first = delegate.featureBranch(environment, "1");
+        delegate.respond(List.of(first, delegate.featureBranch(environment, "2")));
+        assertEquals(Optional.of(first), provider.findById(environment, "1"));
+        assertEquals(Optional.of(first), provider.getMatchingFeatureBranch(environment, first));
+        assertEquals(Optional.empty(), provider.findByName(environment, "3"));
+
+        // new feature-branches from the provider are indexed again
+        final IFeatureBranch third = delegate.featureBranch(environment, "3");
+        delegate.respond(List.of(third));
+        assertEquals(Optional.of(third), provider.findByName(environment, third.getName()));
+        assertEquals(Optional.empty(), provider.findById(environment, "1"));
+    }
+
+    @Test
+    public void testTimeoutKeepsDelegateRequest() {
+        final GuardedFeatureBranchProvider provider = guard(2, Duration.ofMillis(50));
+        final CompletableFuture<List<IFeatureBranch>> pending = new CompletableFuture<>();
+        delegate.respond(pending);
+        assertThrows(GemException.class, () -> provider.getFeatureBranches(environment));
+        // the request of the delegate might be shared: it should not be completed
+        assertFalse(pending.isDone());
+    }
+
+}
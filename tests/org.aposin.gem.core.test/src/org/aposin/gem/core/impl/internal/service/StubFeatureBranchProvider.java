@@ -0,0 +1,104 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.aposin.gem.core.api.config.IConfiguration;
+import org.aposin.gem.core.api.model.IEnvironment;
+import org.aposin.gem.core.api.service.IFeatureBranchProvider;
+import org.aposin.gem.core.api.workflow.IFeatureBranch;
+import org.aposin.gem.test.utils.Stubs;
+
+/**
+ * Provider answering the requests with the feature-branches set by the test.
+ */
+/* package */ final class StubFeatureBranchProvider implements IFeatureBranchProvider {
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger refreshes = new AtomicInteger();
+    private volatile CompletableFuture<List<IFeatureBranch>> response =
+            CompletableFuture.completedFuture(List.of());
+
+    @Override
+    public String getName() {
+        return "stub";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Stub";
+    }
+
+    @Override
+    public void setConfig(final IConfiguration config) {
+        // NO-OP
+    }
+
+    @Override
+    public void refresh() {
+        refreshes.incrementAndGet();
+    }
+
+    @Override
+    public List<IFeatureBranch> getFeatureBranches(final IEnvironment environment) {
+        return getFeatureBranchesAsync(environment).join();
+    }
+
+    @Override
+    public CompletableFuture<List<IFeatureBranch>> getFeatureBranchesAsync(
+            final IEnvironment environment) {
+        requests.incrementAndGet();
+        return response;
+    }
+
+    /**
+     * Sets the response for the next requests.
+     */
+    /* package */ void respond(final CompletableFuture<List<IFeatureBranch>> response) {
+        this.response = response;
+    }
+
+    /**
+     * Sets the feature-branches for the next requests.
+     */
+    /* package */ void respond(final List<IFeatureBranch> featureBranches) {
+        respond(CompletableFuture.completedFuture(featureBranches));
+    }
+
+    /* package */ int getRequests() {
+        return requests.get();
+    }
+
+    /* package */ int getRefreshes() {
+        return refreshes.get();
+    }
+
+    /* package */ IFeatureBranch featureBranch(final IEnvironment environment, final String id) {
+        return Stubs.stub(IFeatureBranch.class, Map.of("getId", id, //
+                "getName", getName() + IEnvironment.BRANCH_NAME_SEPARATOR + id, //
+                "getEnvironment", environment, //
+                "getProvider", this));
+    }
+
+    /* package */ static IEnvironment environment() {
+        return Stubs.stub(IEnvironment.class, Map.of());
+    }
+
+}
@@ -0,0 +1,185 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.aposin.gem.core.api.INamedObject;
+import org.aposin.gem.core.api.workflow.ICommand;
+import org.aposin.gem.core.api.workflow.ICommand.IResult;
+import org.aposin.gem.core.impl.internal.workflow.WorkflowJournal.Launch;
+import org.aposin.gem.core.impl.internal.workflow.command.CallableCommand;
+import org.aposin.gem.core.impl.internal.workflow.command.CallableCommand.CallableResult;
+import org.aposin.gem.core.impl.internal.workflow.command.ResultBuilder;
+import org.aposin.gem.test.utils.Stubs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class WorkflowJournalTest {
+
+    private static final String TIMESTAMP = "2020-01-01T00:00:00Z\t";
+
+    // the journal is cached by directory, so each test uses its own temporary directory
+    @TempDir
+    public Path tempDir;
+
+    private final INamedObject scope = Stubs.stub(INamedObject.class, Map.of( //
+            "getName", "scope", //
+            "getDisplayName", "Scope"));
+
+    private Path getJournalFile() {
+        return tempDir.resolve(".workflow.journal");
+    }
+
+    private void writeJournal(final String... lines) throws IOException {
+        Files.write(getJournalFile(), List.of(lines), StandardCharsets.UTF_8);
+    }
+
+    // journal lines without the timestamp
+    private List<String> readJournal() throws IOException {
+        return Files.readAllLines(getJournalFile(), StandardCharsets.UTF_8).stream() //
+                .map(line -> line.substring(line.indexOf('\t') + 1)) //
+                .collect(Collectors.toList());
+    }
+
+    private ICommand command(final String name, final boolean fail) {
+        return new CallableCommand(scope, name, new CallableResult() {
+
+            @Override
+            public IResult call() {
+                return new ResultBuilder(getCommand()).withFailure(() -> fail).build();
+            }
+        });
+    }
+
+    @Test
+    public void testLoadPendingLaunches() throws IOException {
+        writeJournal(TIMESTAMP + "BEGIN\tpending", //
+                TIMESTAMP + "STEP\tpending\tclone", //
+                TIMESTAMP + "BEGIN\tfinished", //
+                TIMESTAMP + "STEP\tfinished\tclone", //
+                TIMESTAMP + "END\tfinished");
+        final WorkflowJournal journal = WorkflowJournal.forResourcesDirectory(tempDir);
+
+        assertEquals(Set.of("pending"), journal.getPendingLaunches());
+        final Launch launch = journal.open("pending");
+        assertTrue(launch.isDone("clone"));
+        assertFalse(launch.isDone("checkout"));
+        assertFalse(journal.open("finished").isDone("clone"));
+    }
+
+    @Test
+    public void testLoadWithoutJournal() {
+        final WorkflowJournal journal = WorkflowJournal.forResourcesDirectory(tempDir);
+        assertEquals(Set.of(), journal.getPendingLaunches());
+        assertFalse(Files.exists(getJournalFile()));
+    }
+
+    @Test
+    public void testTruncatedLinesIgnored() throws IOException {
+        writeJournal(TIMESTAMP + "BEGIN\tpending", //
+                TIMESTAMP + "STEP\tpending\tclone", //
+                TIMESTAMP + "STEP\tpending", //
+                TIMESTAMP + "END", //
+                "2020-01-01T00:0");
+        final WorkflowJournal journal = WorkflowJournal.forResourcesDirectory(tempDir);
+
+        assertEquals(Set.of("pending"), journal.getPendingLaunches());
+        assertTrue(journal.open("pending").isDone("clone"));
+    }
+
+    @Test
+    public void testCompactedOnLoad() throws IOException {
+        writeJournal(TIMESTAMP + "BEGIN\tfinished", //
+                TIMESTAMP + "END\tfinished", //
+                TIMESTAMP + "BEGIN\tpending", //
+                TIMESTAMP + "STEP\tpending\tclone", //
+                TIMESTAMP + "STEP\tpending\tclone", //
+                TIMESTAMP + "STEP\tpending");
+        WorkflowJournal.forResourcesDirectory(tempDir).getPendingLaunches();
+
+        assertEquals(List.of("BEGIN\tpending", "STEP\tpending\tclone"), readJournal());
+        assertFalse(Files.exists(tempDir.resolve(".workflow.journal.tmp")));
+    }
+
+    @Test
+    public void testCompactedWithoutPendingLaunches() throws IOException {
+        writeJournal(TIMESTAMP + "BEGIN\tfinished", //
+                TIMESTAMP + "STEP\tfinished\tclone", //
+                TIMESTAMP + "END\tfinished");
+        WorkflowJournal.forResourcesDirectory(tempDir).getPendingLaunches();
+
+        assertFalse(Files.exists(getJournalFile()));
+    }
+
+    @Test
+    public void testTrackedLaunch() throws IOException {
+        final WorkflowJournal journal = WorkflowJournal.forResourcesDirectory(tempDir);
+        final Launch launch = journal.open("launcher");
+        final List<ICommand> commands = launch.track(List.of( //
+                launch.step("clone", command("clone", false)), //
+                launch.step("checkout", command("checkout", true))));
+        // not recorded until the commands start
+        assertFalse(Files.exists(getJournalFile()));
+
+        assertFalse(commands.get(0).execute().join().isFailed());
+        assertTrue(commands.get(1).execute().join().isFailed());
+
+        assertEquals(Set.of("launcher"), journal.getPendingLaunches());
+        assertTrue(launch.isDone("clone"));
+        assertFalse(launch.isDone("checkout"));
+        assertEquals(List.of("BEGIN\tlauncher", "STEP\tlauncher\tclone"), readJournal());
+    }
+
+    @Test
+    public void testTrackedLaunchFinished() throws IOException {
+        final WorkflowJournal journal = WorkflowJournal.forResourcesDirectory(tempDir);
+        final Launch launch = journal.open("launcher");
+        final List<ICommand> commands = launch.track(List.of( //
+                launch.step("clone", command("clone", false)), //
+                command("checkout", false)));
+        commands.forEach(command -> command.execute().join());
+
+        assertEquals(Set.of(), journal.getPendingLaunches());
+        assertEquals(List.of("BEGIN\tlauncher", "STEP\tlauncher\tclone", "END\tlauncher"),
+                readJournal());
+    }
+
+    @Test
+    public void testDiscard() throws IOException {
+        writeJournal(TIMESTAMP + "BEGIN\tpending", //
+                TIMESTAMP + "STEP\tpending\tclone");
+        final WorkflowJournal journal = WorkflowJournal.forResourcesDirectory(tempDir);
+        journal.discard("pending");
+
+        assertEquals(Set.of(), journal.getPendingLaunches());
+        assertFalse(journal.open("pending").isDone("clone"));
+        assertEquals(List.of("BEGIN\tpending", "STEP\tpending\tclone", "END\tpending"),
+                readJournal());
+    }
+
+}
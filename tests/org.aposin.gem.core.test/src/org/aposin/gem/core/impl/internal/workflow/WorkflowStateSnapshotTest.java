@@ -0,0 +1,78 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+public class WorkflowStateSnapshotTest {
+
+    private final AtomicInteger checks = new AtomicInteger();
+
+    private BooleanSupplier check(final boolean value) {
+        return () -> {
+            checks.incrementAndGet();
+            return value;
+        };
+    }
+
+    @Test
+    public void testComputedOnce() {
+        final WorkflowStateSnapshot snapshot = new WorkflowStateSnapshot();
+        assertTrue(snapshot.get("requiresClone", check(true)));
+        assertTrue(snapshot.get("requiresClone", check(false)));
+        assertFalse(snapshot.get("requiresCheckout", check(false)));
+        assertFalse(snapshot.get("requiresCheckout", check(true)));
+        assertEquals(2, checks.get());
+    }
+
+    @Test
+    public void testInvalidateAll() {
+        final WorkflowStateSnapshot first = new WorkflowStateSnapshot();
+        final WorkflowStateSnapshot second = new WorkflowStateSnapshot();
+        first.get("requiresClone", check(true));
+        second.get("requiresClone", check(true));
+        final long generation = WorkflowStateSnapshot.getGeneration();
+
+        WorkflowStateSnapshot.invalidateAll();
+
+        assertEquals(generation + 1, WorkflowStateSnapshot.getGeneration());
+        assertFalse(first.get("requiresClone", check(false)));
+        assertFalse(second.get("requiresClone", check(false)));
+        assertEquals(4, checks.get());
+        // cached again on the new generation
+        assertFalse(first.get("requiresClone", check(true)));
+        assertEquals(4, checks.get());
+    }
+
+    @Test
+    public void testNestedChecks() {
+        final WorkflowStateSnapshot snapshot = new WorkflowStateSnapshot();
+        // a check depending on another one of the same snapshot
+        assertTrue(snapshot.get("canLaunch",
+                () -> !snapshot.get("requiresClone", check(false)) && check(true).getAsBoolean()));
+        assertTrue(snapshot.get("canLaunch", check(false)));
+        assertFalse(snapshot.get("requiresClone", check(true)));
+        assertEquals(2, checks.get());
+    }
+
+}
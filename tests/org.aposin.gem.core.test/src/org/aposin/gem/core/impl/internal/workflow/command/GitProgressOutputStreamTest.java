@@ -0,0 +1,106 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.aposin.gem.core.api.workflow.CommandProgress.Phase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GitProgressOutputStreamTest {
+
+    private final List<String> progress = new ArrayList<>();
+    private final List<String> messages = new ArrayList<>();
+
+    private GitProgressOutputStream stream;
+
+    @BeforeEach
+    public void setUp() {
+        stream = new GitProgressOutputStream(
+                (phase, completed, total) -> progress.add(phase + " " + completed + "/" + total),
+                messages::add);
+    }
+
+    private void write(final String text) {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        stream.write(bytes, 0, bytes.length);
+    }
+
+    @Test
+    public void testProgressFrames() {
+        write("Receiving objects:  45% (450/1000), 1.20 MiB | 1.00 MiB/s\r");
+        write("Receiving objects: 100% (1000/1000), 2.40 MiB | 1.00 MiB/s, done.\n");
+        write("Resolving deltas:  50% (5/10)\rResolving deltas: 100% (10/10), done.\n");
+        write("Checking out files: 100% (3/3), done.\n");
+        assertEquals(List.of(Phase.RECEIVING_OBJECTS + " 450/1000", //
+                Phase.RECEIVING_OBJECTS + " 1000/1000", //
+                Phase.RESOLVING_DELTAS + " 5/10", //
+                Phase.RESOLVING_DELTAS + " 10/10", //
+                Phase.UPDATING_FILES + " 3/3"), progress);
+        assertEquals(List.of(), messages);
+    }
+
+    @Test
+    public void testOnlyChangesReported() {
+        write("Receiving objects:  45% (450/1000), 1.20 MiB | 1.00 MiB/s\r");
+        write("Receiving objects:  45% (450/1000), 1.30 MiB | 2.00 MiB/s\r");
+        assertEquals(List.of(Phase.RECEIVING_OBJECTS + " 450/1000"), progress);
+    }
+
+    @Test
+    public void testFramesSplitAcrossWrites() {
+        write("Receiving obj");
+        write("ects:  10% (1/10)");
+        assertEquals(List.of(), progress);
+        write("\r");
+        assertEquals(List.of(Phase.RECEIVING_OBJECTS + " 1/10"), progress);
+    }
+
+    @Test
+    public void testMessagesSeparatedFromProgress() {
+        write("Cloning into 'repo'...\n");
+        write("remote: Counting objects: 5, done.\r\n");
+        write("remote: Total 5 (delta 0)\n");
+        write("Compressing objects:  50% (1/2)\r");
+        write("fatal: unable to access 'https://host/repo.git/'\n");
+        assertEquals(List.of(), progress);
+        assertEquals(List.of("Cloning into 'repo'...", //
+                "fatal: unable to access 'https://host/repo.git/'"), messages);
+    }
+
+    @Test
+    public void testLongLinesAreMessages() {
+        final String longLine = "x".repeat(600);
+        write(longLine + "\n");
+        assertEquals(List.of("x".repeat(512) + "[...]"), messages);
+    }
+
+    @Test
+    public void testResetReportsAgain() {
+        write("Receiving objects: 100% (1/1)\r");
+        write("Receiving obj");
+        stream.reset();
+        write("Receiving objects: 100% (1/1)\r");
+        assertEquals(List.of(Phase.RECEIVING_OBJECTS + " 1/1", //
+                Phase.RECEIVING_OBJECTS + " 1/1"), progress);
+    }
+
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.aposin.gem.core.api.workflow.exception.CommandTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class ProcessWatchdogTest {
+
+    // the watchdog checks the process every second
+    private static final long WAIT_SECONDS = 5;
+    private static final long CHECKS_MILLIS = 2500;
+
+    private final FakeProcess process = new FakeProcess();
+    private final CountDownLatch killed = new CountDownLatch(1);
+    private final List<String> reports = new CopyOnWriteArrayList<>();
+    private ProcessWatchdog watchdog;
+
+    private void start(final Duration timeout, final Duration noOutputTimeout,
+            final boolean killOnNoOutput) {
+        watchdog = new ProcessWatchdog(timeout, noOutputTimeout, killOnNoOutput);
+        watchdog.start(process, () -> {
+            process.alive = false;
+            killed.countDown();
+        }, reports::add);
+    }
+
+    @AfterEach
+    public void stop() {
+        if (watchdog != null) {
+            watchdog.stop();
+        }
+    }
+
+    @Test
+    public void testKilledOnTimeout() throws InterruptedException {
+        start(Duration.ofMillis(100), Duration.ZERO, false);
+        assertTrue(killed.await(WAIT_SECONDS, TimeUnit.SECONDS));
+
+        final CommandTimeoutException exception = watchdog.getTimeoutException();
+        assertEquals(Duration.ofMillis(100), exception.getTimeout());
+        assertTrue(exception.getMessage().startsWith("Timed out"));
+        assertEquals(1, reports.size());
+    }
+
+    @Test
+    public void testKilledWithoutOutput() throws InterruptedException {
+        start(Duration.ZERO, Duration.ofMillis(100), true);
+        assertTrue(killed.await(WAIT_SECONDS, TimeUnit.SECONDS));
+
+        final CommandTimeoutException exception = watchdog.getTimeoutException();
+        assertEquals(Duration.ofMillis(100), exception.getTimeout());
+        assertTrue(exception.getMessage().startsWith("No output"));
+    }
+
+    @Test
+    public void testReportedOnceWithoutOutput() throws InterruptedException {
+        start(Duration.ZERO, Duration.ofMillis(100), false);
+        Thread.sleep(CHECKS_MILLIS);
+
+        assertTrue(process.alive);
+        assertNull(watchdog.getTimeoutException());
+        assertEquals(1, reports.size());
+        assertTrue(reports.get(0).startsWith("WARNING: no output"));
+    }
+
+    @Test
+    public void testOutputKeepsProcessAlive() throws Exception {
+        start(Duration.ZERO, Duration.ofMillis(1500), true);
+        final byte[] line = "Receiving objects:  50%\n".getBytes();
+        for (int i = 0; i < CHECKS_MILLIS / 100; i++) {
+            watchdog.write(line, 0, line.length);
+            Thread.sleep(100);
+        }
+
+        assertTrue(process.alive);
+        assertNull(watchdog.getTimeoutException());
+        assertTrue(reports.isEmpty());
+    }
+
+    @Test
+    public void testFinishedProcessNotKilled() throws InterruptedException {
+        process.alive = false;
+        start(Duration.ofMillis(100), Duration.ofMillis(100), true);
+        Thread.sleep(CHECKS_MILLIS);
+
+        assertEquals(1, killed.getCount());
+        assertNull(watchdog.getTimeoutException());
+        assertTrue(reports.isEmpty());
+    }
+
+    @Test
+    public void testStopped() throws InterruptedException {
+        start(Duration.ofMillis(100), Duration.ZERO, true);
+        watchdog.stop();
+        Thread.sleep(CHECKS_MILLIS);
+
+        assertTrue(process.alive);
+        assertNull(watchdog.getTimeoutException());
+    }
+
+    /**
+     * Process only to track if it is alive.
+     */
+    private static final class FakeProcess extends Process {
+
+        private volatile boolean alive = true;
+
+        @Override
+        public boolean isAlive() {
+            return alive;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return InputStream.nullInputStream();
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return InputStream.nullInputStream();
+        }
+
+        @Override
+        public int waitFor() {
+            return 0;
+        }
+
+        @Override
+        public int exitValue() {
+            return 0;
+        }
+
+        @Override
+        public void destroy() {
+            alive = false;
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.aposin.gem.core.api.workflow.ICommand.IResult;
+import org.aposin.gem.test.utils.Stubs;
+import org.junit.jupiter.api.Test;
+
+public class RetryPolicyTest {
+
+    private static IResult failed(final String errorMessage) {
+        return Stubs.stub(IResult.class, Map.of("isFailed", true, "getErrorMessage", errorMessage));
+    }
+
+    @Test
+    public void testDefaults() {
+        final RetryPolicy policy = new RetryPolicy.Builder().build();
+        assertEquals(3, policy.getMaxAttempts());
+        assertTrue(policy.shouldRetry(failed("error"), 1));
+        assertTrue(policy.shouldRetry(failed("error"), 2));
+        assertFalse(policy.shouldRetry(failed("error"), 3));
+    }
+
+    @Test
+    public void testAtLeastOneAttempt() {
+        final RetryPolicy policy = new RetryPolicy.Builder().maxAttempts(0).build();
+        assertEquals(1, policy.getMaxAttempts());
+        assertFalse(policy.shouldRetry(failed("error"), 1));
+    }
+
+    @Test
+    public void testOnlyRetryableFailures() {
+        final RetryPolicy policy = new RetryPolicy.Builder().maxAttempts(5) //
+                .retryOn(r -> r.getErrorMessage().contains("transient")) //
+                .build();
+        assertTrue(policy.shouldRetry(failed("transient error"), 1));
+        assertFalse(policy.shouldRetry(failed("permanent error"), 1));
+    }
+
+    @Test
+    public void testExponentialDelayUpToMaximum() {
+        final RetryPolicy policy = new RetryPolicy.Builder() //
+                .initialDelay(Duration.ofMillis(100)) //
+                .maxDelay(Duration.ofMillis(350)) //
+                .jitter(0) //
+                .build();
+        assertEquals(100, policy.getDelayMillis(1));
+        assertEquals(200, policy.getDelayMillis(2));
+        assertEquals(350, policy.getDelayMillis(3));
+        assertEquals(350, policy.getDelayMillis(10));
+    }
+
+    @Test
+    public void testJitterWithinBounds() {
+        final RetryPolicy policy = new RetryPolicy.Builder() //
+                .initialDelay(Duration.ofMillis(1000)) //
+                .jitter(0.2) //
+                .build();
+        for (int i = 0; i < 100; i++) {
+            final long delay = policy.getDelayMillis(1);
+            assertTrue(delay >= 800 && delay <= 1200, "delay out of bounds: " + delay);
+        }
+    }
+
+    @Test
+    public void testJitterClamped() {
+        final RetryPolicy policy = new RetryPolicy.Builder() //
+                .initialDelay(Duration.ofMillis(1000)) //
+                .jitter(5) //
+                .build();
+        for (int i = 0; i < 100; i++) {
+            final long delay = policy.getDelayMillis(1);
+            assertTrue(delay >= 0 && delay <= 2000, "delay out of bounds: " + delay);
+        }
+    }
+
+}
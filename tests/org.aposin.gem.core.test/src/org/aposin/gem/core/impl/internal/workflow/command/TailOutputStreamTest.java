@@ -0,0 +1,125 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+public class TailOutputStreamTest {
+
+    private static void write(final TailOutputStream tail, final String text) {
+        final byte[] bytes = text.getBytes(Charset.defaultCharset());
+        tail.write(bytes, 0, bytes.length);
+    }
+
+    @Test
+    public void testRetainsAllWithinCapacity() {
+        final TailOutputStream tail = new TailOutputStream(16);
+        write(tail, "fatal: ");
+        tail.write('x');
+        assertFalse(tail.isTruncated());
+        assertEquals("fatal: x", tail.toString());
+    }
+
+    @Test
+    public void testRetainsLastBytes() {
+        final TailOutputStream tail = new TailOutputStream(4);
+        write(tail, "abc");
+        write(tail, "defg");
+        tail.write('h');
+        assertTrue(tail.isTruncated());
+        assertEquals("[...]efgh", tail.toString());
+    }
+
+    @Test
+    public void testLongerWriteThanCapacity() {
+        final TailOutputStream tail = new TailOutputStream(3);
+        write(tail, "0123456789");
+        assertEquals("[...]789", tail.toString());
+    }
+
+    @Test
+    public void testZeroCapacity() {
+        final TailOutputStream tail = new TailOutputStream(0);
+        write(tail, "abc");
+        assertTrue(tail.isTruncated());
+        assertEquals("[...]", tail.toString());
+    }
+
+    @Test
+    public void testReset() {
+        final TailOutputStream tail = new TailOutputStream(4);
+        write(tail, "abcdef");
+        tail.reset();
+        assertFalse(tail.isTruncated());
+        assertEquals("", tail.toString());
+        write(tail, "gh");
+        assertEquals("gh", tail.toString());
+    }
+
+    @Test
+    public void testDropsProgressFrames() {
+        final TailOutputStream tail = new TailOutputStream(1024, true);
+        write(tail, "Receiving objects:  45% (450/1000)\r");
+        write(tail, "Receiving objects: 100% (1000/1000), done.\n");
+        write(tail, "Resolving deltas:  50% (5/10)\rfatal: early EOF\r\n");
+        write(tail, "error: pending");
+        assertEquals("Receiving objects: 100% (1000/1000), done.\n" //
+                + "fatal: early EOF\r\nerror: pending", tail.toString());
+    }
+
+    @Test
+    public void testKeepsFramesByDefault() {
+        final TailOutputStream tail = new TailOutputStream(1024);
+        write(tail, "Receiving objects:  45% (450/1000)\r");
+        assertEquals("Receiving objects:  45% (450/1000)\r", tail.toString());
+    }
+
+    @Test
+    public void testKeepsLongLinesEndedByCr() {
+        final TailOutputStream tail = new TailOutputStream(1024, true);
+        final String longLine = "x".repeat(600);
+        write(tail, longLine + "\rnext\r");
+        assertEquals(longLine + "\r", tail.toString());
+    }
+
+    @Test
+    public void testResetDropsPendingLine() {
+        final TailOutputStream tail = new TailOutputStream(1024, true);
+        write(tail, "pending");
+        tail.reset();
+        assertEquals("", tail.toString());
+    }
+
+    @Test
+    public void testTruncatedOnCharacterBoundary() {
+        if (!StandardCharsets.UTF_8.equals(Charset.defaultCharset())) {
+            // only UTF-8 continuation bytes are skipped
+            return;
+        }
+        final TailOutputStream tail = new TailOutputStream(4);
+        // u-umlaut is encoded with 2 bytes: only its last one is retained
+        write(tail, "a\u00fcxyz");
+        assertEquals("[...]xyz", tail.toString());
+    }
+
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TranscriptOutputStreamTest {
+
+    @TempDir
+    public Path tempDir;
+
+    private static void write(final TranscriptOutputStream transcript, final String text) {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        transcript.write(bytes, 0, bytes.length);
+    }
+
+    private static List<Path> list(final Path directory) throws IOException {
+        try (final Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static String read(final Path file) throws IOException {
+        try (final InputStream is = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void testCreatedOnFirstWrite() throws IOException {
+        final Path directory = tempDir.resolve("transcripts");
+        final TranscriptOutputStream transcript = new TranscriptOutputStream(directory, "repo/name");
+        assertFalse(Files.exists(directory));
+
+        write(transcript, "Cloning into 'name'...\n");
+        transcript.write('!');
+        transcript.close();
+
+        final List<Path> files = list(directory);
+        assertEquals(1, files.size());
+        // invalid characters on the name are replaced
+        assertTrue(files.get(0).getFileName().toString()
+                .matches("\\d{8}-\\d{6}-\\d{3}_repo_name_\\d+\\.log\\.gz"));
+        assertEquals("Cloning into 'name'...\n!", read(files.get(0)));
+    }
+
+    @Test
+    public void testNewFileAfterClose() throws IOException {
+        final TranscriptOutputStream transcript = new TranscriptOutputStream(tempDir, "cmd");
+        write(transcript, "first");
+        transcript.close();
+        write(transcript, "second");
+        transcript.close();
+
+        final List<Path> files = list(tempDir);
+        assertEquals(2, files.size());
+        assertEquals(List.of("first", "second"),
+                List.of(read(files.get(0)), read(files.get(1))));
+    }
+
+    @Test
+    public void testCloseWithoutWrite() throws IOException {
+        final TranscriptOutputStream transcript = new TranscriptOutputStream(tempDir, "cmd");
+        transcript.close();
+        assertEquals(List.of(), list(tempDir));
+    }
+
+    @Test
+    public void testErrorsAreNotPropagated() throws IOException {
+        // the directory cannot be created over a file
+        final Path file = Files.createFile(tempDir.resolve("file"));
+        final TranscriptOutputStream transcript =
+                new TranscriptOutputStream(file.resolve("transcripts"), "cmd");
+        write(transcript, "ignored");
+        transcript.write('!');
+        transcript.close();
+        assertEquals(List.of(file), list(tempDir));
+    }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow.command.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+import org.aposin.gem.core.api.INamedObject;
+import org.aposin.gem.core.api.workflow.ICommand;
+import org.aposin.gem.core.api.workflow.ICommand.IResult;
+import org.aposin.gem.core.impl.internal.workflow.command.CallableCommand;
+import org.aposin.gem.core.impl.internal.workflow.command.CallableCommand.CallableResult;
+import org.aposin.gem.core.impl.internal.workflow.command.ResultBuilder;
+import org.aposin.gem.test.utils.Stubs;
+import org.junit.jupiter.api.Test;
+
+public class AbstractCommandTest {
+
+    private final INamedObject scope = Stubs.stub(INamedObject.class, Map.of( //
+            "getName", "scope", //
+            "getDisplayName", "Scope"));
+    private final List<String> runs = new ArrayList<>();
+
+    private CallableCommand command(final String name, final Runnable task) {
+        return new CallableCommand(scope, name, new CallableResult() {
+
+            @Override
+            public IResult call() {
+                runs.add(name);
+                task.run();
+                return new ResultBuilder(getCommand()).build();
+            }
+        });
+    }
+
+    private static void assertCancelled(final IResult result) {
+        assertTrue(result.isFailed());
+        assertTrue(result.getException() instanceof CancellationException,
+                "not cancelled: " + result.getException());
+    }
+
+    @Test
+    public void testCancelledBeforeRunning() {
+        final CallableCommand first = command("first", () -> {});
+        final ICommand composed = first.and(command("second", () -> {}));
+        composed.cancel();
+        assertCancelled(composed.execute().join());
+        assertEquals(List.of(), runs);
+    }
+
+    @Test
+    public void testCancelPropagatedToNextCommands() {
+        final List<ICommand> composed = new ArrayList<>();
+        final CallableCommand first = command("first", () -> composed.get(0).cancel());
+        composed.add(first.and(command("second", () -> {})).and(command("third", () -> {})));
+        assertCancelled(composed.get(0).execute().join());
+        assertEquals(List.of("first"), runs);
+    }
+
+    @Test
+    public void testCancelFromSubCommandSharedWithTree() {
+        final CallableCommand first = command("first", () -> {});
+        final CallableCommand second = command("second", () -> {});
+        final ICommand composed = first.or(second);
+        // the token is shared by the whole tree
+        second.cancel();
+        assertCancelled(composed.execute().join());
+        assertEquals(List.of(), runs);
+    }
+
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.core.impl.internal.workflow.command.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class CancellationTokenTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    public void testCallbacksRunOnce() {
+        final CancellationToken token = new CancellationToken();
+        token.onCancel(() -> calls.add("first"));
+        token.onCancel(() -> calls.add("second"));
+        assertFalse(token.isCancelled());
+        assertEquals(List.of(), calls);
+
+        token.cancel();
+        token.cancel();
+        assertTrue(token.isCancelled());
+        assertEquals(List.of("first", "second"), calls);
+    }
+
+    @Test
+    public void testCallbackRunsImmediatelyIfCancelled() {
+        final CancellationToken token = new CancellationToken();
+        token.cancel();
+        final Runnable unregister = token.onCancel(() -> calls.add("late"));
+        assertEquals(List.of("late"), calls);
+        // no effect
+        unregister.run();
+    }
+
+    @Test
+    public void testUnregisteredCallbackNotRun() {
+        final CancellationToken token = new CancellationToken();
+        final Runnable unregister = token.onCancel(() -> calls.add("unregistered"));
+        token.onCancel(() -> calls.add("registered"));
+        unregister.run();
+        token.cancel();
+        assertEquals(List.of("registered"), calls);
+    }
+
+    @Test
+    public void testFailingCallbackDoesNotStopOthers() {
+        final CancellationToken token = new CancellationToken();
+        token.onCancel(() -> {
+            throw new IllegalStateException("failing callback");
+        });
+        token.onCancel(() -> calls.add("after"));
+        token.cancel();
+        assertEquals(List.of("after"), calls);
+    }
+
+}
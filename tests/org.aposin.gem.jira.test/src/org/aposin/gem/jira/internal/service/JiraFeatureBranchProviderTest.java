@@ -0,0 +1,249 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.jira.internal.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.aposin.gem.core.api.config.IConfiguration;
+import org.aposin.gem.core.api.model.IEnvironment;
+import org.aposin.gem.core.api.workflow.IFeatureBranch;
+import org.aposin.gem.jira.internal.config.JiraProviderConfigBean;
+import org.aposin.gem.test.utils.Stubs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the synchronization of the issues against a local stub of the JIRA REST API.
+ */
+public class JiraFeatureBranchProviderTest {
+
+    private static final String PROVIDER_NAME = "test";
+    private static final String JQL = "project = GEM ORDER BY key DESC";
+    // the stub limits the page size, so the searches are paginated
+    private static final int MAX_RESULTS = 2;
+    private static final DateTimeFormatter JIRA_DATE_TIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ").withZone(ZoneOffset.UTC);
+    private static final String SESSION = "{\"self\":\"http://localhost/rest/api/latest/user?username=gem\","
+            + "\"name\":\"gem\",\"loginInfo\":{\"failedLoginCount\":0,\"loginCount\":1}}";
+
+    @TempDir
+    public Path resourcesDirectory;
+
+    private HttpServer server;
+    private String url;
+    private JiraFeatureBranchProvider provider;
+    private final IEnvironment environment = Stubs.stub(IEnvironment.class, Map.of());
+
+    // JQL of the searches (first page) and number of requested pages
+    private final List<String> searches = new CopyOnWriteArrayList<>();
+    private final List<String> pages = new CopyOnWriteArrayList<>();
+    private volatile Function<String, List<JiraIssue>> searchResults = jql -> List.of();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        url = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+        provider = new JiraFeatureBranchProvider(PROVIDER_NAME);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        provider.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void testFullLoad() {
+        final List<JiraIssue> issues = List.of(issue("GEM-3", "third", 3), //
+                issue("GEM-2", "second", 2), //
+                issue("GEM-1", "first", 1));
+        searchResults = jql -> issues;
+
+        provider.setConfig(configuration());
+        assertEquals(List.of("GEM-3", "GEM-2", "GEM-1"), getIds());
+        assertEquals(List.of(JQL), searches);
+        assertEquals(2, pages.size());
+
+        // stored for the next session
+        final JiraIssueStore store = store();
+        assertEquals(issues, store.getIssues());
+        assertTrue(store.getLastReconciliation() > 0);
+    }
+
+    @Test
+    public void testIncrementalSync() {
+        final long now = System.currentTimeMillis();
+        store().replaceAll(List.of(issue("GEM-2", "second", 2), issue("GEM-1", "first", 1)),
+                now - TimeUnit.HOURS.toMillis(1));
+        searchResults = jql -> List.of(issue("GEM-3", "third", 3), issue("GEM-1", "first updated", 4));
+
+        provider.setConfig(configuration());
+        // new issues first, updated ones in place
+        assertEquals(List.of("GEM-3", "GEM-2", "GEM-1"), getIds());
+        assertEquals("first updated", provider.findById(environment, "GEM-1").get().getSummary());
+        // only the issues updated since the last synchronization (with overlap)
+        assertEquals(1, searches.size());
+        assertTrue(searches.get(0).matches(
+                "\\(project = GEM\\) AND updated >= -6\\dm ORDER BY key DESC"), searches.get(0));
+    }
+
+    @Test
+    public void testReconciliation() {
+        final long now = System.currentTimeMillis();
+        store().replaceAll(List.of(issue("GEM-2", "second", 2), issue("GEM-1", "first", 1)),
+                now - TimeUnit.HOURS.toMillis(13));
+        final Map<String, List<JiraIssue>> results = new HashMap<>();
+        // nothing updated, GEM-1 not matching anymore and GEM-4 matching without update
+        results.put(JQL, List.of(issue("GEM-4", "fourth", 1), issue("GEM-2", "second", 2)));
+        results.put("key in (GEM-4)", List.of(issue("GEM-4", "fourth", 1)));
+        searchResults = jql -> results.getOrDefault(jql, List.of());
+
+        provider.setConfig(configuration());
+        assertEquals(List.of("GEM-4", "GEM-2"), getIds());
+        assertEquals(3, searches.size());
+        assertTrue(searches.get(0).contains("updated >="), searches.get(0));
+        assertEquals(List.of(JQL, "key in (GEM-4)"), searches.subList(1, 3));
+        assertTrue(store().getLastReconciliation() >= now);
+    }
+
+    @Test
+    public void testStoredIssuesIfNotReachable() {
+        store().replaceAll(List.of(issue("GEM-1", "first", 1)), System.currentTimeMillis());
+        server.stop(0);
+
+        provider.setConfig(configuration());
+        assertEquals(List.of("GEM-1"), getIds());
+    }
+
+    private List<String> getIds() {
+        return provider.getFeatureBranches(environment).stream() //
+                .map(IFeatureBranch::getId) //
+                .collect(Collectors.toList());
+    }
+
+    private JiraIssueStore store() {
+        return new JiraIssueStore(resourcesDirectory, PROVIDER_NAME, url, JQL);
+    }
+
+    private IConfiguration configuration() {
+        final JiraProviderConfigBean configBean = new JiraProviderConfigBean();
+        configBean.displayName = "Test";
+        configBean.url = url;
+        configBean.authToken = "token";
+        configBean.jql = JQL;
+        return Stubs.stub(IConfiguration.class, Map.of( //
+                "getResourcesDirectory", resourcesDirectory, //
+                "getPluginConfiguration", configBean));
+    }
+
+    private static JiraIssue issue(final String key, final String summary, final long updatedDay) {
+        return new JiraIssue(key, summary, "Description of " + key,
+                TimeUnit.DAYS.toMillis(updatedDay));
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        final String path = exchange.getRequestURI().getPath();
+        final String response;
+        if (path.endsWith("/session")) {
+            response = SESSION;
+        } else if (path.endsWith("/search")) {
+            response = search(getParameters(exchange.getRequestURI().getRawQuery()));
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        final byte[] body = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private String search(final Map<String, String> parameters) {
+        final String jql = parameters.get("jql");
+        final int startAt = Integer.parseInt(parameters.getOrDefault("startAt", "0"));
+        final int maxResults = Math.min(MAX_RESULTS,
+                Integer.parseInt(parameters.getOrDefault("maxResults", "50")));
+        if (startAt == 0) {
+            searches.add(jql);
+        }
+        pages.add(jql);
+        final List<JiraIssue> issues = searchResults.apply(jql);
+        return "{\"startAt\":" + startAt + ",\"maxResults\":" + maxResults + ",\"total\":"
+                + issues.size() + ",\"issues\":["
+                + issues.stream().skip(startAt).limit(maxResults) //
+                        .map(JiraFeatureBranchProviderTest::toJson) //
+                        .collect(Collectors.joining(","))
+                + "]}";
+    }
+
+    private static Map<String, String> getParameters(final String rawQuery) {
+        final Map<String, String> parameters = new HashMap<>();
+        for (final String parameter : rawQuery.split("&")) {
+            final int separator = parameter.indexOf('=');
+            if (separator > 0) {
+                parameters.put(URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static String toJson(final JiraIssue issue) {
+        final String id = issue.getKey().substring(issue.getKey().indexOf('-') + 1);
+        final String updated = JIRA_DATE_TIME.format(Instant.ofEpochMilli(issue.getUpdated()));
+        return "{\"id\":\"" + id + "\",\"self\":\"http://localhost/rest/api/2/issue/" + id
+                + "\",\"key\":\"" + issue.getKey() + "\",\"fields\":{" //
+                + "\"summary\":\"" + issue.getSummary() + "\"," //
+                + "\"description\":\"" + issue.getDescription() + "\"," //
+                + "\"issuetype\":{\"self\":\"http://localhost/rest/api/2/issuetype/1\",\"id\":\"1\","
+                + "\"name\":\"Task\",\"subtask\":false,\"iconUrl\":\"http://localhost/task.png\"},"
+                + "\"project\":{\"self\":\"http://localhost/rest/api/2/project/1\",\"id\":\"1\","
+                + "\"key\":\"GEM\",\"name\":\"GEM\"}," //
+                + "\"status\":{\"self\":\"http://localhost/rest/api/2/status/1\",\"id\":\"1\","
+                + "\"name\":\"Open\",\"description\":\"\",\"iconUrl\":\"http://localhost/open.png\"},"
+                + "\"created\":\"" + updated + "\",\"updated\":\"" + updated + "\"}}";
+    }
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.test.utils;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * Stubs of interfaces for the tests.
+ */
+public final class Stubs {
+
+    private Stubs() {
+        // NO-OP
+    }
+
+    /**
+     * Answer computed from the arguments of the stubbed method.
+     */
+    @FunctionalInterface
+    public interface Answer {
+
+        public Object answer(final Object[] args);
+    }
+
+    /**
+     * Creates a stub answering the methods by name.
+     * </br>
+     * Answers are returned as they are, unless they are an {@link Answer}. Stubs are only
+     * equal to themselves, and any method without answer (including the default ones)
+     * throws {@link UnsupportedOperationException}.
+     * 
+     * @param type interface to stub.
+     * @param answers answer by method name.
+     * @return the stub.
+     */
+    public static <T> T stub(final Class<T> type, final Map<String, ?> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "Stub of " + type.getSimpleName();
+                        default:
+                            break;
+                    }
+                    if (!answers.containsKey(method.getName())) {
+                        throw new UnsupportedOperationException(method.toString());
+                    }
+                    final Object answer = answers.get(method.getName());
+                    return answer instanceof Answer ? ((Answer) answer).answer(args) : answer;
+                }));
+    }
+
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.ui.dialog.progress.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.aposin.gem.core.api.INamedObject;
+import org.aposin.gem.core.api.workflow.CommandProgress;
+import org.aposin.gem.core.api.workflow.CommandProgress.Phase;
+import org.aposin.gem.core.api.workflow.ICommand;
+import org.aposin.gem.test.utils.Stubs;
+import org.junit.jupiter.api.Test;
+
+public class CommandsProgressAggregatorTest {
+
+    private static final double DELTA = 1e-9;
+
+    /**
+     * Command keeping its progress listeners, to report progress from the test.
+     */
+    private static final class ReportingCommand {
+
+        private final List<Consumer<CommandProgress>> listeners = new ArrayList<>();
+        private final ICommand command = Stubs.stub(ICommand.class, Map.of( //
+                "addProgressListener", (Stubs.Answer) args -> {
+                    @SuppressWarnings("unchecked")
+                    final Consumer<CommandProgress> listener = (Consumer<CommandProgress>) args[0];
+                    listeners.add(listener);
+                    return null;
+                }, //
+                "getDescription", "command", //
+                "getCommandScope", Stubs.stub(INamedObject.class, Map.of( //
+                        "getDisplayName", "scope"))));
+
+        private CommandProgress report(final Phase phase, final long completed, final long total) {
+            final CommandProgress progress = new CommandProgress(command, phase, completed, total);
+            listeners.forEach(l -> l.accept(progress));
+            return progress;
+        }
+    }
+
+    @Test
+    public void testTotalWorkPerCommand() {
+        final CommandsProgressAggregator aggregator = new CommandsProgressAggregator(
+                List.of(new ReportingCommand().command, new ReportingCommand().command));
+        assertEquals(2 * CommandsProgressAggregator.WORK_PER_COMMAND, aggregator.getTotalWork());
+        assertEquals(0, aggregator.getWorkDone());
+    }
+
+    @Test
+    public void testWeightedProgress() {
+        final ReportingCommand cmd = new ReportingCommand();
+        final CommandsProgressAggregator aggregator =
+                new CommandsProgressAggregator(List.of(cmd.command));
+
+        final CommandProgress receiving = cmd.report(Phase.RECEIVING_OBJECTS, 50, 100);
+        assertEquals(0.35, aggregator.getFraction(cmd.command), DELTA);
+        assertSame(receiving, aggregator.getLastProgress(cmd.command));
+
+        // previous phases are completed
+        cmd.report(Phase.RESOLVING_DELTAS, 1, 2);
+        assertEquals(0.8, aggregator.getFraction(cmd.command), DELTA);
+        assertEquals(800, aggregator.getWorkDone());
+    }
+
+    @Test
+    public void testProgressNeverGoesBack() {
+        final ReportingCommand cmd = new ReportingCommand();
+        final CommandsProgressAggregator aggregator =
+                new CommandsProgressAggregator(List.of(cmd.command));
+        cmd.report(Phase.UPDATING_FILES, 1, 2);
+        // e.g., the next sub-command of a composed command
+        final CommandProgress restarted = cmd.report(Phase.RECEIVING_OBJECTS, 0, 100);
+        assertEquals(0.95, aggregator.getFraction(cmd.command), DELTA);
+        assertSame(restarted, aggregator.getLastProgress(cmd.command));
+    }
+
+    @Test
+    public void testFinished() {
+        final ReportingCommand first = new ReportingCommand();
+        final ReportingCommand second = new ReportingCommand();
+        final CommandsProgressAggregator aggregator =
+                new CommandsProgressAggregator(List.of(first.command, second.command));
+        first.report(Phase.RECEIVING_OBJECTS, 10, 100);
+
+        aggregator.finished(first.command);
+        aggregator.finished(second.command);
+        assertEquals(1, aggregator.getFraction(first.command), DELTA);
+        assertNull(aggregator.getLastProgress(first.command));
+        assertEquals(aggregator.getTotalWork(), aggregator.getWorkDone());
+    }
+
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright 2020 Association for the promotion of open-source insurance software and for the establishment of open interface standards in the insurance industry (Verein zur Foerderung quelloffener Versicherungssoftware und Etablierung offener Schnittstellenstandards in der Versicherungsbranche)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.aposin.gem.ui.view.fieldassist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class ProposalSearchIndexTest {
+
+    private static final List<String> CONTENTS = List.of( //
+            "feature/GEM-123 Login page", //
+            "feature/GEM-124 Logout button", //
+            "bugfix/GEM-200 Fix blogging", //
+            "master", //
+            "release/2.0");
+
+    private static ProposalSearchIndex index(final boolean built) {
+        final ProposalSearchIndex index = new ProposalSearchIndex(CONTENTS);
+        if (built) {
+            index.build();
+        }
+        return index;
+    }
+
+    private static void assertSearch(final List<Integer> expectedMatches,
+            final int expectedTotal, final ProposalSearchIndex.Result result) {
+        assertEquals(expectedMatches, Arrays.stream(result.getMatches()).boxed() //
+                .collect(Collectors.toList()));
+        assertEquals(expectedTotal, result.getTotalMatches());
+    }
+
+    @Test
+    public void testEmptyQueryMatchesAll() {
+        assertSearch(List.of(0, 1, 2, 3, 4), 5, index(false).search("  ", 10));
+        assertSearch(List.of(0, 1), 5, index(true).search("", 2));
+    }
+
+    @Test
+    public void testTermsInAnyOrder() {
+        for (final boolean built : new boolean[] {false, true}) {
+            final ProposalSearchIndex index = index(built);
+            assertSearch(List.of(0), 1, index.search("page gem-123", 10));
+            assertSearch(List.of(0, 1), 2, index.search("feature GEM", 10));
+            assertSearch(List.of(), 0, index.search("feature master", 10));
+        }
+    }
+
+    @Test
+    public void testCaseInsensitive() {
+        for (final boolean built : new boolean[] {false, true}) {
+            assertSearch(List.of(3), 1, index(built).search("MASTER", 10));
+        }
+    }
+
+    @Test
+    public void testRankedByWordStart() {
+        for (final boolean built : new boolean[] {false, true}) {
+            // "blogging" only contains "log" inside a word
+            assertSearch(List.of(0, 1, 2), 3, index(built).search("log", 10));
+        }
+        final ProposalSearchIndex index = new ProposalSearchIndex(List.of("blog", "log"));
+        assertSearch(List.of(1, 0), 2, index.search("log", 10));
+        index.build();
+        assertSearch(List.of(1, 0), 2, index.search("log", 10));
+    }
+
+    @Test
+    public void testCappedMatches() {
+        for (final boolean built : new boolean[] {false, true}) {
+            final ProposalSearchIndex index = index(built);
+            assertSearch(List.of(0), 3, index.search("gem", 1));
+            // ranked matches are returned before the capped ones
+            assertSearch(List.of(0, 1), 3, index.search("log", 2));
+        }
+    }
+
+    @Test
+    public void testShortTerms() {
+        for (final boolean built : new boolean[] {false, true}) {
+            // terms shorter than a trigram scan all the entries
+            assertSearch(List.of(4), 1, index(built).search("2.", 10));
+            assertSearch(List.of(0, 1), 2, index(built).search("lo gem-12", 10));
+        }
+    }
+
+    @Test
+    public void testRepeatedTrigrams() {
+        final ProposalSearchIndex index = new ProposalSearchIndex(List.of("aaaa", "baaa", "aab"));
+        index.build();
+        assertSearch(List.of(0, 1), 2, index.search("aaa", 10));
+        assertSearch(List.of(0), 1, index.search("aaaa", 10));
+    }
+
+}